@@ -0,0 +1,87 @@
+package com.rips7.benchmark;
+
+import com.rips7.day.Day;
+import com.rips7.day.ParsedDay;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class DayBenchmark {
+
+  @State(Scope.Benchmark)
+  public static class DayState {
+
+    // Filled in by DayBenchmarkRunner from DayRegistry.names(), or with -p day=Day1,Day2 on the command line
+    @Param({})
+    public String day;
+
+    Day<?> instance;
+    String input;
+    Object model;
+
+    @Setup(Level.Trial)
+    public void setup() {
+      instance = DayBenchmarkRunner.findDay(day);
+      input = instance.loadInput();
+      model = instance instanceof ParsedDay<?, ?> parsedDay ? parsedDay.parse(input) : input;
+    }
+  }
+
+  @Benchmark
+  public String loadInput(final DayState state) {
+    return state.instance.loadInput();
+  }
+
+  // Days without a parse phase return their input as is
+  @Benchmark
+  public Object parse(final DayState state) {
+    return state.instance instanceof ParsedDay<?, ?> parsedDay ? parsedDay.parse(state.input) : state.input;
+  }
+
+  @Benchmark
+  public Object solvePart1(final DayState state) {
+    return solve(state, 1);
+  }
+
+  @Benchmark
+  public Object solvePart2(final DayState state) {
+    return solve(state, 2);
+  }
+
+  // Parse and solve
+  @Benchmark
+  public Object part1(final DayState state) {
+    return state.instance.part1(state.input);
+  }
+
+  @Benchmark
+  public Object part2(final DayState state) {
+    return state.instance.part2(state.input);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Object solve(final DayState state, final int part) {
+    if (state.instance instanceof ParsedDay<?, ?> parsedDay) {
+      final ParsedDay<Object, ?> day = (ParsedDay<Object, ?>) parsedDay;
+      return part == 1 ? day.solvePart1(state.model) : day.solvePart2(state.model);
+    }
+    return part == 1 ? state.instance.part1(state.input) : state.instance.part2(state.input);
+  }
+
+}
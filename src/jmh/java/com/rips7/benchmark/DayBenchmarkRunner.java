@@ -0,0 +1,33 @@
+package com.rips7.benchmark;
+
+import com.rips7.day.Day;
+import com.rips7.day.DayRegistry;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+public class DayBenchmarkRunner {
+
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    final CommandLineOptions cmdOptions = new CommandLineOptions(args);
+    final ChainedOptionsBuilder options = new OptionsBuilder()
+        .parent(cmdOptions)
+        .addProfiler(GCProfiler.class);
+    if (cmdOptions.getIncludes().isEmpty()) {
+      options.include(DayBenchmark.class.getSimpleName());
+    }
+    if (!cmdOptions.getParameter("day").hasValue()) {
+      options.param("day", DayRegistry.names().toArray(String[]::new));
+    }
+    new Runner(options.build()).run();
+  }
+
+  static Day<?> findDay(final String name) {
+    return DayRegistry.get(name);
+  }
+
+}
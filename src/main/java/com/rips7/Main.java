@@ -1,24 +1,252 @@
 package com.rips7;
 
 import com.rips7.day.Day;
+import com.rips7.day.DayRegistry;
+import com.rips7.day.DayRegistry.Selection;
+import com.rips7.day.StreamingDay;
+import com.rips7.metrics.JsonLinesMetrics;
+import com.rips7.metrics.MetricsServer;
+import com.rips7.metrics.MetricsSink;
+import com.rips7.metrics.PrometheusMetrics;
+import com.rips7.runner.BatchRunner;
+import com.rips7.runner.Baseline;
+import com.rips7.runner.Runner;
+import com.rips7.runner.ScalingHarness;
+import com.rips7.runner.Strategies;
+import com.rips7.runner.StrategyBenchmark;
+import com.rips7.runner.Timings;
+import com.rips7.server.SolverServer;
+import com.rips7.util.ResultCache;
 import com.rips7.util.Util;
 import com.rips7.util.Util.TimedResult;
 
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
+import static com.rips7.util.Util.formatDuration;
+import static com.rips7.util.Util.formatResources;
 import static com.rips7.util.Util.printColor;
 
 public class Main {
 
-  private static final List<Day<?>> DAYS = Day.getAllDays();
-
   public static void main(String[] args) {
+    final Optional<String> stream = stringArg(args, "--stream=");
+    if (stream.isPresent()) {
+      stream(stream.get());
+      return;
+    }
+
+    final boolean parallel = Arrays.asList(args).contains("--parallel");
+    final int threads = intArg(args, "--threads=", Runtime.getRuntime().availableProcessors());
+    // --timeout=SECONDS gives up on any part, or batch input, that runs for longer
+    final Duration timeout = stringArg(args, "--timeout=").map(Long::parseLong).map(Duration::ofSeconds).orElse(null);
+    final Optional<String> batch = stringArg(args, "--batch=");
+    if (batch.isPresent()) {
+      batch(batch.get(), threads, timeout);
+      return;
+    }
+
+    // Only the selected days are instantiated
+    final List<Selection> selections = stringArg(args, "--days=")
+        .map(DayRegistry::select)
+        .orElseGet(DayRegistry::selectAll);
+    final int[] scales = stringArg(args, "--scales=")
+        .map(scalesArg -> Arrays.stream(scalesArg.split(",")).mapToInt(Integer::parseInt).toArray())
+        .orElse(new int[] {1, 10, 100});
+    final long seed = stringArg(args, "--seed=").map(Long::parseLong).orElse(2023L);
+    if (Arrays.asList(args).contains("--scaling")) {
+      final Duration budget = Duration.ofSeconds(intArg(args, "--budget=", 30));
+      new ScalingHarness(scales, seed, budget).run(selections.stream().<Day<?>>map(Selection::day).toList());
+      return;
+    }
+
+    if (Arrays.asList(args).contains("--strategies")) {
+      final List<String> mismatches = new StrategyBenchmark(scales, seed, intArg(args, "--warmup=", 1),
+          intArg(args, "--iterations=", 5), timeout == null ? Duration.ofSeconds(30) : timeout)
+          .run(selections.stream().<Day<?>>map(Selection::day).toList(), Strategies.load());
+      if (!mismatches.isEmpty()) {
+        printColor("%s strategies disagree with the reference: %s%n".formatted(mismatches.size(),
+            String.join(", ", mismatches)), Util.AnsiColor.RED);
+        System.exit(1);
+      }
+      return;
+    }
+
+    // Baselines need several samples of every part, so they default to more iterations, and refuse cached answers
+    final Optional<Path> saveBaseline = pathArg(args, "--save-baseline", Baseline.defaultFile());
+    final Optional<Path> compareBaseline = pathArg(args, "--compare-baseline", Baseline.defaultFile());
+    final boolean baseline = saveBaseline.isPresent() || compareBaseline.isPresent();
+    final int warmup = intArg(args, "--warmup=", baseline ? 1 : 0);
+    final int iterations = intArg(args, "--iterations=", baseline ? 10 : 1);
+    final Recording recording = stringArg(args, "--jfr=").map(Main::startRecording).orElse(null);
+    // Cached answers are only used when asked for, as changes in shared code do not invalidate them
+    final boolean cache = Arrays.stream(args).anyMatch(arg -> arg.equals("--cache") || arg.startsWith("--clear-cache"));
+    if (cache && baseline) {
+      throw new RuntimeException("Baselines time every part, so they cannot be used with '--cache'");
+    }
+    final ResultCache results = cache
+        ? ResultCache.load()
+        : ResultCache.disabled();
+    if (Arrays.asList(args).contains("--clear-cache")) {
+      results.clear();
+    }
+    stringArg(args, "--clear-cache=").ifPresent(names -> Arrays.stream(names.split(",")).forEach(results::invalidate));
+    final PrometheusMetrics scraped = stringArg(args, "--metrics-port=").isPresent() ? new PrometheusMetrics() : null;
+    final MetricsServer metricsServer = scraped == null
+        ? null
+        : MetricsServer.start(intArg(args, "--metrics-port=", 0), scraped);
+    if (metricsServer != null) {
+      printColor("Serving metrics on http://127.0.0.1:%s/metrics%n".formatted(metricsServer.port()), Util.AnsiColor.CYAN);
+    }
+    final MetricsSink metrics = metricsSink(args, scraped);
+
+    final Optional<String> server = stringArg(args, "--server=");
+    if (server.isPresent()) {
+      new SolverServer(results, metrics, threads, timeout).serve(SolverServer.address(server.get()));
+      stopMetrics(metrics, metricsServer);
+      stopRecording(recording);
+      return;
+    }
+
+    // --strategy=auto picks the fastest strategy recorded by --strategies for the size of each input
+    final Strategies strategies = stringArg(args, "--strategy=")
+        .map(name -> name.equals("auto") ? Strategies.load() : Strategies.named(name))
+        .orElseGet(Strategies::reference);
+    final Runner runner = new Runner(Timings.load(), results, metrics, warmup, iterations, timeout, strategies);
     final TimedResult<String> res = Util.time(() -> {
-      DAYS.forEach(Day::run);
+      if (parallel) {
+        runner.runParallel(selections, threads);
+      } else {
+        runner.runSequential(selections);
+      }
       return "Executed all days!";
     });
+    final Runner.Totals totals = runner.totals();
     printColor("%s ".formatted(res.res()), Util.AnsiColor.GREEN);
     printColor("(%s)%n".formatted(res.timeInfo()), Util.AnsiColor.YELLOW);
+    printColor("Input: %s, Parse: %s, Solve: %s%n".formatted(
+        formatDuration(totals.inputNanos()), formatDuration(totals.parseNanos()), formatDuration(totals.solveNanos())),
+        Util.AnsiColor.YELLOW);
+    printColor("%s%n".formatted(formatResources(totals.allocatedBytes(), totals.gcCount(), totals.gcMillis())),
+        Util.AnsiColor.YELLOW);
+
+    stopMetrics(metrics, metricsServer);
+    stopRecording(recording);
+
+    saveBaseline.ifPresent(file -> {
+      Baseline.of(runner.measurements()).save(file);
+      printColor("Baseline written to %s%n".formatted(file), Util.AnsiColor.CYAN);
+    });
+    if (compareBaseline.isPresent()) {
+      final double threshold = intArg(args, "--threshold=", 10) / 100.0;
+      final List<String> regressions = Baseline.load(compareBaseline.get())
+          .compare(runner.measurements(), runner.timedOut(), threshold);
+      if (!regressions.isEmpty()) {
+        printColor("%s parts timed out, went missing or regressed by more than %.0f%%: %s%n".formatted(
+            regressions.size(), threshold * 100, String.join(", ", regressions)), Util.AnsiColor.RED);
+        System.exit(1);
+      }
+    }
+  }
+
+  // --stream=Day1:/path/to/records solves both parts straight from the file, without loading it in memory
+  private static void stream(final String spec) {
+    final int separator = spec.indexOf(':');
+    if (separator == -1) {
+      throw new RuntimeException("Expected --stream=<day>:<file> but got '%s'".formatted(spec));
+    }
+    final Day<?> day = DayRegistry.get(spec.substring(0, separator));
+    final Path path = Path.of(spec.substring(separator + 1));
+    if (!(day instanceof StreamingDay<?> streamingDay)) {
+      throw new RuntimeException("%s cannot stream its input".formatted(day.getClass().getSimpleName()));
+    }
+
+    System.out.printf("----- %s (streaming %s) -----%n", day.getClass().getSimpleName(), path);
+    for (int part = 1; part <= 2; part++) {
+      final int currentPart = part;
+      final TimedResult<?> res = Util.time(() -> streamingDay.streamPart(currentPart, path));
+      System.out.printf("Part %s: ", part);
+      printColor("%s ".formatted(res.res()), Util.AnsiColor.GREEN);
+      printColor("(%s, %s)%n".formatted(res.timeInfo(), res.resourcesInfo()), Util.AnsiColor.YELLOW);
+    }
+  }
+
+  // --batch=Day1:/path/to/inputs solves every input in a directory, or listed in a manifest file
+  private static void batch(final String spec, final int threads, final Duration timeout) {
+    final int separator = spec.indexOf(':');
+    if (separator == -1) {
+      throw new RuntimeException("Expected --batch=<day>:<directory or manifest> but got '%s'".formatted(spec));
+    }
+    final Day<?> day = DayRegistry.get(spec.substring(0, separator));
+    final List<Path> inputs = BatchRunner.inputs(Path.of(spec.substring(separator + 1)));
+    new BatchRunner(day, threads, timeout).run(inputs);
+  }
+
+  private static Recording startRecording(final String file) {
+    try {
+      final Recording recording = new Recording(Configuration.getConfiguration("profile"));
+      recording.setName("AdventOfCode2023");
+      recording.setDestination(Path.of(file));
+      recording.start();
+      return recording;
+    } catch (final IOException | ParseException e) {
+      throw new RuntimeException("Cannot start JFR recording to '%s'".formatted(file), e);
+    }
+  }
+
+  // --metrics=file.jsonl appends JSON lines, any other file gets the Prometheus text format
+  private static MetricsSink metricsSink(final String[] args, final PrometheusMetrics scraped) {
+    final List<MetricsSink> sinks = new ArrayList<>();
+    stringArg(args, "--metrics=").map(Path::of).ifPresent(file -> sinks.add(file.toString().endsWith(".jsonl")
+        ? new JsonLinesMetrics(file)
+        : new PrometheusMetrics(file)));
+    if (scraped != null) {
+      sinks.add(scraped);
+    }
+    return sinks.isEmpty() ? MetricsSink.none() : MetricsSink.of(sinks);
+  }
+
+  private static void stopMetrics(final MetricsSink metrics, final MetricsServer metricsServer) {
+    metrics.close();
+    if (metricsServer != null) {
+      metricsServer.stop();
+    }
+  }
+
+  private static void stopRecording(final Recording recording) {
+    if (recording != null) {
+      recording.stop();
+      printColor("JFR recording written to %s%n".formatted(recording.getDestination()), Util.AnsiColor.CYAN);
+      recording.close();
+    }
+  }
+
+  // --flag uses the default path, --flag=path the given one
+  private static Optional<Path> pathArg(final String[] args, final String flag, final Path defaultPath) {
+    if (Arrays.asList(args).contains(flag)) {
+      return Optional.of(defaultPath);
+    }
+    return stringArg(args, flag + "=").map(Path::of);
+  }
+
+  private static int intArg(final String[] args, final String prefix, final int defaultValue) {
+    return stringArg(args, prefix).map(Integer::parseInt).orElse(defaultValue);
+  }
+
+  private static Optional<String> stringArg(final String[] args, final String prefix) {
+    return Arrays.stream(args)
+        .filter(arg -> arg.startsWith(prefix))
+        .map(arg -> arg.substring(prefix.length()))
+        .findFirst();
   }
 
 }
@@ -1,10 +1,21 @@
 package com.rips7.day;
 
+import com.rips7.util.CancellationToken;
+import com.rips7.util.Input;
+import com.rips7.util.InputCache;
+import com.rips7.util.ResultCache;
 import com.rips7.util.Util;
+import com.rips7.util.jfr.PartEvent;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
 
+import static com.rips7.util.Util.Measurement;
 import static com.rips7.util.Util.TimedResult;
+import static com.rips7.util.Util.measure;
 import static com.rips7.util.Util.printColor;
 import static com.rips7.util.Util.time;
 
@@ -14,58 +25,158 @@ public interface Day<T> {
 
   T part2(String input);
 
-  default void run() {
+  // Solves the parts straight from the bytes of an input, e.g. a memory-mapped one. Days that cannot parse in place
+  // copy it to a String first
+  default T part1(final Input input) {
+    return part1(input.asString());
+  }
+
+  default T part2(final Input input) {
+    return part2(input.asString());
+  }
+
+  // Solves both parts of any input, e.g. one of a batch, without going through the input cache
+  default List<T> solveBoth(final String input) {
+    return List.of(part1(input), part2(input));
+  }
+
+  default List<T> solveBoth(final Input input) {
+    return solveBoth(input.asString());
+  }
+
+  // Other ways of solving the parts, e.g. optimized or parallel ones, which must give the same answers as part1 and part2
+  default List<Strategy<T>> alternatives() {
+    return List.of();
+  }
+
+  // The reference strategy of the part first, then its alternatives
+  default List<Strategy<T>> strategies(final int part) {
+    final List<Strategy<T>> strategies = new ArrayList<>();
+    strategies.add(Strategy.reference(this, part));
+    alternatives().stream().filter(strategy -> strategy.part() == part).forEach(strategies::add);
+    return strategies;
+  }
+
+  // Falls back to the reference strategy when this day has no strategy by that name for the part
+  default Strategy<T> strategy(final int part, final String name) {
+    return strategies(part).stream()
+        .filter(strategy -> strategy.name().equals(name))
+        .findFirst()
+        .orElseGet(() -> Strategy.reference(this, part));
+  }
+
+  default Measurement<T> measurePart(final int part, final String strategy, final int warmup, final int iterations) {
+    return measure(recordedSolver(part, strategy), warmup, iterations);
+  }
+
+  // Recalls the answer when this input has already been solved by the same solver; the input is not even parsed then.
+  // All strategies give the same answers, so they share the cached ones.
+  default Measurement<?> measurePart(final int part, final String strategy, final int warmup, final int iterations,
+                                     final ResultCache resultCache) {
+    final String input = loadCachedInput().res();
+    final Optional<ResultCache.Cached> cached = resultCache.recall(getClass(), part, input);
+    if (cached.isPresent()) {
+      return new Measurement<>(cached.get(), new long[] {0}, 0, 0, 0, 0);
+    }
+    final Measurement<T> res = measurePart(part, strategy, warmup, iterations);
+    resultCache.store(getClass(), part, input, res.res());
+    return res;
+  }
+
+  // Gives up on the part once it has run for longer than the budget, over all its iterations, and answers TimedOut
+  // instead. Only solvers that reach a cancellation checkpoint can be stopped; a null budget means no limit.
+  default Measurement<?> measurePart(final int part, final String strategy, final int warmup, final int iterations,
+                                     final ResultCache resultCache, final Duration budget) {
+    if (budget == null) {
+      return measurePart(part, strategy, warmup, iterations, resultCache);
+    }
+    try {
+      return CancellationToken.withBudget(budget)
+          .run(() -> measurePart(part, strategy, warmup, iterations, resultCache));
+    } catch (final RuntimeException e) {
+      if (CancellationToken.cancellation(e) == null) {
+        throw e;
+      }
+      return new Measurement<>(new CancellationToken.TimedOut(budget), new long[] {budget.toNanos()}, 0, 0, 0, 0);
+    }
+  }
+
+  default Callable<T> solver(final int part) {
+    final String input = loadCachedInput().res();
+    return switch (part) {
+      case 1 -> () -> part1(input);
+      case 2 -> () -> part2(input);
+      default -> throw new RuntimeException("Unknown part %s".formatted(part));
+    };
+  }
+
+  // The reference strategy goes through solver(part), so that parsed days reuse their cached model; other strategies
+  // are given the input, so their time includes any parsing of it
+  default Callable<T> solver(final int part, final String strategy) {
+    final Strategy<T> chosen = strategy(part, strategy);
+    if (chosen.isReference()) {
+      return solver(part);
+    }
+    final String input = loadCachedInput().res();
+    return () -> chosen.solve(input);
+  }
+
+  private Callable<T> recordedSolver(final int part, final String strategy) {
+    return PartEvent.wrap(getClass().getSimpleName(), part, loadCachedInput().res().length(), solver(part, strategy));
+  }
+
+  default void print(final TimedResult<String> inputRes, final Measurement<?> part1Res, final Measurement<?> part2Res) {
     System.out.printf("----- %s -----%n", getClass().getSimpleName());
 
-    final TimedResult<T> part1Res = time(() -> part1(loadInput()));
-    System.out.print("Part 1: ");
-    printColor("%s ".formatted(part1Res.res()), Util.AnsiColor.GREEN);
-    printColor("(%s)%n".formatted(part1Res.timeInfo()), Util.AnsiColor.YELLOW);
+    System.out.print("Input: ");
+    printColor("%s chars ".formatted(inputRes.res().length()), Util.AnsiColor.CYAN);
+    printColor("(%s, %s)%n".formatted(inputRes.timeInfo(), inputRes.resourcesInfo()), Util.AnsiColor.YELLOW);
 
-    final TimedResult<T> part2Res = time(() -> part2(loadInput()));
-    System.out.print("Part 2: ");
-    printColor("%s ".formatted(part2Res.res()), Util.AnsiColor.GREEN);
-    printColor("(%s)%n".formatted(part2Res.timeInfo()), Util.AnsiColor.YELLOW);
+    if (this instanceof ParsedDay<?, ?> parsedDay && InputCache.containsModel(getClass())) {
+      System.out.print("Parse: ");
+      final TimedResult<?> parseRes = parsedDay.parseCachedInput();
+      printColor("(%s, %s)%n".formatted(parseRes.timeInfo(), parseRes.resourcesInfo()), Util.AnsiColor.YELLOW);
+    }
+
+    // A part that was not selected has no measurement
+    if (part1Res != null) {
+      printPart(1, part1Res);
+    }
+    if (part2Res != null) {
+      printPart(2, part2Res);
+    }
 
     System.out.println("----------------");
   }
 
-  default String loadInput() {
-    final String inputFilename = "/%s/input".formatted(this.getClass().getSimpleName().toLowerCase());
-    try {
-      return Util.readResource(inputFilename);
-    } catch (final NullPointerException e) {
-      throw new RuntimeException("No input file '%s'".formatted(inputFilename));
+  private static void printPart(final int part, final Measurement<?> res) {
+    System.out.printf("Part %s: ", part);
+    if (res.res() instanceof CancellationToken.TimedOut) {
+      printColor("%s%n".formatted(res.res()), Util.AnsiColor.RED);
+      return;
     }
+    printColor("%s ".formatted(res.res()), Util.AnsiColor.GREEN);
+    if (res.res() instanceof ResultCache.Cached) {
+      printColor("(cached)%n".formatted(), Util.AnsiColor.CYAN);
+    } else {
+      printColor("(%s, %s)%n".formatted(res.timeInfo(), res.resourcesInfo()), Util.AnsiColor.YELLOW);
+    }
+  }
+
+  default TimedResult<String> loadCachedInput() {
+    return InputCache.get(getClass(), () -> time(this::loadInput));
+  }
+
+  default String loadInput() {
+    return openInput().asString();
+  }
+
+  default Input openInput() {
+    return Input.fromResource("/%s/input".formatted(this.getClass().getSimpleName().toLowerCase()));
   }
 
   static List<Day<?>> getAllDays() {
-    return List.of(
-        new Day1(),
-        new Day2(),
-        new Day3(),
-        new Day4(),
-        new Day5(),
-        new Day6(),
-        new Day7(),
-        new Day8(),
-        new Day9(),
-        new Day10(),
-        new Day11(),
-        new Day12(),
-        new Day13(),
-        new Day14(),
-        new Day15(),
-        new Day16(),
-        new Day17(),
-        new Day18(),
-        new Day19(),
-        new Day20(),
-        new Day21(),
-        new Day22(),
-        new Day23(),
-        new Day24(),
-        new Day25());
+    return DayRegistry.all();
   }
 
 }
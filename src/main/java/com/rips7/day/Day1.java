@@ -1,9 +1,13 @@
 package com.rips7.day;
 
-import java.util.Arrays;
+import com.rips7.util.Cursor;
+
+import java.io.BufferedReader;
 import java.util.Map;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
 
-public class Day1 implements Day<Integer> {
+public class Day1 implements StreamingDay<Long> {
 
   private final Map<String, Integer> SPELLED_DIGITS = Map.of(
     "one", 1,
@@ -18,63 +22,101 @@ public class Day1 implements Day<Integer> {
   );
 
   @Override
-  public Integer part1(String input) {
-    return Arrays.stream(input.split("\n"))
-      .map(this::readNumber1)
-      .reduce(Integer::sum)
-      .orElse(0);
+  public Long part1(String input) {
+    return sum(new Cursor(input), this::readNumber1);
+  }
+
+  @Override
+  public Long part2(String input) {
+    return sum(new Cursor(input), this::readNumber2);
+  }
+
+  @Override
+  public Long streamPart1(BufferedReader reader) {
+    return sum1(reader.lines());
   }
 
   @Override
-  public Integer part2(String input) {
-    return Arrays.stream(input.split("\n"))
-      .map(this::readNumber2)
-      .reduce(Integer::sum)
-      .orElse(0);
+  public Long streamPart2(BufferedReader reader) {
+    return sum2(reader.lines());
+  }
+
+  // Each line is read off the cursor in place, without splitting the input
+  private static long sum(final Cursor cursor, final ToIntFunction<CharSequence> readNumber) {
+    long sum = 0;
+    while (cursor.hasNext()) {
+      sum += readNumber.applyAsInt(cursor.nextLine());
+    }
+    return sum;
   }
 
-  private Integer readNumber1(final String s) {
+  // Summed in a long, so that streamed inputs of any size do not overflow
+  private long sum1(final Stream<String> lines) {
+    return lines
+      .mapToLong(this::readNumber1)
+      .sum();
+  }
+
+  private long sum2(final Stream<String> lines) {
+    return lines
+      .mapToLong(this::readNumber2)
+      .sum();
+  }
+
+  private int readNumber1(final CharSequence s) {
     int digit1 = -1;
     int digit2 = -1;
     for (int left = 0, right = s.length() - 1; left < s.length() && right > -1 && (digit1 == -1 || digit2 == -1); left++, right--) {
       if (digit1 == -1 && Character.isDigit(s.charAt(left))) {
-        digit1 = Integer.parseInt("" + s.charAt(left));
+        digit1 = s.charAt(left) - '0';
       }
       if (digit2 == -1 && Character.isDigit(s.charAt(right))) {
-        digit2 = Integer.parseInt("" + s.charAt(right));
+        digit2 = s.charAt(right) - '0';
       }
     }
     return 10 * digit1 + digit2;
   }
 
-  private Integer readNumber2(final String s) {
+  private int readNumber2(final CharSequence s) {
     int digit1 = -1;
     int digit2 = -1;
     for (int left = 0, right = s.length() - 1; left < s.length() && right > -1 && (digit1 == -1 || digit2 == -1); left++, right--) {
       if (digit1 == -1) {
         if (Character.isDigit(s.charAt(left))) {
-          digit1 = Integer.parseInt("" + s.charAt(left));
+          digit1 = s.charAt(left) - '0';
         } else {
-          digit1 = readSpelledDigit(s.substring(left));
+          digit1 = readSpelledDigit(s, left);
         }
       }
       if (digit2 == -1) {
         if (Character.isDigit(s.charAt(right))) {
-          digit2 = Integer.parseInt("" + s.charAt(right));
+          digit2 = s.charAt(right) - '0';
         } else {
-          digit2 = readSpelledDigit(s.substring(right));
+          digit2 = readSpelledDigit(s, right);
         }
       }
     }
     return 10 * digit1 + digit2;
   }
 
-  private int readSpelledDigit(final String s) {
+  private int readSpelledDigit(final CharSequence s, final int from) {
     return SPELLED_DIGITS.entrySet().stream()
-      .filter(digitEntry -> s.startsWith(digitEntry.getKey()))
+      .filter(digitEntry -> startsWith(s, from, digitEntry.getKey()))
       .map(Map.Entry::getValue)
       .findFirst()
       .orElse(-1);
   }
 
+  private static boolean startsWith(final CharSequence s, final int from, final String prefix) {
+    if (from + prefix.length() > s.length()) {
+      return false;
+    }
+    for (int i = 0; i < prefix.length(); i++) {
+      if (s.charAt(from + i) != prefix.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
 }
@@ -1,19 +1,14 @@
 package com.rips7.day;
 
+import com.rips7.util.Grid;
+import com.rips7.util.Util.Offset;
 import com.rips7.util.algorithms.pathfinding.DFS;
 
 import java.util.Arrays;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.Optional;
-import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
-import java.util.stream.Stream;
 
 public class Day10 implements Day<Integer> {
 
@@ -43,97 +38,75 @@ public class Day10 implements Day<Integer> {
           Direction.DOWN, List.of(Pipe.VERTICAL, Pipe.NE_BEND, Pipe.NW_BEND),
           Direction.LEFT, List.of(Pipe.HORIZONTAL, Pipe.SE_BEND, Pipe.NE_BEND)));
 
+  private static final byte START = 'S';
+
   @Override
   public Integer part1(String input) {
-    final Cell[][] cells = parseCells(input);
+    final Grid cells = parseCells(input);
 
-    final Cell start = Arrays.stream(cells)
-        .flatMap(Arrays::stream)
-        .filter(cell -> cell.isStart)
-        .findFirst()
-        .orElseThrow();
+    final int start = cells.find(START);
 
-    final List<Cell> loop = new DFS<Cell>().run(start, start, cell -> getNeighbors(cell, cells), true);
+    final List<Integer> loop = new DFS<Integer>().run(start, start, cell -> getNeighbors(cell, cells), true);
 
     return loop.size() / 2;
   }
 
   @Override
   public Integer part2(String input) {
-    final Cell[][] cells = parseCells(input);
+    final Grid cells = parseCells(input);
 
-    final Cell start = Arrays.stream(cells)
-        .flatMap(Arrays::stream)
-        .filter(cell -> cell.isStart)
-        .findFirst()
-        .orElseThrow();
+    final int start = cells.find(START);
 
-    final List<Cell> loop = new DFS<Cell>().run(
+    final List<Integer> loop = new DFS<Integer>().run(
         start,
         start,
         cell -> getNeighbors(cell, cells),
         true);
 
-    final Cell startCell = new Cell(
-        new Position(start.pos.row, start.pos.col),
-        identifyStart(loop, start.pos),
-        false,
-        true);
-
-    cells[start.pos.row][start.pos.col] = startCell;
-
-    final Set<Cell> loopCells = Stream.concat(
-            loop.stream().filter(cell -> !cell.isStart),
-            Stream.of(startCell))
-        .collect(Collectors.toSet());
+    cells.set(start, (byte) identifyStart(loop, position(cells, start), cells).value);
 
-    final Set<Cell> withinLoop = findCellsWithinLoop(cells, loopCells);
+    final boolean[] loopCells = new boolean[cells.size()];
+    loop.forEach(cell -> loopCells[cell] = true);
 
-    return withinLoop.size();
+    return findCellsWithinLoop(cells, loopCells);
   }
 
-  private static Cell[][] parseCells(final String input) {
-    final Character[][] grid = Arrays.stream(input.split("\n"))
-        .map(line -> line.chars()
-            .mapToObj(c -> (char) c)
-            .toArray(Character[]::new)
-        ).toArray(Character[][]::new);
-
-    return IntStream.range(0, grid.length)
-        .mapToObj(row ->
-            IntStream.range(0, grid[row].length)
-                .mapToObj(col -> switch (grid[row][col]) {
-                  case 'S':
-                    yield new Cell(new Position(row, col), null, false, true);
-                  case '.':
-                    yield new Cell(new Position(row, col), null, true, false);
-                  default:
-                    yield new Cell(new Position(row, col), Pipe.from(grid[row][col]), false, false);
-                }).
-                toArray(Cell[]::new))
-        .toArray(Cell[][]::new);
+  // The border is ground, so that the loop never leaves the grid
+  private static Grid parseCells(final String input) {
+    return Grid.parse(input, (byte) '.');
   }
 
-  private static List<Cell> getNeighbors(final Cell cell, final Cell[][] cells) {
+  private static List<Integer> getNeighbors(final int cell, final Grid cells) {
     final List<Direction> directions = List.of(Direction.LEFT, Direction.UP, Direction.RIGHT, Direction.DOWN);
-    return directions.stream().map(dir -> {
-          try {
-            final Cell neighbor = cells[cell.pos.row + dir.offsets[0]][cell.pos.col + dir.offsets[1]];
-            if (cell.isConnected(neighbor, dir)) {
-              return neighbor;
-            }
-          } catch (ArrayIndexOutOfBoundsException e) {
-            // ignore
-          }
-          return null;
-        })
-        .filter(Objects::nonNull)
+    return directions.stream()
+        .filter(dir -> isConnected(cells.get(cell), cells.get(cells.neighbor(cell, dir.offset)), dir))
+        .map(dir -> cells.neighbor(cell, dir.offset))
         .toList();
   }
 
-  private Pipe identifyStart(final List<Cell> loop, final Position start) {
-    final Position first = loop.get(1).pos;
-    final Position last = loop.get(loop.size() - 2).pos;
+  // The start could be any pipe, so it connects to whichever neighbors have an opening towards it
+  private static boolean isConnected(final byte cell, final byte other, final Direction dir) {
+    final Pipe pipe = Pipe.from(cell);
+    final Pipe otherPipe = Pipe.from(other);
+    if (cell == START) {
+      return otherPipe != null && CONNECTIONS.get(otherPipe).containsKey(dir.opposite());
+    }
+    if (other == START) {
+      return pipe != null && CONNECTIONS.get(pipe).containsKey(dir);
+    }
+    if (pipe == null || otherPipe == null) {
+      return false;
+    }
+    return CONNECTIONS.get(pipe).getOrDefault(dir, List.of()).contains(otherPipe);
+  }
+
+  private static Position position(final Grid cells, final int cell) {
+    return new Position(cells.rowOf(cell), cells.colOf(cell));
+  }
+
+  private Pipe identifyStart(final List<Integer> loop, final Position start, final Grid cells) {
+    final Position first = position(cells, loop.get(1));
+    final Position last = position(cells, loop.get(loop.size() - 2));
     if (first.row == last.row) {
       return Pipe.HORIZONTAL;
     } else if (first.col == last.col) {
@@ -151,23 +124,23 @@ public class Day10 implements Day<Integer> {
     }
   }
 
-  private Set<Cell> findCellsWithinLoop(final Cell[][] cells, final Set<Cell> loopCells) {
+  private int findCellsWithinLoop(final Grid cells, final boolean[] loopCells) {
     // For each cell, cast a ray upwards, and count intersections with the loop
-    final Set<Cell> withinLoop = new HashSet<>();
-    for (final Cell[] row : cells) {
-      for (final Cell cell : row) {
-        if (loopCells.contains(cell)) {
+    int withinLoop = 0;
+    for (int row = 0; row < cells.rows(); row++) {
+      for (int col = 0; col < cells.cols(); col++) {
+        if (loopCells[cells.index(row, col)]) {
           continue;
         }
 
         final AtomicInteger intersections = new AtomicInteger();
         final AtomicReference<Pipe> prevCorner = new AtomicReference<>(null);
-        for (int i = cell.pos.row - 1; i >= 0; i--) {
-          final Cell other = cells[i][cell.pos.col];
-          if (!loopCells.contains(other)) {
+        for (int i = row - 1; i >= 0; i--) {
+          final int other = cells.index(i, col);
+          if (!loopCells[other]) {
             continue;
           }
-          switch(other.pipe) {
+          switch(Pipe.from(cells.get(other))) {
             case HORIZONTAL -> intersections.incrementAndGet();
             case SE_BEND -> {
               if (prevCorner.get() == null) {
@@ -204,30 +177,13 @@ public class Day10 implements Day<Integer> {
 
         // If within the loop, there is an odd number of intersections
         if (intersections.get() % 2 == 1) {
-          withinLoop.add(cell);
+          withinLoop++;
         }
       }
     }
     return withinLoop;
   }
 
-  private record Cell(Position pos, Pipe pipe, boolean isGround, boolean isStart) {
-    private boolean isConnected(final Cell other, final Direction dir) {
-      if (this.isStart || other.isStart) {
-        return true;
-      }
-      if (this.isGround || this.pipe == null || other.pipe == null) {
-        return false;
-      }
-      return CONNECTIONS.get(this.pipe).getOrDefault(dir, List.of()).contains(other.pipe);
-    }
-
-    @Override
-    public String toString() {
-      return "Cell=([%s,%s],%s)".formatted(pos.row, pos.col, Optional.ofNullable(pipe).map(pipe -> pipe.value).orElse(isStart ? 'S' : '.'));
-    }
-  }
-
   private record Position(int row, int col) {}
 
   private enum Pipe {
@@ -244,24 +200,40 @@ public class Day10 implements Day<Integer> {
       this.value = value;
     }
 
-    private static Pipe from(final char c) {
-      return Arrays.stream(Pipe.values())
-          .filter(pipe -> pipe.value == c)
-          .findFirst()
-          .orElseThrow(() -> new RuntimeException("%s is not a known pipe".formatted(c)));
+    private static final Pipe[] BY_VALUE = new Pipe[128];
+
+    static {
+      Arrays.stream(values()).forEach(pipe -> BY_VALUE[pipe.value] = pipe);
+    }
+
+    // The pipe of a cell, or null for the ground and the start
+    private static Pipe from(final byte c) {
+      if (c < 0 || (BY_VALUE[c] == null && c != START && c != '.')) {
+        throw new RuntimeException("%s is not a known pipe".formatted((char) c));
+      }
+      return BY_VALUE[c];
     }
   }
 
   private enum Direction {
-    UP(new int[] {-1, 0}),
-    RIGHT(new int[] {0, 1}),
-    DOWN(new int[] {1, 0}),
-    LEFT(new int[] {0, -1});
+    UP(Offset.UP),
+    RIGHT(Offset.RIGHT),
+    DOWN(Offset.DOWN),
+    LEFT(Offset.LEFT);
+
+    private final Offset offset;
 
-    private final int[] offsets;
+    Direction(final Offset offset) {
+      this.offset = offset;
+    }
 
-    Direction(final int[] offsets) {
-      this.offsets = offsets;
+    private Direction opposite() {
+      return switch (this) {
+        case UP -> DOWN;
+        case RIGHT -> LEFT;
+        case DOWN -> UP;
+        case LEFT -> RIGHT;
+      };
     }
   }
 
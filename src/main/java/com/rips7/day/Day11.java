@@ -1,8 +1,11 @@
 package com.rips7.day;
 
+import com.rips7.util.CancellationToken;
+import com.rips7.util.Cursor;
 import com.rips7.util.maths.Combinatorics;
 import com.rips7.util.maths.Combinatorics.Pair;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -10,42 +13,47 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
-public class Day11 implements Day<Long> {
+public class Day11 implements ParsedDay<Day11.Space, Long> {
 
   @Override
-  public Long part1(String input) {
-    final Space space = Space.parse(input);
+  public Space parse(String input) {
+    return Space.parse(input);
+  }
+
+  @Override
+  public Long solvePart1(Space space) {
     final List<Pair<Galaxy, Galaxy>> galaxyPairs = Combinatorics.unorderedPairs(space.getGalaxiesOnly(), true);
     final Map<Pair<Galaxy, Galaxy>, Long> distances = space.findShortestDistances(galaxyPairs, 2L);
     return distances.values().stream().reduce(Long::sum).orElseThrow();
   }
 
   @Override
-  public Long part2(String input) {
-      final Space space = Space.parse(input);
+  public Long solvePart2(Space space) {
       final List<Pair<Galaxy, Galaxy>> galaxyPairs = Combinatorics.unorderedPairs(space.getGalaxiesOnly(), true);
       final Map<Pair<Galaxy, Galaxy>, Long> distances = new HashMap<>(space.findShortestDistances(galaxyPairs, 1_000_000L));
       return distances.values().stream().reduce(Long::sum).orElseThrow();
   }
 
-  private record Space(Galaxy[][] galaxies) {
+  record Space(Galaxy[][] galaxies) {
     private static Space parse(final String input) {
-      final String[] lines = input.split("\n");
-      final AtomicInteger idCounter = new AtomicInteger();
-      final Galaxy[][] galaxies = Arrays.stream(lines).map(line -> {
-            final String[] chars = line.chars()
-                .mapToObj(c -> String.valueOf((char) c))
-                .toArray(String[]::new);
-            return Arrays.stream(chars).map(aChar -> aChar.equals("#") ? new Galaxy(idCounter.incrementAndGet()) : null)
-                .toArray(Galaxy[]::new);
-          })
-          .toArray(Galaxy[][]::new);
-      return new Space(galaxies);
+      final Cursor cursor = new Cursor(input);
+      final List<Galaxy[]> rows = new ArrayList<>();
+      int id = 0;
+      while (cursor.hasNext()) {
+        final CharSequence line = cursor.nextLine();
+        final Galaxy[] row = new Galaxy[line.length()];
+        for (int col = 0; col < line.length(); col++) {
+          if (line.charAt(col) == '#') {
+            row[col] = new Galaxy(++id);
+          }
+        }
+        rows.add(row);
+      }
+      return new Space(rows.toArray(Galaxy[][]::new));
     }
 
       private Map<Pair<Galaxy, Galaxy>, Long> findShortestDistances(final List<Pair<Galaxy, Galaxy>> galaxyPairs, long times) {
@@ -57,6 +65,7 @@ public class Day11 implements Day<Long> {
       }
 
     private Long findShortestDistance(final Pair<Galaxy, Galaxy> galaxyPair, final long times) {
+        CancellationToken.checkpoint();
         final List<Integer> rowsToExpand = IntStream.range(0, galaxies().length)
             .filter(r -> Arrays.stream(galaxies[r]).allMatch(Objects::isNull))
             .boxed()
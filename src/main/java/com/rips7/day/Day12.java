@@ -1,21 +1,19 @@
 package com.rips7.day;
 
-import com.rips7.util.maths.Combinatorics.Pair;
+import com.rips7.util.Cursor;
+import com.rips7.util.collections.IntList;
+import com.rips7.util.collections.LongLongMap;
+import com.rips7.util.maths.Coordinates;
 
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
-import java.util.stream.IntStream;
 
 public class Day12 implements Day<Long> {
 
     @Override
     public Long part1(String input) {
-        final List<Record> records = Arrays.stream(input.split("\n"))
-            .map(Record::parse)
-            .toList();
+        final List<Record> records = Record.parseAll(new Cursor(input));
         final List<Long> arrangements = records.stream()
             .map(Record::findArrangements)
             .toList();
@@ -26,9 +24,8 @@ public class Day12 implements Day<Long> {
 
     @Override
     public Long part2(String input) {
-        final List<Record> records = Arrays.stream(input.split("\n"))
-            .map(Day12::unfold)
-            .map(Record::parse)
+        final List<Record> records = Record.parseAll(new Cursor(input)).stream()
+            .map(record -> record.unfold(5))
             .toList();
         final List<Long> arrangements = records.stream()
             .map(Record::findArrangements)
@@ -38,52 +35,73 @@ public class Day12 implements Day<Long> {
             .orElseThrow();
     }
 
-    private static String unfold(final String input) {
-        final int foldTimes = 5;
-        final String[] parts = input.split(" ");
-        final String unfoldedSprings = String.join("?", IntStream.range(0, foldTimes).mapToObj(i -> parts[0]).toList());
-        final String unfoldedGroupSizes = String.join(",", IntStream.range(0, foldTimes).mapToObj(i -> parts[1]).toList());
-        return "%s %s".formatted(unfoldedSprings, unfoldedGroupSizes);
-    }
+    private record Record(Spring[] springs, int[] groupSizes) {
+        private static List<Record> parseAll(final Cursor cursor) {
+            final List<Record> records = new ArrayList<>();
+            while (cursor.hasNext()) {
+                records.add(parse(cursor));
+            }
+            return List.copyOf(records);
+        }
 
-    private record Record(List<Spring> springs, List<Integer> groupSizes) {
-        private static Record parse(final String input) {
-            final String[] parts = input.split(" ");
-            final List<Spring> springs = parts[0].chars().mapToObj(c -> Spring.from((char) c)).toList();
-            final List<Integer> groupSizes = Arrays.stream(parts[1].split(",")).map(Integer::parseInt).toList();
-            return new Record(springs, groupSizes);
+        // ???.### 1,1,3
+        private static Record parse(final Cursor cursor) {
+            final Spring[] springs = cursor.nextToken(' ').chars()
+                .mapToObj(c -> Spring.from((char) c))
+                .toArray(Spring[]::new);
+            final IntList groupSizes = new IntList();
+            while (cursor.hasNextNumberInLine()) {
+                groupSizes.add(cursor.nextInt());
+            }
+            cursor.skipLine();
+            return new Record(springs, groupSizes.toArray());
+        }
+
+        // The springs repeated the given times with an unknown one in between, and the group sizes repeated as many
+        private Record unfold(final int times) {
+            final Spring[] unfoldedSprings = new Spring[springs.length * times + times - 1];
+            final int[] unfoldedGroupSizes = new int[groupSizes.length * times];
+            for (int i = 0; i < times; i++) {
+                if (i > 0) {
+                    unfoldedSprings[i * (springs.length + 1) - 1] = Spring.UNKNOWN;
+                }
+                System.arraycopy(springs, 0, unfoldedSprings, i * (springs.length + 1), springs.length);
+                System.arraycopy(groupSizes, 0, unfoldedGroupSizes, i * groupSizes.length, groupSizes.length);
+            }
+            return new Record(unfoldedSprings, unfoldedGroupSizes);
         }
 
         private long findArrangements() {
-            return countArrangements(springs, groupSizes, new HashMap<>());
+            return countArrangements(0, 0, new LongLongMap());
         }
 
-        private static long countArrangements(final List<Spring> springs, final List<Integer> groupSizes, final Map<Pair<List<Spring>, List<Integer>>, Long> cache) {
-            if (springs.isEmpty()) {
-                return groupSizes.isEmpty() ? 1 : 0;
+        // The arrangements of the springs from the first one on, given the groups from the first one on. The cache is
+        // keyed by both offsets, packed together.
+        private long countArrangements(final int first, final int firstGroup, final LongLongMap cache) {
+            if (first == springs.length) {
+                return firstGroup == groupSizes.length ? 1 : 0;
             }
-            if (groupSizes.isEmpty()) {
-                return !springs.contains(Spring.DAMAGED) ? 1 : 0;
+            if (firstGroup == groupSizes.length) {
+                return !contains(first, springs.length, Spring.DAMAGED) ? 1 : 0;
             }
 
-            final Pair<List<Spring>, List<Integer>> key = Pair.of(springs, groupSizes);
-            if (cache.containsKey(key)) {
-                return cache.get(key);
+            final long key = Coordinates.pack(first, firstGroup);
+            final long cached = cache.get(key, -1);
+            if (cached >= 0) {
+                return cached;
             }
 
+            final int remaining = springs.length - first;
+            final int groupSize = groupSizes[firstGroup];
             long count = 0;
-            if (Set.of(Spring.OPERATIONAL, Spring.UNKNOWN).contains(springs.get(0))) {
-                count += countArrangements(springs.subList(1, springs.size()), groupSizes, cache);
+            if (springs[first] == Spring.OPERATIONAL || springs[first] == Spring.UNKNOWN) {
+                count += countArrangements(first + 1, firstGroup, cache);
             }
-            if (Set.of(Spring.DAMAGED, Spring.UNKNOWN).contains(springs.get(0))) {
-                if (groupSizes.get(0) <= springs.size()
-                    && !springs.subList(0, groupSizes.get(0)).contains(Spring.OPERATIONAL)
-                    && (groupSizes.get(0) == springs.size() || springs.get(groupSizes.get(0)) != Spring.DAMAGED)) {
-                    if (groupSizes.get(0) + 1 >= springs.size()) {
-                        count += countArrangements(List.of(), groupSizes.subList(1, groupSizes.size()), cache);
-                    } else {
-                        count += countArrangements(springs.subList(groupSizes.get(0) + 1, springs.size()), groupSizes.subList(1, groupSizes.size()), cache);
-                    }
+            if (springs[first] == Spring.DAMAGED || springs[first] == Spring.UNKNOWN) {
+                if (groupSize <= remaining
+                    && !contains(first, first + groupSize, Spring.OPERATIONAL)
+                    && (groupSize == remaining || springs[first + groupSize] != Spring.DAMAGED)) {
+                    count += countArrangements(Math.min(first + groupSize + 1, springs.length), firstGroup + 1, cache);
                 }
             }
 
@@ -91,6 +109,15 @@ public class Day12 implements Day<Long> {
             return count;
         }
 
+        private boolean contains(final int from, final int to, final Spring spring) {
+            for (int i = from; i < to; i++) {
+                if (springs[i] == spring) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
     }
 
     private enum Spring {
@@ -1,39 +1,39 @@
 package com.rips7.day;
 
-import com.rips7.util.Util;
-import com.rips7.util.maths.Maths;
+import com.rips7.util.ByteView2D;
+import com.rips7.util.Grid;
 
 import java.util.Arrays;
-import java.util.stream.IntStream;
+import java.util.List;
 
-public class Day13 implements Day<Integer> {
+public class Day13 implements ParsedDay<List<Day13.Mirror>, Integer> {
 
     @Override
-    public Integer part1(String input) {
+    public List<Mirror> parse(String input) {
         return Arrays.stream(input.split("\n\n"))
             .map(Mirror::parse)
+            .toList();
+    }
+
+    @Override
+    public Integer solvePart1(List<Mirror> mirrors) {
+        return mirrors.stream()
             .map(Mirror::evaluateReflection)
             .reduce(Integer::sum)
             .orElseThrow();
     }
 
     @Override
-    public Integer part2(String input) {
-        return Arrays.stream(input.split("\n\n"))
-            .map(Mirror::parse)
+    public Integer solvePart2(List<Mirror> mirrors) {
+        return mirrors.stream()
             .map(Mirror::evaluateReflectionWithSmudge)
             .reduce(Integer::sum)
             .orElseThrow();
     }
 
-    private record Mirror(Character[][] pattern) {
+    record Mirror(Grid pattern) {
         private static Mirror parse(final String input) {
-            final Character[][] pattern = Arrays.stream(input.split("\n"))
-                .map(row -> row.chars()
-                    .mapToObj(c -> (char) c)
-                    .toArray(Character[]::new))
-                .toArray(Character[][]::new);
-            return new Mirror(pattern);
+            return new Mirror(Grid.parse(input));
         }
 
         private int evaluateReflection() {
@@ -45,34 +45,24 @@ public class Day13 implements Day<Integer> {
         }
 
         private int evaluateReflection(boolean withSmudge) {
-            final int rowReflection = findReflection(pattern, withSmudge);
+            final ByteView2D view = ByteView2D.of(pattern);
+            final int rowReflection = findReflection(view, withSmudge);
             if (rowReflection != 0) {
                 return 100 * rowReflection;
             }
-            return findReflection(Maths.transpose(Character.class, pattern), withSmudge);
+            return findReflection(view.transposed(), withSmudge);
         }
 
-        private int findReflection(final Character[][] pattern, boolean withSmudge) {
-            for (int r = 1; r < pattern.length; r++) {
-                final Character[][] below = Util.slice2D(Character.class, pattern, r, pattern.length);
-                final Character[][] above = Util.slice2D(Character.class, pattern, 0, r);
-                final Character[][] aboveInv = Util.invert2D(Character.class, above);
-                final int overlapSize = Math.min(aboveInv.length, below.length);
-                final Character[][] aboveOverlap = Util.slice2D(Character.class, aboveInv, 0, overlapSize);
-                final Character[][] belowOverlap = Util.slice2D(Character.class, below, 0, overlapSize);
-                if (!withSmudge && Util.equal2D(aboveOverlap, belowOverlap)) {
+        // The rows above the candidate, read upwards, are compared in place with the rows below, read downwards, until
+        // there are more differences than smudges
+        private static int findReflection(final ByteView2D pattern, boolean withSmudge) {
+            final int smudges = withSmudge ? 1 : 0;
+            for (int r = 1; r < pattern.rows(); r++) {
+                final int overlapSize = Math.min(r, pattern.rows() - r);
+                final ByteView2D aboveOverlap = pattern.slice(r - overlapSize, r).reversed();
+                final ByteView2D belowOverlap = pattern.slice(r, r + overlapSize);
+                if (aboveOverlap.mismatches(belowOverlap, smudges + 1) == smudges) {
                     return r;
-                } else if (withSmudge) {
-                    final int diff = IntStream.range(0, aboveOverlap.length)
-                        .mapToObj(i -> IntStream.range(0, aboveOverlap[i].length)
-                            .mapToObj(j -> aboveOverlap[i][j].equals(belowOverlap[i][j]) ? 0 : 1)
-                            .reduce(Integer::sum)
-                            .orElseThrow())
-                        .reduce(Integer::sum)
-                        .orElseThrow();
-                    if (diff == 1) {
-                        return r;
-                    }
                 }
             }
             return 0;
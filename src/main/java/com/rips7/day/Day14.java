@@ -1,14 +1,19 @@
 package com.rips7.day;
 
+import com.rips7.util.CancellationToken;
+import com.rips7.util.Grid;
 import com.rips7.util.Util;
+import com.rips7.util.Util.Offset;
 
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicInteger;
 
 public class Day14 implements Day<Integer> {
 
+    private static final byte ROUND = 'O';
+    private static final byte SQUARE = '#';
+    private static final byte EMPTY = '.';
+
     @Override
     public Integer part1(String input) {
         final Platform platform = parsePlatform(input);
@@ -19,13 +24,14 @@ public class Day14 implements Day<Integer> {
     @Override
     public Integer part2(String input) {
         final Platform platform = parsePlatform(input);
-        final Map<State, Integer> statesSteps = new HashMap<>();
+        final Map<Grid, Integer> statesSteps = new HashMap<>();
         int steps = 0;
-        statesSteps.put(new State(platform.rocks.clone()), steps++);
+        statesSteps.put(platform.rocks.copy(), steps++);
         int repetition;
         while(true) {
+            CancellationToken.checkpoint();
             platform.spin();
-            final State newState = new State(platform.rocks.clone());
+            final Grid newState = platform.rocks.copy();
             if (statesSteps.containsKey(newState)) {
                 repetition = steps - statesSteps.get(newState);
                 break;
@@ -38,22 +44,18 @@ public class Day14 implements Day<Integer> {
             steps += repetition;
         }
         while(steps++ < limit) {
+            CancellationToken.checkpoint();
             platform.spin();
         }
         return platform.findLoad();
     }
 
+    // The border is made of square rocks, so that the round ones stop at the edges
     private static Platform parsePlatform(final String input) {
-        final Rock[][] rocks = Arrays.stream(input.split("\n"))
-            .map(line -> line.chars()
-                .mapToObj(c -> (char) c)
-                .map(c -> c == '.' ? null : Rock.from(c))
-                .toArray(Rock[]::new))
-            .toArray(Rock[][]::new);
-        return new Platform(rocks);
+        return new Platform(Grid.parse(input, SQUARE));
     }
 
-    private record Platform(Rock[][] rocks) {
+    private record Platform(Grid rocks) {
         private void spin() {
             tiltUp();
             tiltLeft();
@@ -62,100 +64,52 @@ public class Day14 implements Day<Integer> {
         }
 
         private void tiltUp() {
-            for (int r = 0; r < rocks.length; r++) {
-                for (int c = 0; c < rocks[r].length; c++) {
-                    if (rocks[r][c] != Rock.ROUND) {
-                        continue;
-                    }
-                    for (int current = r; current > 0 && rocks[current - 1][c] == null; current--) {
-                        rocks[current - 1][c] = rocks[current][c];
-                        rocks[current][c] = null;
-                    }
+            for (int r = 0; r < rocks.rows(); r++) {
+                for (int c = 0; c < rocks.cols(); c++) {
+                    roll(rocks.index(r, c), Offset.UP);
                 }
             }
         }
 
         private void tiltRight() {
-            for (int c = rocks[0].length - 1; c >= 0; c--) {
-                for (int r = 0; r < rocks.length; r++) {
-                    if (rocks[r][c] != Rock.ROUND) {
-                        continue;
-                    }
-                    for (int current = c; current < rocks[0].length - 1 && rocks[r][current + 1] == null; current++) {
-                        rocks[r][current + 1] = rocks[r][current];
-                        rocks[r][current] = null;
-                    }
+            for (int c = rocks.cols() - 1; c >= 0; c--) {
+                for (int r = 0; r < rocks.rows(); r++) {
+                    roll(rocks.index(r, c), Offset.RIGHT);
                 }
             }
         }
 
         private void tiltLeft() {
-            for (int c = 0; c < rocks[0].length; c++) {
-                for (int r = 0; r < rocks.length; r++) {
-                    if (rocks[r][c] != Rock.ROUND) {
-                        continue;
-                    }
-                    for (int current = c; current > 0 && rocks[r][current - 1] == null; current--) {
-                        rocks[r][current - 1] = rocks[r][current];
-                        rocks[r][current] = null;
-                    }
+            for (int c = 0; c < rocks.cols(); c++) {
+                for (int r = 0; r < rocks.rows(); r++) {
+                    roll(rocks.index(r, c), Offset.LEFT);
                 }
             }
         }
 
         private void tiltDown() {
-            for (int r = rocks.length - 1; r >= 0; r--) {
-                for (int c = 0; c < rocks[r].length; c++) {
-                    if (rocks[r][c] != Rock.ROUND) {
-                        continue;
-                    }
-                    for (int current = r; current < rocks.length - 1 && rocks[current + 1][c] == null; current++) {
-                        rocks[current + 1][c] = rocks[current][c];
-                        rocks[current][c] = null;
-                    }
+            for (int r = rocks.rows() - 1; r >= 0; r--) {
+                for (int c = 0; c < rocks.cols(); c++) {
+                    roll(rocks.index(r, c), Offset.DOWN);
                 }
             }
         }
 
-        private int findLoad() {
-            final AtomicInteger load = new AtomicInteger();
-            Util.loop2D(rocks.length, rocks[0].length, (i, j) -> load.addAndGet(rocks[i][j] == Rock.ROUND ? rocks.length - i : 0));
-            return load.get();
-        }
-    }
-
-    private enum Rock {
-        ROUND('O'),
-        SQUARE('#'),
-        ;
-
-        private final char value;
-
-        Rock(final char value) {
-            this.value = value;
-        }
-
-        private static Rock from(final char c) {
-            return Arrays.stream(values())
-                .filter(r -> r.value == c)
-                .findFirst()
-                .orElseThrow(() -> new RuntimeException("%s is not recognized as a rock".formatted(c)));
-        }
-
-    }
-
-    private record State(Rock[][] rocks) {
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) return true;
-            if (o == null || getClass() != o.getClass()) return false;
-            State state = (State) o;
-            return Arrays.deepEquals(rocks, state.rocks);
+        private void roll(final int index, final Offset offset) {
+            if (rocks.get(index) != ROUND) {
+                return;
+            }
+            int current = index;
+            for (int next = rocks.neighbor(current, offset); rocks.get(next) == EMPTY; next = rocks.neighbor(current, offset)) {
+                rocks.set(current, EMPTY);
+                rocks.set(next, ROUND);
+                current = next;
+            }
         }
 
-        @Override
-        public int hashCode() {
-            return Arrays.deepHashCode(rocks);
+        // Only reads the platform, so large ones are summed in parallel
+        private int findLoad() {
+            return (int) Util.parallelSum2D(rocks.rows(), rocks.cols(), (i, j) -> rocks.get(i, j) == ROUND ? rocks.rows() - i : 0);
         }
     }
 }
@@ -1,35 +1,105 @@
 package com.rips7.day;
 
+import com.rips7.util.Cursor;
+import com.rips7.util.Input;
 import com.rips7.util.maths.Combinatorics.Pair;
 
+import java.io.BufferedReader;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.IntStream;
 
-import static com.rips7.util.Util.isBlank;
+public class Day15 implements StreamingDay<Integer> {
 
-public class Day15 implements Day<Integer> {
+    private static final int BUFFER_SIZE = 8192;
 
     @Override
     public Integer part1(String input) {
-        return Arrays.stream(input.split(","))
-            .map(Day15::HASH)
-            .reduce(Integer::sum)
-            .orElseThrow();
+        return hashSteps(input);
     }
 
     @Override
     public Integer part2(String input) {
-        final List<Step> steps = Arrays.stream(input.split(","))
-            .map(Step::parse)
-            .toList();
-        final List<Box> boxes = IntStream.range(0, 256).boxed()
+        return applySteps(new Cursor(input));
+    }
+
+    @Override
+    public Integer part1(final Input input) {
+        return hashSteps(input.chars());
+    }
+
+    @Override
+    public Integer part2(final Input input) {
+        return applySteps(new Cursor(input));
+    }
+
+    private static int hashSteps(final CharSequence input) {
+        final StepHasher hasher = new StepHasher();
+        for (int i = 0; i < input.length(); i++) {
+            hasher.accept(input.charAt(i));
+        }
+        return hasher.total();
+    }
+
+    private static int applySteps(final Cursor cursor) {
+        final List<Step> steps = new ArrayList<>();
+        while (!cursor.atLineEnd()) {
+            steps.add(Step.parse(cursor));
+        }
+        final List<Box> boxes = newBoxes();
+        steps.forEach(step -> boxes.get(HASH(step.label)).apply(step));
+        return focusPower(boxes);
+    }
+
+    @Override
+    public Integer streamPart1(BufferedReader reader) throws IOException {
+        final StepHasher hasher = new StepHasher();
+        final char[] buffer = new char[BUFFER_SIZE];
+        for (int read = reader.read(buffer); read != -1; read = reader.read(buffer)) {
+            for (int i = 0; i < read; i++) {
+                hasher.accept(buffer[i]);
+            }
+        }
+        return hasher.total();
+    }
+
+    // Steps are applied as they are read, so only the current one and the boxes are kept
+    @Override
+    public Integer streamPart2(BufferedReader reader) throws IOException {
+        final List<Box> boxes = newBoxes();
+        final StringBuilder step = new StringBuilder();
+        final char[] buffer = new char[BUFFER_SIZE];
+        for (int read = reader.read(buffer); read != -1; read = reader.read(buffer)) {
+            for (int i = 0; i < read; i++) {
+                final char c = buffer[i];
+                if (c == ',') {
+                    apply(boxes, step);
+                } else if (c != '\n' && c != '\r') {
+                    step.append(c);
+                }
+            }
+        }
+        apply(boxes, step);
+        return focusPower(boxes);
+    }
+
+    private static void apply(final List<Box> boxes, final StringBuilder rawStep) {
+        if (!rawStep.isEmpty()) {
+            final Step step = Step.parse(new Cursor(rawStep));
+            boxes.get(HASH(step.label)).apply(step);
+            rawStep.setLength(0);
+        }
+    }
+
+    private static List<Box> newBoxes() {
+        return IntStream.range(0, 256).boxed()
             .map(Box::new)
             .toList();
-        steps.forEach(step -> boxes.get(HASH(step.label)).apply(step));
+    }
+
+    private static int focusPower(final List<Box> boxes) {
         return boxes.stream()
             .map(Box::calculateFocusPower)
             .reduce(Integer::sum)
@@ -38,25 +108,43 @@ public class Day15 implements Day<Integer> {
 
     private static int HASH(final String input) {
         int hash = 0;
-        for (final char c : input.toCharArray()) {
-            hash += c;
-            hash *= 17;
-            hash %= 256;
+        for (int i = 0; i < input.length(); i++) {
+            hash = HASH(hash, input.charAt(i));
         }
         return hash;
     }
 
-    private record Step(String label, Operation operation, Integer focalLength) {
-        private static final Pattern STEP_PATTERN = Pattern.compile("(?<label>.+)(?<operation>[-=])(?<focalLength>\\d*)");
-        private static Step parse(final String input) {
-            final Matcher matcher = STEP_PATTERN.matcher(input);
-            if (matcher.matches()) {
-                final String label = matcher.group("label");
-                final Operation operation = Operation.from(matcher.group("operation").charAt(0));
-                final Integer focalLength = isBlank(matcher.group("focalLength")) ? null : Integer.parseInt(matcher.group("focalLength"));
-                return new Step(label, operation, focalLength);
+    private static int HASH(final int hash, final char c) {
+        return (hash + c) * 17 % 256;
+    }
+
+    // Hashes the steps in place as their characters arrive, new lines are ignored
+    private static final class StepHasher {
+        private int sum;
+        private int hash;
+
+        private void accept(final char c) {
+            if (c == ',') {
+                sum += hash;
+                hash = 0;
+            } else if (c != '\n' && c != '\r') {
+                hash = HASH(hash, c);
             }
-            throw new RuntimeException("Cannot parse step %s".formatted(input));
+        }
+
+        private int total() {
+            return sum + hash;
+        }
+    }
+
+    private record Step(String label, Operation operation, Integer focalLength) {
+        // rn=1 or cm-
+        private static Step parse(final Cursor cursor) {
+            final String label = cursor.nextUntil(c -> c == '-' || c == '=').toString();
+            final Operation operation = Operation.from(cursor.next());
+            final Integer focalLength = operation == Operation.EQUALS ? cursor.nextInt() : null;
+            cursor.skip(',');
+            return new Step(label, operation, focalLength);
         }
     }
 
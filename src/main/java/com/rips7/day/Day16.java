@@ -1,19 +1,16 @@
 package com.rips7.day;
 
-import com.rips7.util.algorithms.pathfinding.DFS;
-import com.rips7.util.maths.Maths.Vector2D;
+import com.rips7.util.CancellationToken;
+import com.rips7.util.Grid;
+import com.rips7.util.collections.IntArrayDeque;
 
 import java.util.Collection;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
-import static com.rips7.util.maths.Maths.inBetween;
-
-public class Day16 implements Day<Integer> {
+public class Day16 implements ParsedDay<Grid, Integer> {
 
     private static final Map<Character, Map<Direction, List<Direction>>> DIRECTIONS = Map.of(
         '.', Map.of(
@@ -43,36 +40,49 @@ public class Day16 implements Day<Integer> {
             Direction.LEFT, List.of(Direction.LEFT),
             Direction.UP, List.of(Direction.LEFT, Direction.RIGHT)));
 
-    @Override
-    public Integer part1(String input) {
-        final RawCell[][] contraption = parseInput(input);
-        final Cell start = new Cell(new RawCell(Vector2D.of(0, -1), '.'), Direction.RIGHT);
-        return runAndFindLitCells(start, contraption);
+    // The map above as a table indexed by the byte of the cell and the ordinal of the light, for the inner loop
+    private static final Direction[][][] TURNS = new Direction[128][][];
+
+    static {
+        DIRECTIONS.forEach((tile, turns) -> {
+            TURNS[tile] = new Direction[Direction.VALUES.length][];
+            turns.forEach((light, next) -> TURNS[tile][light.ordinal()] = next.toArray(Direction[]::new));
+        });
     }
 
+    // The beams from every start are independent, so they can be followed on all cores, each under the cancellation
+    // token of the solving thread
     @Override
-    public Integer part2(String input) {
-        final RawCell[][] contraption = parseInput(input);
+    public List<Strategy<Integer>> alternatives() {
+        return List.of(new Strategy<>("parallel", 2, input -> {
+            final Grid contraption = parse(input);
+            final CancellationToken token = CancellationToken.current();
+            return possibleStarts(contraption).parallelStream()
+                .mapToInt(start -> token.bind(() -> {
+                    CancellationToken.checkpoint();
+                    return runAndFindLitCells(start, contraption);
+                }))
+                .max()
+                .orElse(0);
+        }));
+    }
 
-        final List<Cell> possibleTopStarts = IntStream.range(0, contraption[0].length)
-            .mapToObj(i -> new Cell(new RawCell(Vector2D.of(-1, i), '.'), Direction.DOWN))
-            .toList();
-        final List<Cell> possibleRightStarts = IntStream.range(0, contraption.length)
-            .mapToObj(i -> new Cell(new RawCell(Vector2D.of(i, contraption[0].length), '.'), Direction.LEFT))
-            .toList();
-        final List<Cell> possibleBottomStarts = IntStream.range(0, contraption[0].length)
-            .mapToObj(i -> new Cell(new RawCell(Vector2D.of(contraption.length, i), '.'), Direction.UP))
-            .toList();
-        final List<Cell> possibleLeftStarts = IntStream.range(0, contraption[0].length)
-            .mapToObj(i -> new Cell(new RawCell(Vector2D.of(i, -1), '.'), Direction.RIGHT))
-            .toList();
+    @Override
+    public Grid parse(String input) {
+        return Grid.parse(input);
+    }
 
-        final List<Cell> possibleStarts = Stream.of(possibleTopStarts, possibleRightStarts, possibleBottomStarts, possibleLeftStarts)
-            .flatMap(Collection::stream)
-            .toList();
+    @Override
+    public Integer solvePart1(Grid contraption) {
+        final Beam start = new Beam(contraption.index(0, -1), Direction.RIGHT);
+        return runAndFindLitCells(start, contraption);
+    }
 
+    @Override
+    public Integer solvePart2(Grid contraption) {
         int maxNumberOfLitCells = 0;
-        for (final Cell start : possibleStarts) {
+        for (final Beam start : possibleStarts(contraption)) {
+            CancellationToken.checkpoint();
             final int numberOfLitCells = runAndFindLitCells(start, contraption);
             if (numberOfLitCells > maxNumberOfLitCells) {
                 maxNumberOfLitCells = numberOfLitCells;
@@ -81,54 +91,74 @@ public class Day16 implements Day<Integer> {
         return maxNumberOfLitCells;
     }
 
-    private RawCell[][] parseInput(final String input) {
-        final String[] lines = input.split("\n");
-        return IntStream.range(0, lines.length)
-            .mapToObj(r -> IntStream.range(0, lines[r].length())
-                .mapToObj(c -> new RawCell(Vector2D.of(r, c), lines[r].charAt(c)))
-                .toArray(RawCell[]::new))
-            .toArray(RawCell[][]::new);
+    // The beams start from the border, outside the contraption
+    private static List<Beam> possibleStarts(final Grid contraption) {
+        final List<Beam> possibleTopStarts = IntStream.range(0, contraption.cols())
+            .mapToObj(i -> new Beam(contraption.index(-1, i), Direction.DOWN))
+            .toList();
+        final List<Beam> possibleRightStarts = IntStream.range(0, contraption.rows())
+            .mapToObj(i -> new Beam(contraption.index(i, contraption.cols()), Direction.LEFT))
+            .toList();
+        final List<Beam> possibleBottomStarts = IntStream.range(0, contraption.cols())
+            .mapToObj(i -> new Beam(contraption.index(contraption.rows(), i), Direction.UP))
+            .toList();
+        final List<Beam> possibleLeftStarts = IntStream.range(0, contraption.rows())
+            .mapToObj(i -> new Beam(contraption.index(i, -1), Direction.RIGHT))
+            .toList();
+
+        return Stream.of(possibleTopStarts, possibleRightStarts, possibleBottomStarts, possibleLeftStarts)
+            .flatMap(Collection::stream)
+            .toList();
     }
 
-    private int runAndFindLitCells(final Cell start, final RawCell[][] contraption) {
-        final Set<RawCell> litCells = new HashSet<>();
-        try {
-            new DFS<Cell>().run(start, null, cell -> this.getNeighbors(cell, contraption, litCells));
-        } catch (final Exception e) {
-            // There is no "solution" for DFS
+    // A beam is its cell index and its direction, packed in an int. Each one is followed once.
+    private static int runAndFindLitCells(final Beam start, final Grid contraption) {
+        final boolean[] lit = new boolean[contraption.size()];
+        final boolean[] seen = new boolean[contraption.size() * Direction.VALUES.length];
+        final IntArrayDeque beams = new IntArrayDeque();
+        beams.push(start.packed());
+        int litCells = 0;
+        while (!beams.isEmpty()) {
+            final int beam = beams.pop();
+            final Direction light = Direction.VALUES[beam % Direction.VALUES.length];
+            final int next = light.apply(contraption, beam / Direction.VALUES.length);
+            final byte value = contraption.get(next);
+            if (value == Grid.OUTSIDE) {
+                continue;
+            }
+            if (!lit[next]) {
+                lit[next] = true;
+                litCells++;
+            }
+            for (final Direction nextDirection : TURNS[value][light.ordinal()]) {
+                final int nextBeam = new Beam(next, nextDirection).packed();
+                if (!seen[nextBeam]) {
+                    seen[nextBeam] = true;
+                    beams.push(nextBeam);
+                }
+            }
         }
-        return litCells.size();
+        return litCells;
     }
 
-    private List<Cell> getNeighbors(final Cell cell, final RawCell[][] contraption, final Set<RawCell> litCells) {
-        if (inBetween(cell.rawCell.position.x(), 0, contraption.length) &&
-            inBetween(cell.rawCell.position.y(), 0, contraption[0].length)) {
-                litCells.add(cell.rawCell);
-        }
-        try {
-            final int r = cell.rawCell.position.x();
-            final int c = cell.rawCell.position.y();
-            final RawCell nextCell = switch (cell.light) {
-                case RIGHT -> contraption[r][c + 1];
-                case DOWN -> contraption[r + 1][c];
-                case LEFT -> contraption[r][c - 1];
-                case UP -> contraption[r - 1][c];
-            };
-            final List<Direction> nextDirections = DIRECTIONS.get(nextCell.value).get(cell.light);
-            return nextDirections.stream()
-                .map(nextDir -> new Cell(nextCell, nextDir))
-                .toList();
-        } catch (final ArrayIndexOutOfBoundsException e) {
-            // ignore
+    private record Beam(int index, Direction light) {
+        private int packed() {
+            return index * Direction.VALUES.length + light.ordinal();
         }
-        return List.of();
     }
 
-    private record RawCell(Vector2D<Integer> position, Character value) {}
+    private enum Direction {
+        UP, DOWN, LEFT, RIGHT;
 
-    private record Cell(RawCell rawCell, Direction light) {}
+        private static final Direction[] VALUES = values();
 
-    private enum Direction {
-        UP, DOWN, LEFT, RIGHT
+        private int apply(final Grid grid, final int index) {
+            return switch (this) {
+                case UP -> grid.up(index);
+                case DOWN -> grid.down(index);
+                case LEFT -> grid.left(index);
+                case RIGHT -> grid.right(index);
+            };
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,93 +1,101 @@
 package com.rips7.day;
 
-import com.rips7.util.Util;
-import com.rips7.util.algorithms.pathfinding.Dijkstra;
-import com.rips7.util.maths.Maths.Vector2D;
+import com.rips7.util.CancellationToken;
+import com.rips7.util.Grid;
+import com.rips7.util.collections.LongSet;
+import com.rips7.util.jfr.SearchEvent;
 
-import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Comparator;
+import java.util.PriorityQueue;
 
-public class Day17 implements Day<Integer> {
+public class Day17 implements ParsedDay<Grid, Integer> {
 
-    @Override
-    public Integer part1(String input) {
-        final Integer[][] grid = parseInput(input);
+    private static final Direction[] DIRECTIONS = Direction.values();
 
-        return new Dijkstra<Cell>().run(
-                new Cell(Vector2D.of(0, 0), null, 0),
-                cell -> cell.position().equals(Vector2D.of(grid.length - 1, grid[0].length - 1)),
-                (cell, currentCost) -> getNeighbors(cell, currentCost.intValue(), grid, true))
-            .right()
-            .intValue();
+    @Override
+    public Grid parse(String input) {
+        return Grid.parse(input);
     }
 
     @Override
-    public Integer part2(String input) {
-        final Integer[][] grid = parseInput(input);
-
-        return new Dijkstra<Cell>().run(
-                new Cell(Vector2D.of(0, 0), null, 0),
-                cell -> cell.position().equals(Vector2D.of(grid.length - 1, grid[0].length - 1)) && cell.sameDirection >= 4,
-                (cell, currentCost) -> getNeighbors(cell, currentCost.intValue(), grid, false))
-            .right()
-            .intValue();
+    public Integer solvePart1(Grid grid) {
+        return findMinHeatLoss(grid, 0, 3);
     }
 
-    private Integer[][] parseInput(final String input) {
-        final String[] lines = input.split("\n");
-        return Arrays.stream(lines)
-            .map(line -> line.chars()
-                .mapToObj(c -> (char) c)
-                .map(String::valueOf)
-                .map(Integer::parseInt)
-                .toArray(Integer[]::new))
-            .toArray(Integer[][]::new);
+    @Override
+    public Integer solvePart2(Grid grid) {
+        return findMinHeatLoss(grid, 4, 10);
     }
 
-    private Map<Cell, Double> getNeighbors(final Cell current, final int currentCost, final Integer[][] grid, boolean part1) {
-        final int minSameDir = part1 ? 0 : 4;
-        final int maxSameDir = part1 ? 3 : 10;
-        final Map<Cell, Double> neighbors = new HashMap<>();
-        if (current.sameDirection < maxSameDir && !current.position.equals(Vector2D.of(0, 0))) {
-            final Vector2D<Integer> nextPosition = current.direction.apply(current.position);
-            if (Util.isWithinGrid(nextPosition, grid)) {
-                final int nextCost = currentCost + grid[nextPosition.x()][nextPosition.y()];
-                neighbors.put(new Cell(nextPosition, current.direction, current.sameDirection + 1), (double) nextCost);
+    // Dijkstra over the crucible states, which are packed in longs so that the closed set never boxes them. The heat
+    // loss of each block is its digit, and the border is outside the city.
+    private static int findMinHeatLoss(final Grid grid, final int minSameDir, final int maxSameDir) {
+        final int start = grid.index(0, 0);
+        final int end = grid.index(grid.rows() - 1, grid.cols() - 1);
+        final PriorityQueue<Crucible> frontier = new PriorityQueue<>(Comparator.comparingInt(Crucible::heatLoss));
+        final LongSet closedSet = new LongSet(grid.size() * DIRECTIONS.length);
+        frontier.add(new Crucible(start, null, 0, 0));
+        final SearchEvent event = SearchEvent.start(Day17.class);
+        try {
+            while (!frontier.isEmpty()) {
+                CancellationToken.checkpoint();
+                event.frontier(frontier.size());
+                final Crucible current = frontier.poll();
+                if (current.index == end && current.sameDirection >= minSameDir) {
+                    event.found();
+                    return current.heatLoss;
+                }
+                if (!closedSet.add(current.state())) {
+                    continue;
+                }
+                event.expanded();
+                if (current.sameDirection < maxSameDir && current.index != start) {
+                    move(grid, current, current.direction, current.sameDirection + 1, frontier);
+                }
+                if (current.sameDirection >= minSameDir || current.index == start) {
+                    for (final Direction dir : DIRECTIONS) {
+                        if (dir != current.direction && dir.isNotOpposite(current.direction)) {
+                            move(grid, current, dir, 1, frontier);
+                        }
+                    }
+                }
             }
+        } finally {
+            event.finish();
         }
-        if (current.sameDirection >= minSameDir || current.position.equals(Vector2D.of(0, 0))) {
-            Arrays.stream(Direction.values())
-                .filter(dir -> !dir.equals(current.direction))
-                .filter(dir -> dir.isNotOpposite(current.direction))
-                .forEach(dir -> {
-                    final Vector2D<Integer> nextPosition = dir.apply(current.position);
-                    if (Util.isWithinGrid(nextPosition, grid)) {
-                        final int nextCost = currentCost + grid[nextPosition.x()][nextPosition.y()];
-                        neighbors.put(new Cell(nextPosition, dir, 1), (double) nextCost);
-                    }
-                });
+        throw new RuntimeException("No path to end");
+    }
+
+    private static void move(final Grid grid, final Crucible current, final Direction direction, final int sameDirection,
+                             final PriorityQueue<Crucible> frontier) {
+        final int nextIndex = direction.apply(grid, current.index);
+        if (grid.get(nextIndex) != Grid.OUTSIDE) {
+            final int heatLoss = current.heatLoss + grid.get(nextIndex) - '0';
+            frontier.add(new Crucible(nextIndex, direction, sameDirection, heatLoss));
         }
-        return neighbors;
     }
 
-    private record Cell(Vector2D<Integer> position, Direction direction, int sameDirection) {
+    private record Crucible(int index, Direction direction, int sameDirection, int heatLoss) {
+        // The heat loss so far is not part of the state
+        private long state() {
+            final int dir = direction == null ? DIRECTIONS.length : direction.ordinal();
+            return ((long) index << 16) | ((long) dir << 8) | sameDirection;
+        }
     }
 
     private enum Direction {
-        UP(Vector2D.of(-1, 0)),
-        DOWN(Vector2D.of(1, 0)),
-        RIGHT(Vector2D.of(0, 1)),
-        LEFT(Vector2D.of(0, -1));
-
-        private final Vector2D<Integer> offset;
+        UP,
+        DOWN,
+        RIGHT,
+        LEFT;
 
-        Direction(final Vector2D<Integer> offset) {
-            this.offset = offset;
-        }
-
-        private Vector2D<Integer> apply(final Vector2D<Integer> position) {
-            return Vector2D.add(position, offset, Integer::sum);
+        private int apply(final Grid grid, final int index) {
+            return switch (this) {
+                case UP -> grid.up(index);
+                case DOWN -> grid.down(index);
+                case RIGHT -> grid.right(index);
+                case LEFT -> grid.left(index);
+            };
         }
 
         private boolean isNotOpposite(final Direction direction) {
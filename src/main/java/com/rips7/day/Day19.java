@@ -1,8 +1,13 @@
 package com.rips7.day;
 
+import com.rips7.util.Cursor;
+import com.rips7.util.Input;
 import com.rips7.util.Util;
 import com.rips7.util.maths.Combinatorics.Pair;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -10,56 +15,92 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.function.BiPredicate;
 import java.util.function.Function;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-public class Day19 implements Day<Long> {
+public class Day19 implements ParsedDay<Day19.SortingSystem, Long>, StreamingDay<Long> {
 
     @Override
-    public Long part1(String input) {
-        final String[] split = input.split("\n\n");
+    public SortingSystem parse(String input) {
+        return parse(new Cursor(input));
+    }
 
-        final Map<String, Workflow> workflows = Arrays.stream(split[0].split("\n"))
-            .map(Workflow::parse)
-            .collect(Collectors.toMap(Workflow::name, Function.identity()));
+    @Override
+    public SortingSystem parse(final Input input) {
+        return parse(new Cursor(input));
+    }
 
-        final List<Part> parts = Arrays.stream(split[1].split("\n"))
-            .map(Part::parse)
-            .toList();
+    private static SortingSystem parse(final Cursor cursor) {
+        // Workflows and parts are separated by a blank line
+        final Map<String, Workflow> workflows = new HashMap<>();
+        while (!cursor.atLineEnd()) {
+            final Workflow workflow = Workflow.parse(cursor);
+            workflows.put(workflow.name, workflow);
+        }
+        cursor.skipLine();
 
-        return parts.stream()
-            .filter(part -> part.apply(workflows).equals(Result.ACCEPTED))
-            .map(part -> (long) (part.x + part.m + part.a + part.s))
-            .reduce(Long::sum)
-            .orElse(0L);
+        final List<Part> parts = new ArrayList<>();
+        while (cursor.hasNext()) {
+            parts.add(Part.parse(cursor));
+        }
+
+        return new SortingSystem(workflows, List.copyOf(parts));
     }
 
     @Override
-    public Long part2(String input) {
-        final String[] split = input.split("\n\n");
+    public Long solvePart1(SortingSystem system) {
+        return sumAccepted(system.parts.stream(), system.workflows);
+    }
 
-        final Map<String, Workflow> workflows = Arrays.stream(split[0].split("\n"))
-            .map(Workflow::parse)
-            .collect(Collectors.toMap(Workflow::name, Function.identity()));
+    @Override
+    public Long solvePart2(SortingSystem system) {
+        return new RangedPart(1, 4000).apply(system.workflows);
+    }
 
-        return new RangedPart(1, 4000).apply(workflows);
+    // The workflows are needed as a whole, the parts are sorted as they are read
+    @Override
+    public Long streamPart1(BufferedReader reader) throws IOException {
+        final Map<String, Workflow> workflows = readWorkflows(reader);
+        return sumAccepted(reader.lines().map(line -> Part.parse(new Cursor(line))), workflows);
     }
 
+    // Only the workflows matter, so the parts are not even read
+    @Override
+    public Long streamPart2(BufferedReader reader) throws IOException {
+        return new RangedPart(1, 4000).apply(readWorkflows(reader));
+    }
+
+    private static Map<String, Workflow> readWorkflows(final BufferedReader reader) throws IOException {
+        final Map<String, Workflow> workflows = new HashMap<>();
+        for (String line = reader.readLine(); line != null && !line.isEmpty(); line = reader.readLine()) {
+            final Workflow workflow = Workflow.parse(new Cursor(line));
+            workflows.put(workflow.name, workflow);
+        }
+        return workflows;
+    }
+
+    private static long sumAccepted(final Stream<Part> parts, final Map<String, Workflow> workflows) {
+        return parts
+            .filter(part -> part.apply(workflows).equals(Result.ACCEPTED))
+            .mapToLong(part -> part.x + part.m + part.a + part.s)
+            .sum();
+    }
+
+    record SortingSystem(Map<String, Workflow> workflows, List<Part> parts) {}
+
     private record Workflow(String name, List<Rule> rules) {
-        private static final Pattern WORKFLOW_PATTERN = Pattern.compile("(?<name>.+)\\{(?<rules>.+)}");
-        private static Workflow parse(final String input) {
-            final Matcher matcher = WORKFLOW_PATTERN.matcher(input);
-            if (matcher.matches()) {
-                final String name = matcher.group("name");
-                final String allRules = matcher.group("rules");
-                final List<Rule> rules = Arrays.stream(allRules.split(","))
-                    .map(Rule::parse)
-                    .toList();
-                return new Workflow(name, rules);
+        // px{a<2006:qkq,m>2090:A,rfg}
+        private static Workflow parse(final Cursor cursor) {
+            final String name = cursor.nextToken('{').toString();
+            final List<Rule> rules = new ArrayList<>();
+            do {
+                rules.add(Rule.parse(cursor));
+            } while (cursor.skip(','));
+            if (!cursor.skip('}')) {
+                throw new RuntimeException("Cannot parse %s as workflow".formatted(name));
             }
-            throw new RuntimeException("Cannot parse %s as workflow".formatted(input));
+            cursor.skipLine();
+            return new Workflow(name, List.copyOf(rules));
         }
 
         private String apply(final Part part) {
@@ -74,15 +115,14 @@ public class Day19 implements Day<Long> {
     }
 
     private record Rule(Condition condition, String result) {
-        private static Rule parse(final String input) {
-            final String[] ruleParts = input.split(":");
-            if (ruleParts.length == 1) {
-                return new Rule(null, ruleParts[0]);
-            } else if (ruleParts.length == 2) {
-                final Condition condition = Condition.parse(ruleParts[0]);
-                return new Rule(condition, ruleParts[1]);
+        private static Rule parse(final Cursor cursor) {
+            final char next = cursor.peek(1);
+            final Condition condition = next == '<' || next == '>' ? Condition.parse(cursor) : null;
+            if (condition != null && !cursor.skip(':')) {
+                throw new RuntimeException("Cannot parse rule at %s".formatted(cursor.position()));
             }
-            throw new RuntimeException("Cannot parse %s as rule".formatted(input));
+            final String result = cursor.nextUntil(c -> c == ',' || c == '}').toString();
+            return new Rule(condition, result);
         }
 
         private String evaluate(final Part part) {
@@ -94,23 +134,18 @@ public class Day19 implements Day<Long> {
     }
 
     private record Condition(String component, Function<Part, Integer> valueGetter, Inequality inequality, long value) {
-        private static final Pattern CONDITION_PATTERN = Pattern.compile("(?<component>[xmas])(?<inequality>[><])(?<value>\\d+)");
-        private static Condition parse(final String input) {
-            final Matcher matcher = CONDITION_PATTERN.matcher(input);
-            if (matcher.matches()) {
-                final String component = matcher.group("component");
-                final Function<Part, Integer> valueGetter = switch(component) {
-                    case "x" -> Part::x;
-                    case "m" -> Part::m;
-                    case "a" -> Part::a;
-                    case "s" -> Part::s;
-                    default -> throw new RuntimeException("Unrecognized component %s in %s".formatted(component, input));
-                };
-                final Inequality inequality = Inequality.from(matcher.group("inequality").charAt(0));
-                final long value = Long.parseLong(matcher.group("value"));
-                return new Condition(component, valueGetter, inequality, value);
-            }
-            throw new RuntimeException("Cannot parse %s as condition".formatted(input));
+        private static Condition parse(final Cursor cursor) {
+            final String component = String.valueOf(cursor.next());
+            final Function<Part, Integer> valueGetter = switch(component) {
+                case "x" -> Part::x;
+                case "m" -> Part::m;
+                case "a" -> Part::a;
+                case "s" -> Part::s;
+                default -> throw new RuntimeException("Unrecognized component %s at %s".formatted(component, cursor.position()));
+            };
+            final Inequality inequality = Inequality.from(cursor.next());
+            final long value = cursor.nextLong();
+            return new Condition(component, valueGetter, inequality, value);
         }
 
         private boolean evaluate(final Part part) {
@@ -161,17 +196,14 @@ public class Day19 implements Day<Long> {
     }
 
     private record Part(int x, int m, int a, int s) {
-        private static final Pattern PART_PATTERN = Pattern.compile("\\{x=(?<x>\\d+),m=(?<m>\\d+),a=(?<a>\\d+),s=(?<s>\\d+)}");
-        private static Part parse(final String input) {
-            final Matcher matcher = PART_PATTERN.matcher(input);
-            if (matcher.matches()) {
-                final int x = Integer.parseInt(matcher.group("x"));
-                final int m = Integer.parseInt(matcher.group("m"));
-                final int a = Integer.parseInt(matcher.group("a"));
-                final int s = Integer.parseInt(matcher.group("s"));
-                return new Part(x, m, a, s);
-            }
-            throw new RuntimeException("Cannot parse %s as input".formatted(input));
+        // {x=787,m=2655,a=1222,s=2876}
+        private static Part parse(final Cursor cursor) {
+            final int x = cursor.nextInt();
+            final int m = cursor.nextInt();
+            final int a = cursor.nextInt();
+            final int s = cursor.nextInt();
+            cursor.skipLine();
+            return new Part(x, m, a, s);
         }
 
         private Result apply(final Map<String, Workflow> workflows) {
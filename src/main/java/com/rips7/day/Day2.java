@@ -1,38 +1,84 @@
 package com.rips7.day;
 
-import java.util.Arrays;
+import com.rips7.util.Cursor;
+import com.rips7.util.Input;
+
+import java.io.BufferedReader;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
+
+public class Day2 implements ParsedDay<List<Day2.Game>, Integer>, StreamingDay<Integer> {
 
-public class Day2 implements Day<Integer> {
+  @Override
+  public List<Game> parse(String input) {
+    return parse(new Cursor(input));
+  }
+
+  @Override
+  public List<Game> parse(final Input input) {
+    return parse(new Cursor(input));
+  }
+
+  private static List<Game> parse(final Cursor cursor) {
+    final List<Game> games = new ArrayList<>();
+    while (cursor.hasNext()) {
+      games.add(Game.parseGame(cursor));
+    }
+    return List.copyOf(games);
+  }
+
+  @Override
+  public Integer solvePart1(List<Game> games) {
+    return sumPossible(games.stream());
+  }
 
   @Override
-  public Integer part1(String input) {
-    return Arrays.stream(input.split("\n"))
-      .map(Game::parseGame)
+  public Integer solvePart2(List<Game> games) {
+    return sumPowers(games.stream());
+  }
+
+  @Override
+  public Integer streamPart1(BufferedReader reader) {
+    return sumPossible(reader.lines().map(Game::parseGame));
+  }
+
+  @Override
+  public Integer streamPart2(BufferedReader reader) {
+    return sumPowers(reader.lines().map(Game::parseGame));
+  }
+
+  private static Integer sumPossible(final Stream<Game> games) {
+    return games
       .filter(game -> !game.isImpossible())
       .map(Game::id)
       .reduce(Integer::sum)
       .orElse(0);
   }
 
-  @Override
-  public Integer part2(String input) {
-    return Arrays.stream(input.split("\n"))
-      .map(Game::parseGame)
+  private static Integer sumPowers(final Stream<Game> games) {
+    return games
       .map(Game::getPossibleMax)
       .map(GameStage::getPower)
       .reduce(Integer::sum)
       .orElse(0);
   }
 
-  private record Game(int id, List<GameStage> gameStages) {
+  record Game(int id, List<GameStage> gameStages) {
     private static Game parseGame(final String line) {
-      final String[] gameIdAndStages = line.split(": ");
-      final int id = Integer.parseInt(gameIdAndStages[0].split(" ")[1]);
-      final List<GameStage> gameStages = Arrays.stream(gameIdAndStages[1].split("; "))
-        .map(GameStage::parseGameStage)
-        .toList();
-      return new Game(id, gameStages);
+      return parseGame(new Cursor(line));
+    }
+
+    // Game 1: 3 blue, 4 red; 1 red, 2 green
+    private static Game parseGame(final Cursor cursor) {
+      final int id = cursor.nextInt();
+      cursor.skip(':');
+      final List<GameStage> gameStages = new ArrayList<>();
+      do {
+        gameStages.add(GameStage.parseGameStage(cursor));
+      } while (cursor.skip(';'));
+      cursor.skipLine();
+      return new Game(id, List.copyOf(gameStages));
     }
 
     private boolean isImpossible() {
@@ -51,20 +97,19 @@ public class Day2 implements Day<Integer> {
   }
 
   private record GameStage(int red, int green, int blue) {
-    private static GameStage parseGameStage(final String line) {
-      final String[] samples = line.split(", ");
+    private static GameStage parseGameStage(final Cursor cursor) {
       int red = 0;
       int green = 0;
       int blue = 0;
-      for (String sample : samples) {
-        final String[] numberAndColor = sample.split(" ");
-        int number = Integer.parseInt(numberAndColor[0]);
-        switch (numberAndColor[1]) {
-          case "red" -> red = number;
-          case "green" -> green = number;
-          case "blue" -> blue = number;
+      do {
+        final int number = cursor.nextInt();
+        switch (cursor.skipSpaces().next()) {
+          case 'r' -> red = number;
+          case 'g' -> green = number;
+          case 'b' -> blue = number;
         }
-      }
+        cursor.skipWhile(Character::isLetter);
+      } while (cursor.skip(','));
       return new GameStage(red, green, blue);
     }
 
@@ -1,5 +1,7 @@
 package com.rips7.day;
 
+import com.rips7.util.CancellationToken;
+import com.rips7.util.Cursor;
 import com.rips7.util.maths.Combinatorics.Pair;
 import com.rips7.util.maths.Combinatorics.Triplet;
 import com.rips7.util.maths.Maths;
@@ -19,23 +21,47 @@ import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
-public class Day20 implements Day<Long> {
+public class Day20 implements ParsedDay<Day20.Wiring, Long> {
 
     @Override
-    public Long part1(String input) {
-        return Machine.parse(input).pushButton(1000);
+    public Wiring parse(String input) {
+        return Wiring.parse(new Cursor(input));
     }
 
     @Override
-    public Long part2(String input) {
-        return Machine.parse(input).pushButtonUntilOutput();
+    public Long solvePart1(Wiring wiring) {
+        return Machine.from(wiring).pushButton(1000);
+    }
+
+    @Override
+    public Long solvePart2(Wiring wiring) {
+        return Machine.from(wiring).pushButtonUntilOutput();
+    }
+
+    // The modules keep state while pulses go through them, so the parts share the raw wiring and build their own machine
+    record Wiring(Map<String, String[]> rawConnections) {
+        // %a -> b, c
+        private static Wiring parse(final Cursor cursor) {
+            final Map<String, String[]> rawConnections = new HashMap<>();
+            while (cursor.hasNext()) {
+                final String moduleName = cursor.nextToken(' ').toString();
+                if (!cursor.skip("-> ")) {
+                    throw new RuntimeException("Cannot parse connections of %s".formatted(moduleName));
+                }
+                final List<String> destinations = new ArrayList<>();
+                do {
+                    destinations.add(cursor.skipSpaces().nextUntil(c -> c == ',').toString());
+                } while (cursor.skip(','));
+                cursor.skipLine();
+                rawConnections.put(moduleName, destinations.toArray(String[]::new));
+            }
+            return new Wiring(Map.copyOf(rawConnections));
+        }
     }
 
     private record Machine(Map<Module, List<Module>> connections) {
-        private static Machine parse(final String input) {
-            final Map<String, String[]> allRawConnections = Arrays.stream(input.split("\n"))
-                .map(line -> line.split(" -> "))
-                .collect(Collectors.toMap(p -> p[0], p -> p[1].split(", ")));
+        private static Machine from(final Wiring wiring) {
+            final Map<String, String[]> allRawConnections = wiring.rawConnections;
             final Set<Module> modules = allRawConnections.keySet().stream()
                 .map(moduleName -> switch(moduleName.charAt(0)) {
                     case '&' -> new Conjunction(moduleName.substring(1));
@@ -131,6 +157,7 @@ public class Day20 implements Day<Long> {
         private void pushButton(final Consumer<Triplet<Module, Module, Pulse>> parentCurrentPulseConsumer) {
             final Queue<Triplet<Module, Module, Pulse>> frontier = new ArrayDeque<>();
             frontier.add(Triplet.of(null, getBroadcaster(), Pulse.LOW));
+            CancellationToken.checkpoint();
             while (!frontier.isEmpty()) {
                 final Triplet<Module, Module, Pulse> current = frontier.poll();
                 parentCurrentPulseConsumer.accept(current);
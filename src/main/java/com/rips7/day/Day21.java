@@ -1,87 +1,81 @@
 package com.rips7.day;
 
-import com.rips7.util.Util;
-import com.rips7.util.maths.Maths.Vector2D;
-
-import java.util.ArrayDeque;
-import java.util.Arrays;
-import java.util.HashSet;
-import java.util.Queue;
-import java.util.Set;
+import com.rips7.util.CancellationToken;
+import com.rips7.util.Grid;
+import com.rips7.util.Util.Offset;
+import com.rips7.util.collections.IntArrayDeque;
+
 import java.util.function.Supplier;
-import java.util.stream.IntStream;
-import java.util.stream.Stream;
 
-public class Day21 implements Day<Long> {
+public class Day21 implements ParsedDay<Day21.StepMap, Long> {
 
     @Override
-    public Long part1(String input) {
-        final StepMap stepMap = StepMap.parse(input);
+    public StepMap parse(String input) {
+        return StepMap.parse(input);
+    }
+
+    @Override
+    public Long solvePart1(StepMap stepMap) {
         return stepMap.walkStepsPart1(64);
     }
 
     @Override
-    public Long part2(String input) {
-        final StepMap stepMap = StepMap.parse(input);
+    public Long solvePart2(StepMap stepMap) {
         final int steps = 26501365;
         stepMap.verifyAssumptionsPart2(steps);
         return stepMap.walkStepsPart2(steps);
     }
 
-    private record StepMap(Cell[][] cells) {
+    // The border is made of rocks, so that the walks stay within the map
+    record StepMap(Grid cells) {
+        private static final byte START = 'S';
+        private static final byte GARDEN = '.';
+        private static final byte ROCK = '#';
+
         private static StepMap parse(final String input) {
-            final CellType[][] cellTypes = Arrays.stream(input.split("\n"))
-                .map(line -> line.chars()
-                    .mapToObj(c -> (char) c)
-                    .map(CellType::from)
-                    .toArray(CellType[]::new))
-                .toArray(CellType[][]::new);
-            final Cell[][] cells = IntStream.range(0, cellTypes.length)
-                .mapToObj(row -> IntStream.range(0, cellTypes[row].length)
-                    .mapToObj(col -> new Cell(Vector2D.of(row, col), cellTypes[row][col]))
-                    .toArray(Cell[]::new))
-                .toArray(Cell[][]::new);
-            return new StepMap(cells);
+            return new StepMap(Grid.parse(input, ROCK));
         }
 
-        private Cell getStartCell() {
-            return Arrays.stream(cells)
-                .flatMap(Arrays::stream)
-                .filter(cell -> cell.cellType == CellType.START)
-                .findFirst()
-                .orElseThrow(() -> new RuntimeException("Cannot find start cell"));
+        private int getStartCell() {
+            final int start = cells.find(START);
+            if (start < 0) {
+                throw new RuntimeException("Cannot find start cell");
+            }
+            return start;
         }
 
-        private Cell getCell(final int row, final int col) {
-            return cells[row][col];
+        private int getCell(final int row, final int col) {
+            return cells.index(row, col);
         }
 
         @SuppressWarnings("SameParameterValue")
         private void verifyAssumptionsPart2(final int steps) {
             // Verify grid is square
             assertWithMessage(
-                () -> cells.length == cells[0].length,
+                () -> cells.rows() == cells.cols(),
                 "The grid has to be square");
 
-            final Cell start = getStartCell();
+            final int start = getStartCell();
+            final int startRow = cells.rowOf(start);
+            final int startCol = cells.colOf(start);
             // Verify START is in the middle
             assertWithMessage(
-                () -> start.position.equals(Vector2D.of(cells.length / 2, cells[0].length / 2)),
+                () -> startRow == cells.rows() / 2 && startCol == cells.cols() / 2,
                 "The start has to be in the center of the grid");
 
             // Verify steps is
             assertWithMessage(
-                () -> steps % cells.length == cells.length / 2,
+                () -> steps % cells.rows() == cells.rows() / 2,
                 "Step number has to be a multiple of half the grid size");
 
             // Verify row with START is all empty
             assertWithMessage(
                 () -> {
-                    for (int col = 0; col < cells[start.position.x()].length; col++) {
-                        if (col == start.position.y()) {
+                    for (int col = 0; col < cells.cols(); col++) {
+                        if (col == startCol) {
                             continue;
                         }
-                        if (cells[start.position.x()][col].cellType != CellType.GARDEN) {
+                        if (cells.get(startRow, col) != GARDEN) {
                             return false;
                         }
                     }
@@ -92,11 +86,11 @@ public class Day21 implements Day<Long> {
             // Verify col with START is all empty
             assertWithMessage(
                 () -> {
-                    for (int row = 0; row < cells.length; row++) {
-                        if (row == start.position.x()) {
+                    for (int row = 0; row < cells.rows(); row++) {
+                        if (row == startRow) {
                             continue;
                         }
-                        if (cells[row][start.position.y()].cellType != CellType.GARDEN) {
+                        if (cells.get(row, startCol) != GARDEN) {
                             return false;
                         }
                     }
@@ -113,10 +107,12 @@ public class Day21 implements Day<Long> {
 
         @SuppressWarnings("SameParameterValue")
         private long walkStepsPart2(final int steps) {
-            final int gridSize = cells.length;
+            final int gridSize = cells.rows();
             final long repeatingGridWidth = steps / gridSize - 1;
 
-            final Cell startCell = getStartCell();
+            final int startCell = getStartCell();
+            final int startRow = cells.rowOf(startCell);
+            final int startCol = cells.colOf(startCell);
 
             final long oddRepeatingGrids = ((repeatingGridWidth / 2) * 2 + 1) * ((repeatingGridWidth / 2) * 2 + 1);
             final long evenRepeatingGrids = (((repeatingGridWidth + 1) / 2) * 2) * (((repeatingGridWidth + 1) / 2) * 2);
@@ -124,10 +120,10 @@ public class Day21 implements Day<Long> {
             final long reachablePtsInOddRepeatingGrids = walkSteps(startCell, gridSize * 2 + 1);
             final long reachablePtsInEvenRepeatingGrids = walkSteps(startCell, gridSize * 2);
 
-            final long reachablePtsInTopGrid = walkSteps(getCell(gridSize - 1, startCell.position.y()), gridSize - 1);
-            final long reachablePtsInRightGrid = walkSteps(getCell(startCell.position.x(), 0), gridSize - 1);
-            final long reachablePtsInBottomGrid = walkSteps(getCell(0, startCell.position.y()), gridSize - 1);
-            final long reachablePtsInLeftGrid = walkSteps(getCell(startCell.position.x(), gridSize - 1), gridSize - 1);
+            final long reachablePtsInTopGrid = walkSteps(getCell(gridSize - 1, startCol), gridSize - 1);
+            final long reachablePtsInRightGrid = walkSteps(getCell(startRow, 0), gridSize - 1);
+            final long reachablePtsInBottomGrid = walkSteps(getCell(0, startCol), gridSize - 1);
+            final long reachablePtsInLeftGrid = walkSteps(getCell(startRow, gridSize - 1), gridSize - 1);
 
             final long reachablePtsInTopRightSmall = walkSteps(getCell(gridSize - 1, 0), gridSize / 2 - 1);
             final long reachablePtsInTopLeftSmall = walkSteps(getCell(gridSize - 1, gridSize - 1), gridSize / 2 - 1);
@@ -148,63 +144,41 @@ public class Day21 implements Day<Long> {
                     (reachablePtsInTopRightBig + reachablePtsInTopLeftBig + reachablePtsInBottomRightBig + reachablePtsInBottomLeftBig);
         }
 
-        private int walkSteps(final Cell start, final int steps) {
-            final Queue<CellWithAvailableSteps> frontier = new ArrayDeque<>();
-            final Set<Vector2D<Integer>> closedSet = new HashSet<>();
-            final Set<Vector2D<Integer>> result = new HashSet<>();
-            frontier.add(new CellWithAvailableSteps(start, steps));
+        // Breadth first, so each plot is first reached with the most steps left
+        private int walkSteps(final int start, final int steps) {
+            // Each cell is queued along with its available steps
+            final IntArrayDeque frontier = new IntArrayDeque();
+            final boolean[] closedSet = new boolean[cells.size()];
+            int result = 0;
+            frontier.add(start);
+            frontier.add(steps);
             while (!frontier.isEmpty()) {
-                final CellWithAvailableSteps current = frontier.poll();
-                if (closedSet.contains(current.position)) {
+                CancellationToken.checkpoint();
+                final int current = frontier.poll();
+                final int availableSteps = frontier.poll();
+                if (closedSet[current]) {
                     continue;
                 }
-                closedSet.add(current.position);
-                if (current.availableSteps % 2 == 0) {
-                    result.add(current.position);
+                closedSet[current] = true;
+                if (availableSteps % 2 == 0) {
+                    result++;
                 }
-                if (current.availableSteps == 0) {
+                if (availableSteps == 0) {
                     continue;
                 }
-                Stream.of(Vector2D.of(-1, 0), Vector2D.of(1, 0), Vector2D.of(0, -1), Vector2D.of(0, 1))
-                    .map(offset -> Vector2D.add(current.position, offset, Integer::sum))
-                    .filter(pos -> Util.isWithinGrid(pos, cells))
-                    .map(pos -> cells[pos.x()][pos.y()])
-                    .filter(cell -> cell.cellType != CellType.ROCK)
-                    .map(cell -> new CellWithAvailableSteps(cell, current.availableSteps - 1))
-                    .forEach(frontier::add);
-            }
-            return result.size();
-        }
-
-        private record CellWithAvailableSteps(Vector2D<Integer> position, int availableSteps) {
-            private CellWithAvailableSteps(final Cell cell, final int availableSteps) {
-                this(cell.position, availableSteps);
+                for (final Offset offset : Offset.values()) {
+                    final int neighbor = cells.neighbor(current, offset);
+                    if (cells.get(neighbor) != ROCK) {
+                        frontier.add(neighbor);
+                        frontier.add(availableSteps - 1);
+                    }
+                }
             }
+            return result;
         }
 
     }
 
-    private record Cell(Vector2D<Integer> position, CellType cellType) { }
-
-    private enum CellType {
-        START('S'),
-        GARDEN('.'),
-        ROCK('#');
-
-        private final char value;
-
-        CellType(final char value) {
-            this.value = value;
-        }
-
-        private static CellType from(final char c) {
-            return Arrays.stream(CellType.values())
-                .filter(ct -> ct.value == c)
-                .findFirst()
-                .orElseThrow(() -> new RuntimeException("Cannot parse CellType from %s".formatted(c)));
-        }
-    }
-
     private static void assertWithMessage(final Supplier<Boolean> assertion, final String message) {
         if (!assertion.get()) {
             throw new RuntimeException(message);
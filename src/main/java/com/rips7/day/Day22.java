@@ -1,49 +1,51 @@
 package com.rips7.day;
 
+import com.rips7.util.CancellationToken;
+import com.rips7.util.Cursor;
+import com.rips7.util.Input;
 import com.rips7.util.Util;
+import com.rips7.util.collections.IntArrayDeque;
+import com.rips7.util.collections.IntList;
+import com.rips7.util.collections.IntSet;
 import com.rips7.util.maths.Maths.Vector3D;
 
-import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
-import java.util.Queue;
-import java.util.Set;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.function.Function;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
-public class Day22 implements Day<Integer> {
+public class Day22 implements ParsedDay<Day22.StructureInfo, Integer> {
 
     @Override
-    public Integer part1(String input) {
-        final List<Brick> bricks = Arrays.stream(input.split("\n"))
-                .map(Brick::parse)
-                .toList();
+    public StructureInfo parse(String input) {
+        return parse(new Cursor(input));
+    }
+
+    @Override
+    public StructureInfo parse(final Input input) {
+        return parse(new Cursor(input));
+    }
+
+    private StructureInfo parse(final Cursor cursor) {
+        final List<Brick> bricks = new ArrayList<>();
+        while (cursor.hasNext()) {
+            bricks.add(Brick.parse(cursor));
+        }
 
         final List<Brick> fallenBricks = fall(bricks);
 
-        final StructureInfo structureInfo = StructureInfo.from(fallenBricks);
+        return StructureInfo.from(fallenBricks);
+    }
 
+    @Override
+    public Integer solvePart1(StructureInfo structureInfo) {
         return (int) structureInfo.getDisintegrateableBricks();
     }
 
     @Override
-    public Integer part2(String input) {
-        final List<Brick> bricks = Arrays.stream(input.split("\n"))
-                .map(Brick::parse)
-                .toList();
-
-        final List<Brick> fallenBricks = fall(bricks);
-
-        final StructureInfo structureInfo = StructureInfo.from(fallenBricks);
-
+    public Integer solvePart2(StructureInfo structureInfo) {
         return (int) structureInfo.getFallableBricksForBestBrickToDisintegrate();
     }
 
@@ -66,30 +68,23 @@ public class Day22 implements Day<Integer> {
     }
 
     private static final class Brick {
-        private static final Pattern BRICK_SNAPSHOT_PATTERN = Pattern.compile("(\\d+),(\\d+),(\\d+)~(\\d+),(\\d+),(\\d+)");
         private Vector3D<Integer> start;
         private Vector3D<Integer> end;
 
+        // Bricks may stand upright, but overlaps, updateZ and the supports all take the start to be the lower end
         private Brick(Vector3D<Integer> start, Vector3D<Integer> end) {
             this.start = start;
             this.end = end;
-            assert Objects.equals(start.z(), end.z());
+            assert start.x() <= end.x() && start.y() <= end.y() && start.z() <= end.z();
         }
 
-        private static Brick parse(final String input) {
-            final Matcher matcher = BRICK_SNAPSHOT_PATTERN.matcher(input);
-            if (matcher.matches()) {
-                return new Brick(
-                        Vector3D.of(
-                                Integer.parseInt(matcher.group(1)),
-                                Integer.parseInt(matcher.group(2)),
-                                Integer.parseInt(matcher.group(3))),
-                        Vector3D.of(
-                                Integer.parseInt(matcher.group(4)),
-                                Integer.parseInt(matcher.group(5)),
-                                Integer.parseInt(matcher.group(6))));
-            }
-            throw new RuntimeException("Cannot parse '%s' as brick snapshot");
+        // 1,0,1~1,2,1
+        private static Brick parse(final Cursor cursor) {
+            final Brick brick = new Brick(
+                    Vector3D.of(cursor.nextInt(), cursor.nextInt(), cursor.nextInt()),
+                    Vector3D.of(cursor.nextInt(), cursor.nextInt(), cursor.nextInt()));
+            cursor.skipLine();
+            return brick;
         }
 
         private boolean overlaps(final Brick other) {
@@ -123,51 +118,65 @@ public class Day22 implements Day<Integer> {
 
     }
 
-    private record StructureInfo(Map<Brick, Set<Brick>> brickSupports, Map<Brick, Set<Brick>> brickSupportedBy) {
+    // The bricks are numbered in the order they have fallen, and each one lists the numbers of the bricks above and below
+    record StructureInfo(IntList[] brickSupports, IntList[] brickSupportedBy) {
         private static StructureInfo from(final List<Brick> bricks) {
-            final Map<Brick, Set<Brick>> brickSupports = bricks.stream()
-                .collect(Collectors.toMap(Function.identity(), e -> new HashSet<>(), (v1, v2) -> v1, HashMap::new));
-            final Map<Brick, Set<Brick>> brickSupportedBy = bricks.stream()
-                    .collect(Collectors.toMap(Function.identity(), e -> new HashSet<>(), (v1, v2) -> v1, HashMap::new));
+            final IntList[] brickSupports = new IntList[bricks.size()];
+            final IntList[] brickSupportedBy = new IntList[bricks.size()];
+            for (int i = 0; i < bricks.size(); i++) {
+                brickSupports[i] = new IntList();
+                brickSupportedBy[i] = new IntList();
+            }
             Util.enumerate(bricks, (j, upper) -> Util.enumerate(bricks.subList(0, j), (i, lower) -> {
                 if (lower.overlaps(upper) && upper.start.z() == lower.end.z() + 1) {
-                    brickSupports.get(lower).add(upper);
-                    brickSupportedBy.get(upper).add(lower);
+                    brickSupports[i].add(j);
+                    brickSupportedBy[j].add(i);
                 }
             }));
             return new StructureInfo(brickSupports, brickSupportedBy);
         }
 
         private long getDisintegrateableBricks() {
-            return brickSupports.values().stream()
-                    .filter(supports -> supports.stream().allMatch(support -> brickSupportedBy.get(support).size() >= 2))
+            return Arrays.stream(brickSupports)
+                    .filter(supports -> IntStream.of(supports.toArray()).allMatch(support -> brickSupportedBy[support].size() >= 2))
                     .count();
         }
 
         private long getFallableBricksForBestBrickToDisintegrate() {
-            final AtomicInteger total = new AtomicInteger();
+            long total = 0;
+            final IntArrayDeque toFall = new IntArrayDeque();
+            final IntSet falling = new IntSet();
 
-            brickSupports.keySet().forEach(brick -> {
-                final Queue<Brick> toFall = new ArrayDeque<>();
+            for (int brick = 0; brick < brickSupports.length; brick++) {
+                CancellationToken.checkpoint();
                 toFall.add(brick);
-                final Set<Brick> falling = new HashSet<>();
+                falling.clear();
                 falling.add(brick);
 
                 while (!toFall.isEmpty()) {
-                    final Brick current = toFall.poll();
-                    brickSupports.get(current).stream()
-                            .filter(other -> !falling.contains(other))
-                            .filter(other -> falling.containsAll(brickSupportedBy.get(other)))
-                            .forEach(other -> {
-                                toFall.add(other);
-                                falling.add(other);
-                            });
+                    final IntList supports = brickSupports[toFall.poll()];
+                    for (int i = 0; i < supports.size(); i++) {
+                        final int other = supports.get(i);
+                        if (!falling.contains(other) && allFalling(brickSupportedBy[other], falling)) {
+                            toFall.add(other);
+                            falling.add(other);
+                        }
+                    }
                 }
 
-                total.addAndGet(falling.size() - 1);
-            });
+                total += falling.size() - 1;
+            }
+
+            return total;
+        }
 
-            return total.get();
+        private static boolean allFalling(final IntList bricks, final IntSet falling) {
+            for (int i = 0; i < bricks.size(); i++) {
+                if (!falling.contains(bricks.get(i))) {
+                    return false;
+                }
+            }
+            return true;
         }
     }
-}
\ No newline at end of file
+}
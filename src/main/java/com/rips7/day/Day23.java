@@ -1,73 +1,74 @@
 package com.rips7.day;
 
+import com.rips7.util.CancellationToken;
+import com.rips7.util.Grid;
 import com.rips7.util.Util;
 import com.rips7.util.Util.Offset;
-import com.rips7.util.Util.Position;
+import com.rips7.util.collections.IntArrayDeque;
+import com.rips7.util.collections.IntIntMap;
+import com.rips7.util.collections.IntList;
+import com.rips7.util.collections.IntSet;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.Stack;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.function.Function;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
-public class Day23 implements Day<Integer> {
+public class Day23 implements ParsedDay<Grid, Integer> {
 
+    private static final byte PATH = '.';
+    private static final byte FOREST = '#';
+
+    // The border is forest, so that the walks stay within the map
     @Override
-    public Integer part1(String input) {
-        final Grid grid = Grid.parse(input);
+    public Grid parse(String input) {
+        return Grid.parse(input, FOREST);
+    }
 
+    @Override
+    public Integer solvePart1(Grid grid) {
         final ReducedGraph graph = ReducedGraph.from(grid, true);
 
         return graph.findLongestPath();
     }
 
     @Override
-    public Integer part2(String input) {
-        final Grid grid = Grid.parse(input);
-
+    public Integer solvePart2(Grid grid) {
         final ReducedGraph graph = ReducedGraph.from(grid, false);
 
         return graph.findLongestPath();
     }
 
-    private record ReducedGraph(Cell start, Cell end, Map<Cell, Map<Cell, Integer>> adjacencyMatrix) {
-        private static final Map<Spot, List<Offset>> SPOT_DIRECTIONS = Map.of(
-            Spot.FOREST, List.of(),
-            Spot.SLOPE_UP, List.of(Offset.UP),
-            Spot.SLOPE_RIGHT, List.of(Offset.RIGHT),
-            Spot.SLOPE_DOWN, List.of(Offset.DOWN),
-            Spot.SLOPE_LEFT, List.of(Offset.LEFT),
-            Spot.PATH, Offset.getOffsets());
-
-        private record Node(Cell cell, Integer dist) {}
+    // The cells are the indices of the grid, and the critical points are numbered in the order they are found. Each
+    // point maps the numbers of the points it leads to onto the distance to them.
+    private record ReducedGraph(int start, int end, IntIntMap[] adjacencyMatrix) {
+        private static final Map<Byte, List<Offset>> SPOT_DIRECTIONS = Map.of(
+            FOREST, List.of(),
+            (byte) '^', List.of(Offset.UP),
+            (byte) '>', List.of(Offset.RIGHT),
+            (byte) 'v', List.of(Offset.DOWN),
+            (byte) '<', List.of(Offset.LEFT),
+            PATH, Offset.getOffsets());
 
         private static ReducedGraph from(final Grid grid, final boolean withSlopes) {
-            final List<Cell> points = findCriticalPoints(grid);
-            final Map<Cell, Map<Cell, Integer>> adjacencyMatrix = calculateAdjacencyMatrix(points, grid, withSlopes);
-            return new ReducedGraph(grid.getStart(), grid.getEnd(), adjacencyMatrix);
+            final IntList points = findCriticalPoints(grid);
+            final IntIntMap[] adjacencyMatrix = calculateAdjacencyMatrix(points, grid, withSlopes);
+            return new ReducedGraph(0, 1, adjacencyMatrix);
         }
 
-        private static List<Cell> findCriticalPoints(final Grid grid) {
-            final List<Cell> points = new ArrayList<>();
-            points.add(grid.getStart());
-            points.add(grid.getEnd());
-            Util.loop2D(grid.cells, cell -> {
-                if (cell.spot == Spot.FOREST) {
+        private static IntList findCriticalPoints(final Grid grid) {
+            final IntList points = new IntList();
+            points.add(getStart(grid));
+            points.add(getEnd(grid));
+            Util.loop2D(grid.rows(), grid.cols(), (row, col) -> {
+                final int cell = grid.index(row, col);
+                if (grid.get(cell) == FOREST) {
                     return;
                 }
-                final int neighbors = (int) Offset.getOffsets().stream()
-                    .map(cell.pos::apply)
-                    .filter(neighborPos -> Util.isWithinGrid(neighborPos, grid.cells))
-                    .map(neighborPos -> grid.cells[neighborPos.x()][neighborPos.y()])
-                    .filter(neighbor -> neighbor.spot != Spot.FOREST)
-                    .count();
+                int neighbors = 0;
+                for (final Offset offset : Offset.values()) {
+                    if (grid.get(grid.neighbor(cell, offset)) != FOREST) {
+                        neighbors++;
+                    }
+                }
                 if (neighbors >= 3) {
                     points.add(cell);
                 }
@@ -75,109 +76,93 @@ public class Day23 implements Day<Integer> {
             return points;
         }
 
-        private static Map<Cell, Map<Cell, Integer>> calculateAdjacencyMatrix(final List<Cell> points, final Grid grid,
-                                                                              final boolean withSlopes) {
-            final Map<Cell, Map<Cell, Integer>> adjacencyMatrix = points.stream()
-                .collect(Collectors.toMap(Function.identity(), e -> new HashMap<>()));
+        private static IntIntMap[] calculateAdjacencyMatrix(final IntList points, final Grid grid,
+                                                            final boolean withSlopes) {
+            final IntIntMap pointNumbers = new IntIntMap(points.size());
+            final IntIntMap[] adjacencyMatrix = new IntIntMap[points.size()];
+            for (int i = 0; i < points.size(); i++) {
+                pointNumbers.put(points.get(i), i);
+                adjacencyMatrix[i] = new IntIntMap();
+            }
 
-            points.forEach(start -> {
-                final Stack<Node> stack = new Stack<>();
-                stack.add(new Node(start, 0));
-                final Set<Cell> seen = new HashSet<>();
+            // Each cell is stacked along with its distance from the start
+            final IntArrayDeque stack = new IntArrayDeque();
+            final IntSet seen = new IntSet();
+            for (int point = 0; point < points.size(); point++) {
+                final int start = points.get(point);
+                stack.push(0);
+                stack.push(start);
+                seen.clear();
                 seen.add(start);
                 while(!stack.isEmpty()) {
-                    final Node current = stack.pop();
-                    if (current.dist != 0 && points.contains(current.cell)) {
-                        adjacencyMatrix.get(start).put(current.cell, current.dist);
+                    CancellationToken.checkpoint();
+                    final int cell = stack.pop();
+                    final int dist = stack.pop();
+                    if (dist != 0 && pointNumbers.containsKey(cell)) {
+                        adjacencyMatrix[point].put(pointNumbers.get(cell, -1), dist);
                         continue;
                     }
-                    final List<Offset> offsets = withSlopes ? SPOT_DIRECTIONS.get(current.cell.spot) : Offset.getOffsets();
-                    offsets.stream()
-                        .map(current.cell.pos::apply)
-                        .filter(pos -> Util.isWithinGrid(pos, grid.cells))
-                        .map(pos -> grid.cells[pos.x()][pos.y()])
-                        .filter(neighbor -> neighbor.spot != Spot.FOREST)
-                        .filter(neighbor -> !seen.contains(neighbor))
-                        .forEach(neighbor -> {
-                            stack.push(new Node(neighbor, current.dist + 1));
-                            seen.add(neighbor);
-                        });
+                    final List<Offset> offsets = withSlopes ? slopeDirections(grid.get(cell)) : Offset.getOffsets();
+                    for (final Offset offset : offsets) {
+                        final int neighbor = grid.neighbor(cell, offset);
+                        if (grid.get(neighbor) != FOREST && seen.add(neighbor)) {
+                            stack.push(dist + 1);
+                            stack.push(neighbor);
+                        }
+                    }
                 }
-            });
+            }
 
             return adjacencyMatrix;
         }
 
+        private static List<Offset> slopeDirections(final byte spot) {
+            final List<Offset> offsets = SPOT_DIRECTIONS.get(spot);
+            if (offsets == null) {
+                throw new RuntimeException("Unknown value '%s' for spot".formatted((char) spot));
+            }
+            return offsets;
+        }
+
         private int findLongestPath() {
-            return findPathDFS(start, new HashSet<>());
+            return findPathDFS(start, new IntSet(adjacencyMatrix.length));
         }
 
-        private int findPathDFS(final Cell cell, final Set<Cell> seen) {
-            if (cell.equals(end)) {
+        private int findPathDFS(final int point, final IntSet seen) {
+            // The search is exhaustive, so its time grows exponentially with the number of junctions
+            CancellationToken.checkpoint();
+            if (point == end) {
                 return 0;
             }
-            final AtomicInteger len = new AtomicInteger(Integer.MIN_VALUE);
-            seen.add(cell);
-            adjacencyMatrix.get(cell).keySet().forEach(neighbor -> {
+            int len = Integer.MIN_VALUE;
+            seen.add(point);
+            final IntIntMap neighbors = adjacencyMatrix[point];
+            for (int slot = neighbors.next(-1); slot >= 0; slot = neighbors.next(slot)) {
+                final int neighbor = neighbors.keyAt(slot);
                 if (!seen.contains(neighbor)) {
-                    len.set(Math.max(len.get(), findPathDFS(neighbor, seen) + adjacencyMatrix.get(cell).get(neighbor)));
+                    len = Math.max(len, findPathDFS(neighbor, seen) + neighbors.valueAt(slot));
                 }
-            });
-            seen.remove(cell);
+            }
+            seen.remove(point);
 
-            return len.get();
+            return len;
         }
     }
 
-    private record Grid(Cell[][] cells) {
-        private static Grid parse(final String input) {
-            final Spot[][] spots = Arrays.stream(input.split("\n"))
-                .map(line -> line.chars().mapToObj(c -> (char) c).map(Spot::from).toArray(Spot[]::new))
-                .toArray(Spot[][]::new);
-            final Cell[][] cells = IntStream.range(0, spots.length)
-                .mapToObj(row -> IntStream.range(0, spots[row].length)
-                    .mapToObj(col -> new Cell(Position.of(row, col), spots[row][col]))
-                    .toArray(Cell[]::new))
-                .toArray(Cell[][]::new);
-            return new Grid(cells);
-        }
-
-        private Cell getStart() {
-            return Arrays.stream(cells[0])
-                .filter(cell -> cell.spot == Spot.PATH)
-                .findFirst()
-                .orElseThrow(() -> new RuntimeException("Cannot find start"));
-        }
-
-        private Cell getEnd() {
-            return Arrays.stream(cells[cells.length - 1])
-                .filter(cell -> cell.spot == Spot.PATH)
-                .findFirst()
-                .orElseThrow(() -> new RuntimeException("Cannot find end"));
-        }
+    private static int getStart(final Grid grid) {
+        return findPath(grid, 0, "Cannot find start");
     }
 
-    private record Cell(Position pos, Spot spot) {}
-
-    private enum Spot {
-        PATH('.'),
-        FOREST('#'),
-        SLOPE_UP('^'),
-        SLOPE_LEFT('<'),
-        SLOPE_DOWN('v'),
-        SLOPE_RIGHT('>');
-
-        private final char value;
-
-        Spot(final char value) {
-            this.value = value;
-        }
+    private static int getEnd(final Grid grid) {
+        return findPath(grid, grid.rows() - 1, "Cannot find end");
+    }
 
-        private static Spot from(final char c) {
-            return Arrays.stream(values())
-                .filter(spot -> spot.value == c)
-                .findFirst()
-                .orElseThrow(() -> new RuntimeException("Unknown value '%s' for spot".formatted(c)));
+    private static int findPath(final Grid grid, final int row, final String error) {
+        for (int col = 0; col < grid.cols(); col++) {
+            if (grid.get(row, col) == PATH) {
+                return grid.index(row, col);
+            }
         }
+        throw new RuntimeException(error);
     }
-}
\ No newline at end of file
+}
@@ -1,25 +1,58 @@
 package com.rips7.day;
 
+import com.rips7.util.Cursor;
+import com.rips7.util.Input;
 import com.rips7.util.maths.Combinatorics;
 import com.rips7.util.maths.Combinatorics.Pair;
 import com.rips7.util.maths.Maths;
 import com.rips7.util.maths.Maths.Vector2D;
 
+import java.io.BufferedReader;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
-import static com.rips7.util.Util.lines;
+public class Day24 implements ParsedDay<List<Day24.Hailstone>, Long>, StreamingDay<Long> {
 
-public class Day24 implements Day<Long> {
+    @Override
+    public List<Hailstone> parse(String input) {
+        return parse(new Cursor(input));
+    }
 
     @Override
-    public Long part1(String input) {
-        final List<Hailstone> hailstones = lines(input).map(Hailstone::parse).toList();
+    public List<Hailstone> parse(final Input input) {
+        return parse(new Cursor(input));
+    }
+
+    private static List<Hailstone> parse(final Cursor cursor) {
+        final List<Hailstone> hailstones = new ArrayList<>();
+        while (cursor.hasNext()) {
+            hailstones.add(Hailstone.parse(cursor));
+        }
+        return List.copyOf(hailstones);
+    }
+
+    // Both parts need the hailstones as a whole, so only parsing is streamed
+    @Override
+    public Long streamPart1(BufferedReader reader) {
+        return solvePart1(readHailstones(reader));
+    }
+
+    @Override
+    public Long streamPart2(BufferedReader reader) {
+        return solvePart2(readHailstones(reader));
+    }
+
+    private static List<Hailstone> readHailstones(final BufferedReader reader) {
+        return reader.lines()
+            .map(line -> Hailstone.parse(new Cursor(line)))
+            .toList();
+    }
+
+    @Override
+    public Long solvePart1(List<Hailstone> hailstones) {
         final List<Pair<Hailstone, Hailstone>> hailstonePairs = Combinatorics.unorderedPairs(hailstones, true);
         final BigDecimal min = new BigDecimal("200000000000000");
         final BigDecimal max = new BigDecimal("400000000000000");
@@ -29,8 +62,7 @@ public class Day24 implements Day<Long> {
     }
 
     @Override
-    public Long part2(String input) {
-        final List<Hailstone> hailstones = lines(input).map(Hailstone::parse).toList();
+    public Long solvePart2(List<Hailstone> hailstones) {
         final List<Hailstone> usableHailstones = find3UsableHailstones(hailstones);
 
         final BigDecimal[][] m = createBDLinearMatrix(usableHailstones);
@@ -123,22 +155,17 @@ public class Day24 implements Day<Long> {
         }
     }
 
-    private record Hailstone(Position pos, Velocity vel) implements Comparable<Hailstone> {
-        private static final Pattern HAILSTONE_PATTERN =
-            Pattern.compile("(?<posX>-?\\d+),\\s+(?<posY>-?\\d+),\\s+(?<posZ>-?\\d+)\\s+@\\s+(?<velX>-?\\d+),\\s+(?<velY>-?\\d+),\\s+(?<velZ>-?\\d+)");
-
-        private static Hailstone parse(final String input) {
-            final Matcher matcher = HAILSTONE_PATTERN.matcher(input);
-            if (matcher.matches()) {
-                final BigDecimal posX = new BigDecimal(matcher.group("posX"));
-                final BigDecimal posY = new BigDecimal(matcher.group("posY"));
-                final BigDecimal posZ = new BigDecimal(matcher.group("posZ"));
-                final BigDecimal velX = new BigDecimal(matcher.group("velX"));
-                final BigDecimal velY = new BigDecimal(matcher.group("velY"));
-                final BigDecimal velZ = new BigDecimal(matcher.group("velZ"));
-                return new Hailstone(Position.of(posX, posY, posZ), Velocity.of(velX, velY, velZ));
-            }
-            throw new RuntimeException("Cannot parse %s as hailstone entry".formatted(input));
+    record Hailstone(Position pos, Velocity vel) implements Comparable<Hailstone> {
+        // 19, 13, 30 @ -2,  1, -2
+        private static Hailstone parse(final Cursor cursor) {
+            final BigDecimal posX = BigDecimal.valueOf(cursor.nextSignedLong());
+            final BigDecimal posY = BigDecimal.valueOf(cursor.nextSignedLong());
+            final BigDecimal posZ = BigDecimal.valueOf(cursor.nextSignedLong());
+            final BigDecimal velX = BigDecimal.valueOf(cursor.nextSignedLong());
+            final BigDecimal velY = BigDecimal.valueOf(cursor.nextSignedLong());
+            final BigDecimal velZ = BigDecimal.valueOf(cursor.nextSignedLong());
+            cursor.skipLine();
+            return new Hailstone(Position.of(posX, posY, posZ), Velocity.of(velX, velY, velZ));
         }
 
         @Override
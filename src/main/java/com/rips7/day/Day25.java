@@ -1,10 +1,10 @@
 package com.rips7.day;
 
-import com.rips7.util.Util;
+import com.rips7.util.CancellationToken;
+import com.rips7.util.Cursor;
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -13,33 +13,38 @@ import java.util.Queue;
 import java.util.Set;
 import java.util.stream.Collectors;
 
-public class Day25 implements Day<Integer> {
+public class Day25 implements ParsedDay<Day25.Graph<String>, Integer> {
 
     @Override
-    public Integer part1(String input) {
-        final Graph<String> graph = Graph.parse(input);
+    public Graph<String> parse(String input) {
+        return Graph.parse(new Cursor(input));
+    }
+
+    @Override
+    public Integer solvePart1(Graph<String> graph) {
         return graph.solve();
     }
 
     @Override
-    public Integer part2(String input) {
+    public Integer solvePart2(Graph<String> graph) {
         return 0;
     }
 
-    private record Graph<T>(List<T> nodes, Map<T, Set<T>> edges) {
+    record Graph<T>(List<T> nodes, Map<T, Set<T>> edges) {
         private Graph() {
             this(new ArrayList<>(), new HashMap<>());
         }
 
-        private static Graph<String> parse(final String input) {
+        // jqt: rhn xhk nvd
+        private static Graph<String> parse(final Cursor cursor) {
             final Graph<String> graph = new Graph<>();
-            Util.lines(input)
-                .map(line -> line.split(": "))
-                .forEach(parts -> {
-                    final String start = parts[0];
-                    Arrays.stream(parts[1].split(" "))
-                        .forEach(end -> graph.addEdge(start, end));
-                });
+            while (cursor.hasNext()) {
+                final String start = cursor.nextToken(':').toString();
+                while (!cursor.skipSpaces().atLineEnd()) {
+                    graph.addEdge(start, cursor.nextToken(' ').toString());
+                }
+                cursor.skipLine();
+            }
             return graph;
         }
 
@@ -59,6 +64,7 @@ public class Day25 implements Day<Integer> {
             for (int i = 0; i < nodes.size(); i++) {
                 final T start = nodes.get(i);
                 for (int j = 0; j < i; j++) {
+                    CancellationToken.checkpoint();
                     final T end = nodes.get(j);
                     final Graph<T> copy = copy();
                     for (int k = 0; k < edgesToRemove; k++) {
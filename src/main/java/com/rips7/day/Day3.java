@@ -1,9 +1,9 @@
 package com.rips7.day;
 
+import com.rips7.util.Cursor;
 import com.rips7.util.maths.Combinatorics.Pair;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -35,7 +35,12 @@ public class Day3 implements Day<Integer> {
     }
 
     protected static char[][] parse(final String input) {
-      return Arrays.stream(input.split("\n")).map(String::toCharArray).toArray(char[][]::new);
+      final Cursor cursor = new Cursor(input);
+      final List<char[]> rows = new ArrayList<>();
+      while (cursor.hasNext()) {
+        rows.add(cursor.nextLine().toString().toCharArray());
+      }
+      return rows.toArray(char[][]::new);
     }
 
     protected char getOrDefault(final int row, final int col) {
@@ -61,7 +66,7 @@ public class Day3 implements Day<Integer> {
         for (int col = 0; col < schematic[row].length; col++) {
           final char c = schematic[row][col];
           if (Character.isDigit(c)) {
-            partNumber = partNumber * 10 + Integer.parseInt("" + c);
+            partNumber = partNumber * 10 + (c - '0');
             hasAdjacentSymbols |= hasAdjacentSymbol(row, col);
           } else if (partNumber != 0) {
             if (hasAdjacentSymbols) {
@@ -108,7 +113,7 @@ public class Day3 implements Day<Integer> {
         for (int col = 0; col < schematic[row].length; col++) {
           final char c = schematic[row][col];
           if (Character.isDigit(c)) {
-            partNumber.set(partNumber.get() * 10 + Integer.parseInt("" + c));
+            partNumber.set(partNumber.get() * 10 + (c - '0'));
             getGearAdjacentSymbol(row, col).ifPresent(adjacentGear::set);
           } else if (partNumber.get() != 0) {
             if (adjacentGear.get() != null) {
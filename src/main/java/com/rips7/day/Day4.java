@@ -1,52 +1,99 @@
 package com.rips7.day;
 
-import java.util.Arrays;
+import com.rips7.util.Cursor;
+import com.rips7.util.Input;
+
+import java.io.BufferedReader;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-public class Day4 implements Day<Integer> {
+public class Day4 implements ParsedDay<List<Day4.ScratchCard>, Integer>, StreamingDay<Integer> {
 
   @Override
-  public Integer part1(String input) {
-    return Arrays.stream(input.split("\n"))
-      .map(ScratchCard::parse)
-      .map(ScratchCard::getScore)
-      .reduce(Integer::sum)
-      .orElse(0);
+  public List<ScratchCard> parse(String input) {
+    return parse(new Cursor(input));
+  }
+
+  @Override
+  public List<ScratchCard> parse(final Input input) {
+    return parse(new Cursor(input));
+  }
+
+  private static List<ScratchCard> parse(final Cursor cursor) {
+    final List<ScratchCard> cards = new ArrayList<>();
+    while (cursor.hasNext()) {
+      cards.add(ScratchCard.parse(cursor));
+    }
+    return List.copyOf(cards);
+  }
+
+  @Override
+  public Integer solvePart1(List<ScratchCard> cards) {
+    return sumScores(cards.stream());
   }
 
   @Override
-  public Integer part2(String input) {
+  public Integer solvePart2(List<ScratchCard> cards) {
     final Map<Integer, Integer> numberOfCards = new HashMap<>();
-    Arrays.stream(input.split("\n"))
-      .map(ScratchCard::parse)
-      .forEach(card -> {
-        numberOfCards.merge(card.id, 1, (oldValue, newValue) -> oldValue + 1);
+    cards.forEach(card -> {
+      numberOfCards.merge(card.id, 1, (oldValue, newValue) -> oldValue + 1);
+      final int score = card.getMatchingNumbers();
+      for (int i = 0; i < score; i++) {
+        numberOfCards.merge(card.id + i + 1, numberOfCards.getOrDefault(card.id, 0), (oldValue, newValue) -> oldValue + numberOfCards.getOrDefault(card.id, 1));
+      }
+    });
+    return numberOfCards.values().stream().reduce(Integer::sum).orElse(0);
+  }
+
+  @Override
+  public Integer streamPart1(BufferedReader reader) {
+    return sumScores(reader.lines().map(line -> ScratchCard.parse(new Cursor(line))));
+  }
+
+  // Only the copies won for the cards that are still to come are kept, so memory is bounded by the winning numbers
+  @Override
+  public Integer streamPart2(BufferedReader reader) {
+    final Map<Integer, Integer> pendingCopies = new HashMap<>();
+    return reader.lines()
+      .map(line -> ScratchCard.parse(new Cursor(line)))
+      .mapToInt(card -> {
+        final int copies = 1 + pendingCopies.getOrDefault(card.id, 0);
+        pendingCopies.remove(card.id);
         final int score = card.getMatchingNumbers();
         for (int i = 0; i < score; i++) {
-          numberOfCards.merge(card.id + i + 1, numberOfCards.getOrDefault(card.id, 0), (oldValue, newValue) -> oldValue + numberOfCards.getOrDefault(card.id, 1));
+          pendingCopies.merge(card.id + i + 1, copies, Integer::sum);
         }
-      });
-    return numberOfCards.values().stream().reduce(Integer::sum).orElse(0);
+        return copies;
+      })
+      .sum();
+  }
+
+  private static Integer sumScores(final Stream<ScratchCard> cards) {
+    return cards
+      .map(ScratchCard::getScore)
+      .reduce(Integer::sum)
+      .orElse(0);
   }
 
-  private record ScratchCard(int id, Set<Integer> winningNumbers, Set<Integer> numbers) {
-    private static ScratchCard parse(final String input) {
-      final int id = Integer.parseInt(
-        Optional.of(input.replaceAll("Card\\s+", ""))
-          .map(s -> s.substring(0, s.indexOf(":")))
-          .get());
-      final String[] parts = input.substring(input.indexOf(": ") + 2).split(" \\| ");
-      final Set<Integer> winningNumbers = Arrays.stream(parts[0].trim().split("\\s+"))
-        .map(Integer::parseInt)
-        .collect(Collectors.toSet());
-      final Set<Integer> numbers = Arrays.stream(parts[1].trim().split("\\s+"))
-        .map(Integer::parseInt)
-        .collect(Collectors.toSet());
+  record ScratchCard(int id, Set<Integer> winningNumbers, Set<Integer> numbers) {
+    // Card 1: 41 48 83 86 17 | 83 86  6 31 17  9 48 53
+    private static ScratchCard parse(final Cursor cursor) {
+      final int id = cursor.nextInt();
+      cursor.skip(':');
+      final Set<Integer> winningNumbers = new HashSet<>();
+      while (!cursor.skipSpaces().skip('|')) {
+        winningNumbers.add(cursor.nextInt());
+      }
+      final Set<Integer> numbers = new HashSet<>();
+      while (!cursor.skipSpaces().atLineEnd()) {
+        numbers.add(cursor.nextInt());
+      }
+      cursor.skipLine();
       return new ScratchCard(id, winningNumbers, numbers);
     }
 
@@ -1,8 +1,9 @@
 package com.rips7.day;
 
+import com.rips7.util.Cursor;
 import com.rips7.util.maths.Combinatorics;
 
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
@@ -15,30 +16,47 @@ public class Day5 implements Day<Long> {
 
   @Override
   public Long part1(String input) {
-    return Almanac.parse(input).processSeeds().stream()
+    return Almanac.parse(new Cursor(input)).processSeeds().stream()
       .min(Long::compareTo)
       .orElse(0L);
   }
 
   @Override
   public Long part2(String input) {
-    return SmartAlmanac.parse(input).processSeedRanges().stream()
+    return SmartAlmanac.parse(new Cursor(input)).processSeedRanges().stream()
       .filter(range -> range.start != 0)
       .map(AlmanacRange::start)
       .min(Long::compareTo)
       .orElse(0L);
   }
 
+  // seeds: 79 14 55 13
+  private static List<Long> parseSeeds(final Cursor cursor) {
+    final List<Long> seeds = new ArrayList<>();
+    while (cursor.hasNextNumberInLine()) {
+      seeds.add(cursor.nextLong());
+    }
+    cursor.skipLine();
+    return List.copyOf(seeds);
+  }
+
+  // The maps that follow the seeds, each after a blank line
+  private static List<AlmanacMap> parseMaps(final Cursor cursor) {
+    final List<AlmanacMap> maps = new ArrayList<>();
+    while (cursor.hasNext()) {
+      if (cursor.atLineEnd()) {
+        cursor.skipLine();
+      } else {
+        maps.add(AlmanacMap.parse(cursor));
+      }
+    }
+    return List.copyOf(maps);
+  }
+
   private record Almanac(List<Long> seeds, List<AlmanacMap> maps) {
-    private static Almanac parse(final String input) {
-      final String[] sections = input.split("\n\n");
-      final List<Long> seeds = Arrays.stream(sections[0].replace("seeds: ", "").split(" "))
-        .map(Long::parseLong)
-        .toList();
-      final List<AlmanacMap> maps = Arrays.stream(sections, 1, sections.length)
-        .map(AlmanacMap::parse)
-        .toList();
-      return new Almanac(seeds, maps);
+    private static Almanac parse(final Cursor cursor) {
+      final List<Long> seeds = parseSeeds(cursor);
+      return new Almanac(seeds, parseMaps(cursor));
     }
 
     private List<Long> processSeeds() {
@@ -54,18 +72,12 @@ public class Day5 implements Day<Long> {
   }
 
   private record SmartAlmanac(List<AlmanacRange> seeds, List<AlmanacMap> maps) {
-    private static SmartAlmanac parse(final String input) {
-      final String[] sections = input.split("\n\n");
-      final Long[] seedRanges = Arrays.stream(sections[0].replace("seeds: ", "").split(" "))
-        .map(Long::parseLong)
-        .toArray(Long[]::new);
+    private static SmartAlmanac parse(final Cursor cursor) {
+      final Long[] seedRanges = parseSeeds(cursor).toArray(Long[]::new);
       final List<AlmanacRange> seeds = Combinatorics.consecutivePairs(seedRanges).stream()
         .map(pair -> new AlmanacRange(pair.left(), pair.left() + pair.right() - 1))
         .toList();
-      final List<AlmanacMap> maps = Arrays.stream(sections, 1, sections.length)
-        .map(AlmanacMap::parse)
-        .toList();
-      return new SmartAlmanac(seeds, maps);
+      return new SmartAlmanac(seeds, parseMaps(cursor));
     }
 
     private Set<AlmanacRange> processSeedRanges() {
@@ -79,13 +91,14 @@ public class Day5 implements Day<Long> {
   }
 
   private record AlmanacMap(String name, List<AlmanacEntry> entries) {
-    private static AlmanacMap parse(final String input) {
-      final String[] lines = input.split("\n");
-      final String name = lines[0];
-      final List<AlmanacEntry> entries = Arrays.stream(lines, 1, lines.length)
-        .map(AlmanacEntry::parse)
-        .toList();
-      return new AlmanacMap(name, entries);
+    // seed-to-soil map:, then an entry per line up to the next blank line
+    private static AlmanacMap parse(final Cursor cursor) {
+      final String name = cursor.nextLine().toString();
+      final List<AlmanacEntry> entries = new ArrayList<>();
+      while (cursor.hasNext() && !cursor.atLineEnd()) {
+        entries.add(AlmanacEntry.parse(cursor));
+      }
+      return new AlmanacMap(name, List.copyOf(entries));
     }
 
     private Optional<AlmanacEntry> findMatchingEntry(final long seed) {
@@ -113,11 +126,12 @@ public class Day5 implements Day<Long> {
   }
 
   private record AlmanacEntry(AlmanacRange sourceRange, AlmanacRange destRange) implements Comparable<AlmanacEntry> {
-    private static AlmanacEntry parse(final String input) {
-      final String[] parts = input.split(" ");
-      final long sourceStart = Long.parseLong(parts[1]);
-      final long destStart = Long.parseLong(parts[0]);
-      final long range = Long.parseLong(parts[2]);
+    // 50 98 2, the destination before the source
+    private static AlmanacEntry parse(final Cursor cursor) {
+      final long destStart = cursor.nextLong();
+      final long sourceStart = cursor.nextLong();
+      final long range = cursor.nextLong();
+      cursor.skipLine();
       return new AlmanacEntry(
         new AlmanacRange(sourceStart, sourceStart + range),
         new AlmanacRange(destStart, destStart + range));
@@ -1,10 +1,14 @@
 package com.rips7.day;
 
-import java.util.Arrays;
+import com.rips7.util.Cursor;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.IntStream;
 
-public class Day6 implements Day<Integer> {
+public class Day6 implements StreamingDay<Integer> {
 
   @Override
   public Integer part1(String input) {
@@ -18,26 +22,69 @@ public class Day6 implements Day<Integer> {
     return parseRacesIgnoreSpaces(input).countWins();
   }
 
+  // Counting the winning hold times one by one takes as long as the race for part 2; they are the integers strictly
+  // between the roots of hold * (time - hold) = distance
+  @Override
+  public List<Strategy<Integer>> alternatives() {
+    return List.of(
+      new Strategy<>("closed-form", 1, input -> parseRaces(input).stream()
+        .map(Race::countWinsClosedForm)
+        .reduce(1, (a, b) -> a * b)),
+      new Strategy<>("closed-form", 2, input -> parseRacesIgnoreSpaces(input).countWinsClosedForm()));
+  }
+
+  // Only two lines, so reading them is all the streaming there is
+  @Override
+  public Integer streamPart1(BufferedReader reader) throws IOException {
+    return part1(readLines(reader));
+  }
+
+  @Override
+  public Integer streamPart2(BufferedReader reader) throws IOException {
+    return part2(readLines(reader));
+  }
+
+  private static String readLines(final BufferedReader reader) throws IOException {
+    return "%s\n%s".formatted(reader.readLine(), reader.readLine());
+  }
+
   private static List<Race> parseRaces(final String input) {
-    final String[] lines = input.split("\n");
-    final List<Long> times = Arrays.stream(lines[0].replace("Time:", "").trim().split("\s+"))
-      .map(Long::parseLong)
-      .toList();
-    final List<Long> distances = Arrays.stream(lines[1].replace("Distance:", "").trim().split("\s+"))
-      .map(Long::parseLong)
-      .toList();
+    final Cursor cursor = new Cursor(input);
+    final List<Long> times = parseNumbers(cursor);
+    final List<Long> distances = parseNumbers(cursor);
     return IntStream.range(0, times.size())
       .mapToObj(i -> new Race(times.get(i), distances.get(i)))
       .toList();
   }
 
   private static Race parseRacesIgnoreSpaces(final String input) {
-    final String[] lines = input.split("\n");
-    final long time = Long.parseLong(lines[0].replace("Time:", "").trim().replaceAll("\\s+", ""));
-    final long distance = Long.parseLong(lines[1].replace("Distance:", "").trim().replaceAll("\\s+", ""));
+    final Cursor cursor = new Cursor(input);
+    final long time = parseNumberIgnoreSpaces(cursor);
+    final long distance = parseNumberIgnoreSpaces(cursor);
     return new Race(time, distance);
   }
 
+  private static List<Long> parseNumbers(final Cursor cursor) {
+    final List<Long> numbers = new ArrayList<>();
+    while (cursor.hasNextNumberInLine()) {
+      numbers.add(cursor.nextLong());
+    }
+    cursor.skipLine();
+    return numbers;
+  }
+
+  private static long parseNumberIgnoreSpaces(final Cursor cursor) {
+    long number = 0;
+    while (!cursor.atLineEnd()) {
+      final char c = cursor.next();
+      if (Character.isDigit(c)) {
+        number = number * 10 + (c - '0');
+      }
+    }
+    cursor.skipLine();
+    return number;
+  }
+
   private record Race (long time, long distance) {
     private int countWins() {
       int wins = 0;
@@ -50,5 +97,29 @@ public class Day6 implements Day<Integer> {
       }
       return wins;
     }
+
+    // The roots are only approximate in doubles, so each bound is nudged until it is exact
+    private int countWinsClosedForm() {
+      final double root = Math.sqrt((double) time * time - 4.0 * distance);
+      long low = Math.max(1, (long) Math.floor((time - root) / 2));
+      long high = Math.min(time - 1, (long) Math.ceil((time + root) / 2));
+      while (low <= high && !wins(low)) {
+        low++;
+      }
+      while (low > 1 && wins(low - 1)) {
+        low--;
+      }
+      while (high >= low && !wins(high)) {
+        high--;
+      }
+      while (high < time - 1 && wins(high + 1)) {
+        high++;
+      }
+      return (int) Math.max(0, high - low + 1);
+    }
+
+    private boolean wins(final long hold) {
+      return hold * (time - hold) > distance;
+    }
   }
 }
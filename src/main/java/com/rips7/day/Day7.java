@@ -1,5 +1,7 @@
 package com.rips7.day;
 
+import com.rips7.util.Cursor;
+
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
@@ -17,7 +19,7 @@ public class Day7 implements Day<Integer> {
 
   @Override
   public Integer part1(String input) {
-    final Map<Hand, Integer> handsAndBids = parseHandsAndBids(input, false);
+    final Map<Hand, Integer> handsAndBids = parseHandsAndBids(new Cursor(input), false);
     final Map<Hand, Integer> handsAndRanks = calculateRanks(new ArrayList<>(handsAndBids.keySet()));
     return handsAndBids.keySet().stream()
       .map(hand -> handsAndBids.get(hand) * handsAndRanks.get(hand))
@@ -27,7 +29,7 @@ public class Day7 implements Day<Integer> {
 
   @Override
   public Integer part2(String input) {
-    final Map<Hand, Integer> handsAndBids = parseHandsAndBids(input, true);
+    final Map<Hand, Integer> handsAndBids = parseHandsAndBids(new Cursor(input), true);
     final Map<Hand, Integer> handsAndRanks = calculateRanks(new ArrayList<>(handsAndBids.keySet()));
     return handsAndBids.keySet().stream()
       .map(hand -> handsAndBids.get(hand) * handsAndRanks.get(hand))
@@ -35,10 +37,15 @@ public class Day7 implements Day<Integer> {
       .orElse(0);
   }
 
-  private static Map<Hand, Integer> parseHandsAndBids(final String input, final boolean withWildcards) {
-    return Arrays.stream(input.split("\n"))
-      .map(line -> line.split(" "))
-      .collect(Collectors.toMap(parts -> Hand.parse(parts[0], withWildcards), parts -> Integer.parseInt(parts[1])));
+  // 32T3K 765
+  private static Map<Hand, Integer> parseHandsAndBids(final Cursor cursor, final boolean withWildcards) {
+    final Map<Hand, Integer> handsAndBids = new HashMap<>();
+    while (cursor.hasNext()) {
+      final Hand hand = Hand.parse(cursor.nextToken(' '), withWildcards);
+      handsAndBids.put(hand, cursor.nextInt());
+      cursor.skipLine();
+    }
+    return handsAndBids;
   }
 
   private static Map<Hand, Integer> calculateRanks(final List<Hand> hands) {
@@ -79,7 +86,7 @@ public class Day7 implements Day<Integer> {
   }
 
   private record Hand(Card[] cards, HandType type) {
-    private static Hand parse(final String input, final boolean withWildcards) {
+    private static Hand parse(final CharSequence input, final boolean withWildcards) {
       final Card[] cards = input.chars()
         .mapToObj(c -> (char) c)
         .map(c -> Card.from(c, withWildcards))
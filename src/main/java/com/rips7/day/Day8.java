@@ -1,29 +1,38 @@
 package com.rips7.day;
 
+import com.rips7.util.CancellationToken;
+import com.rips7.util.Cursor;
 import com.rips7.util.maths.Combinatorics.Pair;
 
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import static com.rips7.util.maths.Maths.lcm;
 
-public class Day8 implements Day<Long> {
+public class Day8 implements ParsedDay<Day8.Network, Long> {
 
   @Override
-  public Long part1(String input) {
-    final String instructions = input.split("\n")[0].trim();
-    final Map<Node, Pair<Node, Node>> nodes = parseNodes(input.split("\n\n")[1].trim());
+  public Network parse(String input) {
+    final Cursor cursor = new Cursor(input);
+    final String instructions = cursor.nextLine().toString().trim();
+    final Map<Node, Pair<Node, Node>> nodes = parseNodes(cursor);
+    return new Network(instructions, nodes);
+  }
+
+  @Override
+  public Long solvePart1(Network network) {
+    final String instructions = network.instructions;
+    final Map<Node, Pair<Node, Node>> nodes = network.nodes;
 
     final Node target = new Node("ZZZ");
     Node current = new Node("AAA");
     int ip = 0; // instruction pointer
     long steps = 0;
     while(!current.equals(target)) {
+      CancellationToken.checkpoint();
       final char instruction = instructions.charAt(ip % instructions.length());
       current = move(nodes, current, instruction);
       steps++;
@@ -34,9 +43,9 @@ public class Day8 implements Day<Long> {
   }
 
   @Override
-  public Long part2(String input) {
-    final String instructions = input.split("\n")[0].trim();
-    final Map<Node, Pair<Node, Node>> nodes = parseNodes(input.split("\n\n")[1].trim());
+  public Long solvePart2(Network network) {
+    final String instructions = network.instructions;
+    final Map<Node, Pair<Node, Node>> nodes = network.nodes;
 
     final List<Node> starts = nodes.keySet().stream()
       .filter(node -> node.name.endsWith("A"))
@@ -48,6 +57,7 @@ public class Day8 implements Day<Long> {
         int ip = 0; // instruction pointer
         long steps = 0;
         while(!current.name.endsWith("Z")) {
+          CancellationToken.checkpoint();
           final char instruction = instructions.charAt(ip % instructions.length());
           current = move(nodes, current, instruction);
           steps++;
@@ -60,19 +70,24 @@ public class Day8 implements Day<Long> {
     return lcm(stepsToEnd);
   }
 
-  private static Map<Node, Pair<Node, Node>> parseNodes(final String input) {
-    final Pattern nodeListPattern = Pattern.compile("\\((.+), (.+)\\)");
-    return Arrays.stream(input.split("\n"))
-      .map(line -> line.split(" = "))
-      .collect(Collectors.toMap(
-        parts -> Node.parse(parts[0]),
-        parts -> {
-          final Matcher matcher = nodeListPattern.matcher(parts[1]);
-          if (matcher.matches()) {
-            return Pair.of(Node.parse(matcher.group(1)), Node.parse(matcher.group(2)));
-          }
-          throw new RuntimeException("Cannot parse %s".formatted(input));
-        }));
+  // AAA = (BBB, CCC), after the blank line below the instructions
+  private static Map<Node, Pair<Node, Node>> parseNodes(final Cursor cursor) {
+    final Map<Node, Pair<Node, Node>> nodes = new HashMap<>();
+    while (cursor.hasNext()) {
+      if (cursor.atLineEnd()) {
+        cursor.skipLine();
+        continue;
+      }
+      final Node node = Node.parse(cursor.nextToken(' '));
+      if (!cursor.skip("= (")) {
+        throw new RuntimeException("Cannot parse node list at %s".formatted(cursor.position()));
+      }
+      final Node left = Node.parse(cursor.nextToken(','));
+      final Node right = Node.parse(cursor.skipSpaces().nextToken(')'));
+      nodes.put(node, Pair.of(left, right));
+      cursor.skipLine();
+    }
+    return Map.copyOf(nodes);
   }
 
   private static Node move(final Map<Node, Pair<Node, Node>> nodes, final Node current, final char instruction) {
@@ -84,9 +99,11 @@ public class Day8 implements Day<Long> {
     };
   }
 
+  record Network(String instructions, Map<Node, Pair<Node, Node>> nodes) {}
+
   private record Node(String name) {
-    private static Node parse(final String input) {
-      return new Node(input);
+    private static Node parse(final CharSequence input) {
+      return new Node(input.toString());
     }
   }
 
@@ -1,44 +1,65 @@
 package com.rips7.day;
 
+import com.rips7.util.Cursor;
+
+import java.io.BufferedReader;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static com.rips7.util.Util.firstElement;
 import static com.rips7.util.Util.lastElement;
 
-public class Day9 implements Day<Integer> {
+public class Day9 implements StreamingDay<Long> {
+
+  @Override
+  public Long part1(String input) {
+    return sum(new Cursor(input), Record::extrapolate);
+  }
+
+  @Override
+  public Long part2(String input) {
+    return sum(new Cursor(input), Record::extrapolateBackwards);
+  }
 
   @Override
-  public Integer part1(String input) {
-    final List<Record> records = Arrays.stream(input.split("\n"))
-      .map(Record::parseAndProcess)
-      .toList();
-    return records.stream()
-      .map(Record::extrapolate)
-      .reduce(Integer::sum)
-      .orElse(0);
+  public Long streamPart1(BufferedReader reader) {
+    return sum(reader.lines(), Record::extrapolate);
   }
 
   @Override
-  public Integer part2(String input) {
-    final List<Record> records = Arrays.stream(input.split("\n"))
-      .map(Record::parseAndProcess)
-      .toList();
-    return records.stream()
-      .map(Record::extrapolateBackwards)
-      .reduce(Integer::sum)
-      .orElse(0);
+  public Long streamPart2(BufferedReader reader) {
+    return sum(reader.lines(), Record::extrapolateBackwards);
+  }
+
+  private static long sum(final Cursor cursor, final ToIntFunction<Record> extrapolation) {
+    long sum = 0;
+    while (cursor.hasNext()) {
+      sum += extrapolation.applyAsInt(Record.parseAndProcess(cursor));
+    }
+    return sum;
+  }
+
+  // Each extrapolated value fits an int, but they are summed in a long, so that streamed inputs of any size do not
+  // overflow
+  private static long sum(final Stream<String> lines, final ToIntFunction<Record> extrapolation) {
+    return lines
+      .map(line -> Record.parseAndProcess(new Cursor(line)))
+      .mapToLong(extrapolation::applyAsInt)
+      .sum();
   }
 
   private record Record(List<ArrayList<Integer>> history) {
-    private static Record parseAndProcess(final String input) {
-      final ArrayList<Integer> first = Arrays.stream(input.split(" "))
-        .map(Integer::parseInt)
-        .collect(Collectors.toCollection(ArrayList::new));
+    private static Record parseAndProcess(final Cursor cursor) {
+      final ArrayList<Integer> first = new ArrayList<>();
+      while (cursor.hasNextNumberInLine()) {
+        first.add(cursor.nextSignedInt());
+      }
+      cursor.skipLine();
       return new Record(process(first));
     }
 
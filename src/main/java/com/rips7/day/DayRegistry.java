@@ -0,0 +1,112 @@
+package com.rips7.day;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+// Days registered in META-INF/services/com.rips7.day.Day. Listing them only loads the class names; a day is
+// instantiated, and its static tables initialized, the first time it is asked for.
+@SuppressWarnings({"rawtypes", "unused"})
+public class DayRegistry {
+
+  private static final Map<String, ServiceLoader.Provider<Day>> PROVIDERS = ServiceLoader.load(Day.class).stream()
+      .sorted(Comparator.comparingInt(provider -> number(provider.type().getSimpleName())))
+      .collect(Collectors.toMap(provider -> provider.type().getSimpleName(), provider -> provider,
+          (first, second) -> {
+            throw new RuntimeException("%s is registered twice".formatted(first.type().getName()));
+          },
+          LinkedHashMap::new));
+  private static final Map<String, Day<?>> INSTANCES = new ConcurrentHashMap<>();
+
+  public static List<String> names() {
+    return List.copyOf(PROVIDERS.keySet());
+  }
+
+  public static List<Day<?>> all() {
+    return names().stream().<Day<?>>map(DayRegistry::get).toList();
+  }
+
+  // Accepts the class name in any case, or just the day number
+  public static Optional<Day<?>> find(final String name) {
+    final String key = PROVIDERS.keySet().stream()
+        .filter(registered -> registered.equalsIgnoreCase(name) || registered.equalsIgnoreCase("Day" + name))
+        .findFirst()
+        .orElse(null);
+    if (key == null) {
+      return Optional.empty();
+    }
+    return Optional.of(INSTANCES.computeIfAbsent(key, k -> PROVIDERS.get(k).get()));
+  }
+
+  public static Day<?> get(final String name) {
+    return find(name).orElseThrow(() -> new RuntimeException("Unknown day '%s'".formatted(name)));
+  }
+
+  // Comma separated days, each one a name, a number or a range of numbers, optionally followed by :part, e.g.
+  // "1-5,Day23:2". Days are returned in the order given, merging the parts of a day selected more than once.
+  public static List<Selection> select(final String selectors) {
+    final Map<String, Set<Integer>> selected = new LinkedHashMap<>();
+    for (final String selector : selectors.split(",")) {
+      final String[] tokens = selector.strip().split(":");
+      final Set<Integer> parts = tokens.length == 1 ? Set.of(1, 2) : Set.of(part(tokens[1], selector));
+      days(tokens[0], selector).forEach(day -> selected.computeIfAbsent(day, d -> new TreeSet<>()).addAll(parts));
+    }
+    final List<Selection> selections = new ArrayList<>();
+    selected.forEach((day, parts) -> selections.add(new Selection(get(day), Set.copyOf(parts))));
+    return selections;
+  }
+
+  public static List<Selection> selectAll() {
+    return select("all");
+  }
+
+  private static List<String> days(final String spec, final String selector) {
+    if (spec.equalsIgnoreCase("all")) {
+      return names();
+    }
+    final int dash = spec.indexOf('-');
+    if (dash == -1) {
+      return List.of(get(spec).getClass().getSimpleName());
+    }
+    final int from = number(spec.substring(0, dash));
+    final int to = number(spec.substring(dash + 1));
+    final List<String> days = names().stream()
+        .filter(name -> number(name) >= from && number(name) <= to)
+        .toList();
+    if (days.isEmpty()) {
+      throw new RuntimeException("No day in '%s'".formatted(selector));
+    }
+    return days;
+  }
+
+  private static int part(final String part, final String selector) {
+    if (!part.equals("1") && !part.equals("2")) {
+      throw new RuntimeException("Unknown part in '%s'".formatted(selector));
+    }
+    return Integer.parseInt(part);
+  }
+
+  // The number of Day10 (or of 10) is 10
+  private static int number(final String name) {
+    final String digits = name.replaceAll("\\D", "");
+    if (digits.isEmpty()) {
+      throw new RuntimeException("Cannot find a day number in '%s'".formatted(name));
+    }
+    return Integer.parseInt(digits);
+  }
+
+  public record Selection(Day<?> day, Set<Integer> parts) {
+    public boolean includes(final int part) {
+      return parts.contains(part);
+    }
+  }
+
+}
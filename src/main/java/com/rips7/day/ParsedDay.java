@@ -0,0 +1,77 @@
+package com.rips7.day;
+
+import com.rips7.util.Input;
+import com.rips7.util.InputCache;
+import com.rips7.util.jfr.ParseEvent;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static com.rips7.util.Util.TimedResult;
+import static com.rips7.util.Util.time;
+
+// A day whose input is parsed once into a model that both parts consume. The model is shared between the parts (and
+// between threads when running in parallel), so solving must not mutate it.
+public interface ParsedDay<M, T> extends Day<T> {
+
+  M parse(String input);
+
+  // Days that scan their input with a Cursor override this to parse the bytes in place
+  default M parse(final Input input) {
+    return parse(input.asString());
+  }
+
+  T solvePart1(M model);
+
+  T solvePart2(M model);
+
+  @Override
+  default T part1(String input) {
+    return solvePart1(parse(input));
+  }
+
+  @Override
+  default T part2(String input) {
+    return solvePart2(parse(input));
+  }
+
+  @Override
+  default List<T> solveBoth(final String input) {
+    final M model = parse(input);
+    return List.of(solvePart1(model), solvePart2(model));
+  }
+
+  @Override
+  default T part1(final Input input) {
+    return solvePart1(parse(input));
+  }
+
+  @Override
+  default T part2(final Input input) {
+    return solvePart2(parse(input));
+  }
+
+  @Override
+  default List<T> solveBoth(final Input input) {
+    final M model = parse(input);
+    return List.of(solvePart1(model), solvePart2(model));
+  }
+
+  @Override
+  default Callable<T> solver(final int part) {
+    final M model = parseCachedInput().res();
+    return switch (part) {
+      case 1 -> () -> solvePart1(model);
+      case 2 -> () -> solvePart2(model);
+      default -> throw new RuntimeException("Unknown part %s".formatted(part));
+    };
+  }
+
+  default TimedResult<M> parseCachedInput() {
+    return InputCache.getModel(getClass(), () -> {
+      final String input = loadCachedInput().res();
+      return time(() -> ParseEvent.record(getClass().getSimpleName(), input.length(), () -> parse(input)));
+    });
+  }
+
+}
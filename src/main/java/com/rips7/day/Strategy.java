@@ -0,0 +1,27 @@
+package com.rips7.day;
+
+import java.util.function.Function;
+
+// One way of solving a part of a day. The day's own part1 and part2 are the reference strategy, the oracle that any
+// other strategy (an optimized or parallel one, say) is cross-checked against before it may be picked.
+public record Strategy<T>(String name, int part, Function<String, T> solver) {
+
+  public static final String REFERENCE = "reference";
+
+  public static <T> Strategy<T> reference(final Day<T> day, final int part) {
+    return switch (part) {
+      case 1 -> new Strategy<>(REFERENCE, 1, day::part1);
+      case 2 -> new Strategy<>(REFERENCE, 2, day::part2);
+      default -> throw new RuntimeException("Unknown part %s".formatted(part));
+    };
+  }
+
+  public T solve(final String input) {
+    return solver.apply(input);
+  }
+
+  public boolean isReference() {
+    return name.equals(REFERENCE);
+  }
+
+}
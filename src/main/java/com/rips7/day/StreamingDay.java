@@ -0,0 +1,43 @@
+package com.rips7.day;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// A day whose records can be solved as they are read, so inputs of any size are processed in constant memory.
+// The runner still goes through the String based parts; the streaming ones are for inputs that do not fit the heap.
+public interface StreamingDay<T> extends Day<T> {
+
+  T streamPart1(BufferedReader reader) throws IOException;
+
+  T streamPart2(BufferedReader reader) throws IOException;
+
+  default T streamPart(final int part, final Path path) {
+    try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+      return streamPart(part, reader);
+    } catch (final IOException e) {
+      throw new RuntimeException("Cannot stream '%s'".formatted(path), e);
+    }
+  }
+
+  default T streamPart(final int part, final InputStream in) {
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+      return streamPart(part, reader);
+    } catch (final IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private T streamPart(final int part, final BufferedReader reader) throws IOException {
+    return switch (part) {
+      case 1 -> streamPart1(reader);
+      case 2 -> streamPart2(reader);
+      default -> throw new RuntimeException("Unknown part %s".formatted(part));
+    };
+  }
+
+}
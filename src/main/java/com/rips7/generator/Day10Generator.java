@@ -0,0 +1,66 @@
+package com.rips7.generator;
+
+import java.util.List;
+import java.util.Random;
+
+import static com.rips7.generator.Generators.grid;
+import static com.rips7.generator.Generators.pick;
+import static com.rips7.generator.Generators.side;
+
+// A single winding pipe loop among junk pipes. The start connects to any neighbor, so its neighbors off the loop are
+// turned to ground, and the loop is drawn two cells thick so that none of them is another part of the loop.
+class Day10Generator implements InputGenerator {
+
+  private static final String JUNK = "|-LJ7F..";
+
+  @Override
+  public String generate(final Random random, final int scale) {
+    final int half = side(35, scale);
+    final List<int[]> loop = Shapes.treeOutline(random, half, half, 2);
+    final int size = 4 * half - 1;
+    final char[][] cells = new char[size][size];
+    for (final char[] row : cells) {
+      for (int col = 0; col < row.length; col++) {
+        row[col] = pick(random, JUNK);
+      }
+    }
+
+    for (int i = 0; i < loop.size(); i++) {
+      final int[] previous = loop.get((i + loop.size() - 1) % loop.size());
+      final int[] current = loop.get(i);
+      final int[] next = loop.get((i + 1) % loop.size());
+      cells[current[0]][current[1]] = pipe(previous, current, next);
+    }
+
+    final int[] start = loop.get(random.nextInt(loop.size()));
+    final int[] before = loop.get((loop.indexOf(start) + loop.size() - 1) % loop.size());
+    final int[] after = loop.get((loop.indexOf(start) + 1) % loop.size());
+    for (final int[] offset : new int[][] {{-1, 0}, {1, 0}, {0, -1}, {0, 1}}) {
+      final int row = start[0] + offset[0];
+      final int col = start[1] + offset[1];
+      final boolean onLoop = (row == before[0] && col == before[1]) || (row == after[0] && col == after[1]);
+      if (!onLoop && row >= 0 && row < size && col >= 0 && col < size) {
+        cells[row][col] = '.';
+      }
+    }
+    cells[start[0]][start[1]] = 'S';
+    return grid(cells);
+  }
+
+  private static char pipe(final int[] previous, final int[] current, final int[] next) {
+    final boolean up = previous[0] < current[0] || next[0] < current[0];
+    final boolean down = previous[0] > current[0] || next[0] > current[0];
+    final boolean left = previous[1] < current[1] || next[1] < current[1];
+    final boolean right = previous[1] > current[1] || next[1] > current[1];
+    if (up && down) {
+      return '|';
+    } else if (left && right) {
+      return '-';
+    } else if (up) {
+      return right ? 'L' : 'J';
+    } else {
+      return right ? 'F' : '7';
+    }
+  }
+
+}
@@ -0,0 +1,33 @@
+package com.rips7.generator;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static com.rips7.generator.Generators.grid;
+import static com.rips7.generator.Generators.side;
+
+// Sparse galaxies, with some rows and columns left empty so that they expand
+class Day11Generator implements InputGenerator {
+
+  @Override
+  public String generate(final Random random, final int scale) {
+    final int size = side(140, scale);
+    final boolean[] emptyRows = new boolean[size];
+    final boolean[] emptyCols = new boolean[size];
+    for (int i = 0; i < size; i++) {
+      emptyRows[i] = random.nextInt(15) == 0;
+      emptyCols[i] = random.nextInt(15) == 0;
+    }
+    final char[][] cells = new char[size][size];
+    for (int row = 0; row < size; row++) {
+      Arrays.fill(cells[row], '.');
+      for (int col = 0; col < size; col++) {
+        if (!emptyRows[row] && !emptyCols[col] && random.nextInt(45) == 0) {
+          cells[row][col] = '#';
+        }
+      }
+    }
+    return grid(cells);
+  }
+
+}
@@ -0,0 +1,35 @@
+package com.rips7.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.StringJoiner;
+
+import static com.rips7.generator.Generators.join;
+
+// Rows of springs built from an actual arrangement, with some springs hidden behind '?', so every row has a solution
+class Day12Generator implements InputGenerator {
+
+  @Override
+  public String generate(final Random random, final int scale) {
+    final List<String> lines = new ArrayList<>();
+    for (int i = 0; i < 1000 * scale; i++) {
+      final StringBuilder springs = new StringBuilder(".".repeat(random.nextInt(3)));
+      final StringJoiner groups = new StringJoiner(",");
+      final int groupCount = 1 + random.nextInt(6);
+      for (int g = 0; g < groupCount; g++) {
+        final int size = 1 + random.nextInt(g == 0 && random.nextBoolean() ? 9 : 3);
+        springs.append("#".repeat(size)).append(".".repeat(1 + random.nextInt(3)));
+        groups.add(String.valueOf(size));
+      }
+      for (int c = 0; c < springs.length(); c++) {
+        if (random.nextInt(5) < 3) {
+          springs.setCharAt(c, '?');
+        }
+      }
+      lines.add("%s %s".formatted(springs, groups));
+    }
+    return join(lines);
+  }
+
+}
@@ -0,0 +1,51 @@
+package com.rips7.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static com.rips7.generator.Generators.grid;
+
+// Patterns with an exact vertical reflection, plus a horizontal one that is off by a single smudge. The smudge sits in
+// a column the vertical reflection does not cover, so fixing it does not break the original reflection.
+class Day13Generator implements InputGenerator {
+
+  @Override
+  public String generate(final Random random, final int scale) {
+    final List<String> patterns = new ArrayList<>();
+    for (int i = 0; i < 100 * scale; i++) {
+      patterns.add(pattern(random));
+    }
+    return String.join("\n\n", patterns);
+  }
+
+  private static String pattern(final Random random) {
+    final int rows = 7 + random.nextInt(11);
+    final int cols = 7 + random.nextInt(11);
+    final char[][] cells = new char[rows][cols];
+    for (final char[] row : cells) {
+      for (int col = 0; col < cols; col++) {
+        row[col] = random.nextBoolean() ? '#' : '.';
+      }
+    }
+
+    // Horizontal reflection below row `mirrorRow`
+    final int mirrorRow = 1 + random.nextInt(rows - 1);
+    for (int d = 0; mirrorRow - 1 - d >= 0 && mirrorRow + d < rows; d++) {
+      cells[mirrorRow + d] = cells[mirrorRow - 1 - d].clone();
+    }
+    // Vertical reflection right of column `mirrorCol`, leaving at least one column on the left uncovered
+    final int mirrorCol = cols - 1 - random.nextInt((cols - 1) / 2);
+    for (int d = 0; mirrorCol + d < cols; d++) {
+      for (final char[] row : cells) {
+        row[mirrorCol + d] = row[mirrorCol - 1 - d];
+      }
+    }
+
+    final int smudgeCol = random.nextInt(2 * mirrorCol - cols);
+    final char[] smudged = cells[mirrorRow - 1];
+    smudged[smudgeCol] = smudged[smudgeCol] == '#' ? '.' : '#';
+    return grid(cells);
+  }
+
+}
@@ -0,0 +1,24 @@
+package com.rips7.generator;
+
+import java.util.Random;
+
+import static com.rips7.generator.Generators.grid;
+import static com.rips7.generator.Generators.side;
+
+// Rounded and cube rocks in the proportions of the real platform
+class Day14Generator implements InputGenerator {
+
+  @Override
+  public String generate(final Random random, final int scale) {
+    final int size = side(100, scale);
+    final char[][] cells = new char[size][size];
+    for (final char[] row : cells) {
+      for (int col = 0; col < size; col++) {
+        final int roll = random.nextInt(100);
+        row[col] = roll < 20 ? 'O' : roll < 36 ? '#' : '.';
+      }
+    }
+    return grid(cells);
+  }
+
+}
@@ -0,0 +1,27 @@
+package com.rips7.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.StringJoiner;
+
+import static com.rips7.generator.Generators.lowercase;
+
+// Steps over a pool of labels, so that lenses are replaced and removed as well as added
+class Day15Generator implements InputGenerator {
+
+  @Override
+  public String generate(final Random random, final int scale) {
+    final List<String> labels = new ArrayList<>();
+    for (int i = 0; i < 500 * scale; i++) {
+      labels.add(lowercase(random, 2, 6));
+    }
+    final StringJoiner steps = new StringJoiner(",");
+    for (int i = 0; i < 4000 * scale; i++) {
+      final String label = labels.get(random.nextInt(labels.size()));
+      steps.add(random.nextInt(5) < 2 ? label + "-" : label + "=" + (1 + random.nextInt(9)));
+    }
+    return steps.toString();
+  }
+
+}
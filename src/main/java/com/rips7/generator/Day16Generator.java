@@ -0,0 +1,24 @@
+package com.rips7.generator;
+
+import java.util.Random;
+
+import static com.rips7.generator.Generators.grid;
+import static com.rips7.generator.Generators.pick;
+import static com.rips7.generator.Generators.side;
+
+// Empty space with scattered mirrors and splitters
+class Day16Generator implements InputGenerator {
+
+  @Override
+  public String generate(final Random random, final int scale) {
+    final int size = side(110, scale);
+    final char[][] cells = new char[size][size];
+    for (final char[] row : cells) {
+      for (int col = 0; col < size; col++) {
+        row[col] = random.nextInt(100) < 9 ? pick(random, "/\\|-") : '.';
+      }
+    }
+    return grid(cells);
+  }
+
+}
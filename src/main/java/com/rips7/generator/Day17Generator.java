@@ -0,0 +1,23 @@
+package com.rips7.generator;
+
+import java.util.Random;
+
+import static com.rips7.generator.Generators.grid;
+import static com.rips7.generator.Generators.side;
+
+// Heat loss digits from 1 to 9
+class Day17Generator implements InputGenerator {
+
+  @Override
+  public String generate(final Random random, final int scale) {
+    final int size = side(141, scale);
+    final char[][] cells = new char[size][size];
+    for (final char[] row : cells) {
+      for (int col = 0; col < size; col++) {
+        row[col] = (char) ('1' + random.nextInt(9));
+      }
+    }
+    return grid(cells);
+  }
+
+}
@@ -0,0 +1,76 @@
+package com.rips7.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static com.rips7.generator.Generators.join;
+import static com.rips7.generator.Generators.side;
+
+// A simple closed trench following the outline of a random tree. Both parts dig the same shape, stretched by
+// different random (but increasing) spacings between lattice lines, which keeps the outline simple and closed.
+class Day18Generator implements InputGenerator {
+
+  private static final int MAX_HEX_STEPS = 0xFFFFF;
+
+  @Override
+  public String generate(final Random random, final int scale) {
+    final int half = side(21, scale);
+    final List<int[]> loop = Shapes.treeOutline(random, half, half, 1);
+    final int lattice = 2 * half + 1;
+    final long[] rows1 = spacing(random, lattice, 2, 10);
+    final long[] cols1 = spacing(random, lattice, 2, 10);
+    final long[] rows2 = spacing(random, lattice, 1_000, MAX_HEX_STEPS / lattice);
+    final long[] cols2 = spacing(random, lattice, 1_000, MAX_HEX_STEPS / lattice);
+
+    // Start at a turn, then merge the unit steps that keep going the same way into one instruction
+    final int size = loop.size();
+    int start = 0;
+    while (step(loop, start - 1 + size) == step(loop, start)) {
+      start++;
+    }
+    final List<String> lines = new ArrayList<>();
+    for (int i = start; i < start + size; ) {
+      final char direction = step(loop, i);
+      int j = i + 1;
+      while (j < start + size && step(loop, j) == direction) {
+        j++;
+      }
+      final int[] from = loop.get(i % size);
+      final int[] to = loop.get(j % size);
+      final long steps1 = distance(from, to, rows1, cols1);
+      final long steps2 = distance(from, to, rows2, cols2);
+      lines.add("%s %s (#%05x%s)".formatted(direction, steps1, steps2, "RDLU".indexOf(direction)));
+      i = j;
+    }
+    return join(lines);
+  }
+
+  private static char step(final List<int[]> loop, final int index) {
+    return direction(loop.get(index % loop.size()), loop.get((index + 1) % loop.size()));
+  }
+
+  private static long[] spacing(final Random random, final int size, final int min, final int max) {
+    final long[] positions = new long[size];
+    for (int i = 1; i < size; i++) {
+      positions[i] = positions[i - 1] + min + random.nextInt(Math.max(1, max - min));
+    }
+    return positions;
+  }
+
+  private static long distance(final int[] from, final int[] to, final long[] rows, final long[] cols) {
+    return Math.abs(rows[to[0]] - rows[from[0]]) + Math.abs(cols[to[1]] - cols[from[1]]);
+  }
+
+  private static char direction(final int[] from, final int[] to) {
+    if (to[0] < from[0]) {
+      return 'U';
+    } else if (to[0] > from[0]) {
+      return 'D';
+    } else if (to[1] < from[1]) {
+      return 'L';
+    }
+    return 'R';
+  }
+
+}
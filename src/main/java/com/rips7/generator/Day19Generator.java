@@ -0,0 +1,53 @@
+package com.rips7.generator;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.StringJoiner;
+
+import static com.rips7.generator.Generators.join;
+import static com.rips7.generator.Generators.names;
+import static com.rips7.generator.Generators.pick;
+
+// A tree of workflows rooted at "in", so every part ends up accepted or rejected, followed by random parts
+class Day19Generator implements InputGenerator {
+
+  @Override
+  public String generate(final Random random, final int scale) {
+    final int workflowCount = 580 * scale;
+    final List<String> names = new ArrayList<>(names(random, "bcdefghijklmnopqrstuvwxyz", 2, workflowCount + 1));
+    names.remove("in");
+
+    final List<String> workflows = new ArrayList<>();
+    final Queue<String> pending = new ArrayDeque<>(List.of("in"));
+    int created = 1;
+    while (!pending.isEmpty()) {
+      final String name = pending.poll();
+      final StringJoiner rules = new StringJoiner(",", name + "{", "}");
+      final int conditions = 1 + random.nextInt(3);
+      for (int i = 0; i <= conditions; i++) {
+        final String result;
+        if (created < workflowCount && random.nextInt(3) > 0) {
+          result = names.get(created++ - 1);
+          pending.add(result);
+        } else {
+          result = random.nextBoolean() ? "A" : "R";
+        }
+        rules.add(i < conditions
+            ? "%s%s%s:%s".formatted(pick(random, "xmas"), pick(random, "<>"), 1 + random.nextInt(4000), result)
+            : result);
+      }
+      workflows.add(rules.toString());
+    }
+
+    final List<String> parts = new ArrayList<>();
+    for (int i = 0; i < 200 * scale; i++) {
+      parts.add("{x=%s,m=%s,a=%s,s=%s}".formatted(
+          1 + random.nextInt(4000), 1 + random.nextInt(4000), 1 + random.nextInt(4000), 1 + random.nextInt(4000)));
+    }
+    return join(workflows) + "\n\n" + join(parts);
+  }
+
+}
@@ -0,0 +1,36 @@
+package com.rips7.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static com.rips7.generator.Generators.join;
+import static com.rips7.generator.Generators.lowercase;
+
+// Lines of letters mixed with digits and spelled out digits, every line has at least one digit
+class Day1Generator implements InputGenerator {
+
+  private static final String[] SPELLED = {"one", "two", "three", "four", "five", "six", "seven", "eight", "nine"};
+
+  @Override
+  public String generate(final Random random, final int scale) {
+    final List<String> lines = new ArrayList<>();
+    for (int i = 0; i < 1000 * scale; i++) {
+      final StringBuilder line = new StringBuilder();
+      final int tokens = 1 + random.nextInt(6);
+      final int digitAt = random.nextInt(tokens);
+      for (int t = 0; t < tokens; t++) {
+        if (t == digitAt || random.nextInt(4) == 0) {
+          line.append(1 + random.nextInt(9));
+        } else if (random.nextBoolean()) {
+          line.append(SPELLED[random.nextInt(SPELLED.length)]);
+        } else {
+          line.append(lowercase(random, 1, 6));
+        }
+      }
+      lines.add(line.toString());
+    }
+    return join(lines);
+  }
+
+}
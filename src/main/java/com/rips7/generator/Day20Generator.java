@@ -0,0 +1,59 @@
+package com.rips7.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.StringJoiner;
+
+import static com.rips7.generator.Generators.join;
+import static com.rips7.generator.Generators.names;
+
+// Twelve bit flip-flop counters, as in the real input. A counter's conjunction listens to the flip-flops of the set
+// bits of its cycle length and resets the others, so it fires every `cycle` presses. All conjunctions feed rx through
+// inverters and a final conjunction. Cycles are reused across counters, so the LCM stays within a long.
+class Day20Generator implements InputGenerator {
+
+  private static final int BITS = 12;
+  private static final int[] CYCLES = {3733, 3793, 3917, 4051};
+
+  @Override
+  public String generate(final Random random, final int scale) {
+    final int counters = 4 * scale;
+    final List<String> names = names(random, "abcdefghijklmnopqrstuvwxyz", 2, counters * (BITS + 2) + 1);
+    names.removeAll(List.of("rx"));
+    int used = 0;
+    final String output = names.get(used++);
+
+    final List<String> lines = new ArrayList<>();
+    final StringJoiner broadcaster = new StringJoiner(", ", "broadcaster -> ", "");
+    for (int counter = 0; counter < counters; counter++) {
+      final int cycle = CYCLES[counter % CYCLES.length];
+      final List<String> flipFlops = names.subList(used, used + BITS);
+      final String conjunction = names.get(used + BITS);
+      final String inverter = names.get(used + BITS + 1);
+      used += BITS + 2;
+
+      broadcaster.add(flipFlops.get(0));
+      final StringJoiner resets = new StringJoiner(", ");
+      for (int bit = 0; bit < BITS; bit++) {
+        final StringJoiner targets = new StringJoiner(", ");
+        if (bit + 1 < BITS) {
+          targets.add(flipFlops.get(bit + 1));
+        }
+        if ((cycle >> bit & 1) == 1) {
+          targets.add(conjunction);
+        }
+        if ((cycle >> bit & 1) == 0 || bit == 0) {
+          resets.add(flipFlops.get(bit));
+        }
+        lines.add("%%%s -> %s".formatted(flipFlops.get(bit), targets));
+      }
+      lines.add("&%s -> %s, %s".formatted(conjunction, resets, inverter));
+      lines.add("&%s -> %s".formatted(inverter, output));
+    }
+    lines.add(broadcaster.toString());
+    lines.add("&%s -> rx".formatted(output));
+    return join(lines);
+  }
+
+}
@@ -0,0 +1,37 @@
+package com.rips7.generator;
+
+import java.util.Random;
+
+import static com.rips7.generator.Generators.grid;
+import static com.rips7.generator.Generators.side;
+
+// A square garden with the start in the middle, its row and column clear, and a clear border and diamond, which is
+// what the part 2 extrapolation relies on. Part 2 also needs 26501365 % size == size / 2, so the side is the largest
+// divisor of 2 * 26501365 + 1 that fits the scale: 131 (the real size) or 393.
+class Day21Generator implements InputGenerator {
+
+  private static final int[] SIZES = {131, 393};
+
+  @Override
+  public String generate(final Random random, final int scale) {
+    final int target = side(131, scale);
+    int size = SIZES[0];
+    for (final int candidate : SIZES) {
+      if (candidate <= target) {
+        size = candidate;
+      }
+    }
+    final int center = size / 2;
+    final char[][] cells = new char[size][size];
+    for (int row = 0; row < size; row++) {
+      for (int col = 0; col < size; col++) {
+        final boolean clear = row == center || col == center || row == 0 || col == 0 || row == size - 1
+            || col == size - 1 || Math.abs(Math.abs(row - center) + Math.abs(col - center) - center) <= 1;
+        cells[row][col] = !clear && random.nextInt(100) < 12 ? '#' : '.';
+      }
+    }
+    cells[center][center] = 'S';
+    return grid(cells);
+  }
+
+}
@@ -0,0 +1,39 @@
+package com.rips7.generator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static com.rips7.generator.Generators.join;
+
+// Bricks in a 10x10 footprint, each in its own band of heights so that none overlap before falling
+class Day22Generator implements InputGenerator {
+
+  @Override
+  public String generate(final Random random, final int scale) {
+    final List<String> lines = new ArrayList<>();
+    int z = 1;
+    for (int i = 0; i < 1500 * scale; i++) {
+      final int x = random.nextInt(10);
+      final int y = random.nextInt(10);
+      final int length = random.nextInt(5);
+      switch (random.nextInt(6)) {
+        case 0 -> {
+          lines.add(brick(x, y, z, x, y, z + length));
+          z += length;
+        }
+        case 1, 2 -> lines.add(brick(Math.min(x, 9 - length), y, z, Math.min(x, 9 - length) + length, y, z));
+        default -> lines.add(brick(x, Math.min(y, 9 - length), z, x, Math.min(y, 9 - length) + length, z));
+      }
+      z++;
+    }
+    Collections.shuffle(lines, random);
+    return join(lines);
+  }
+
+  private static String brick(final int x1, final int y1, final int z1, final int x2, final int y2, final int z2) {
+    return "%s,%s,%s~%s,%s,%s".formatted(x1, y1, z1, x2, y2, z2);
+  }
+
+}
@@ -0,0 +1,59 @@
+package com.rips7.generator;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static com.rips7.generator.Generators.grid;
+import static com.rips7.generator.Generators.side;
+
+// Trails forming a 6x6 lattice of junctions, with slopes leading away from and into every junction, as in the real
+// input. The longest path search is exponential in the number of junctions, so the lattice is kept at the real size
+// and the trails between junctions get longer with the scale instead.
+class Day23Generator implements InputGenerator {
+
+  private static final int JUNCTIONS = 6;
+
+  @Override
+  public String generate(final Random random, final int scale) {
+    final int spacing = side(20, scale);
+    final int[] positions = new int[JUNCTIONS];
+    int position = 0;
+    for (int i = 0; i < JUNCTIONS; i++) {
+      position += Math.max(3, spacing / 2 + random.nextInt(spacing));
+      positions[i] = position;
+    }
+    final int size = position + Math.max(3, spacing / 2 + random.nextInt(spacing)) + 1;
+    final int first = positions[0];
+    final int last = positions[JUNCTIONS - 1];
+
+    final char[][] cells = new char[size][size];
+    for (final char[] row : cells) {
+      Arrays.fill(row, '#');
+    }
+    // From the start down and right into the first junction, and from the last junction right and down to the end
+    for (int i = 0; i <= first; i++) {
+      cells[i][1] = '.';
+      cells[first][Math.max(1, i)] = '.';
+    }
+    for (int i = last; i < size; i++) {
+      cells[last][Math.min(size - 2, i)] = '.';
+      cells[i][size - 2] = '.';
+    }
+    for (final int fixed : positions) {
+      for (int i = first; i <= last; i++) {
+        cells[fixed][i] = '.';
+        cells[i][fixed] = '.';
+      }
+    }
+    for (final int fixed : positions) {
+      for (int j = 0; j < JUNCTIONS - 1; j++) {
+        cells[fixed][positions[j] + 1] = '>';
+        cells[fixed][positions[j + 1] - 1] = '>';
+        cells[positions[j] + 1][fixed] = 'v';
+        cells[positions[j + 1] - 1][fixed] = 'v';
+      }
+    }
+    return grid(cells);
+  }
+
+}
@@ -0,0 +1,40 @@
+package com.rips7.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static com.rips7.generator.Generators.join;
+
+// Hailstones placed so that a single rock, thrown from an integer position with an integer velocity, hits each of
+// them at a distinct time. Velocities are never zero, since part 1 divides by them.
+class Day24Generator implements InputGenerator {
+
+  @Override
+  public String generate(final Random random, final int scale) {
+    final long[] rockPosition = {position(random), position(random), position(random)};
+    final long[] rockVelocity = {velocity(random), velocity(random), velocity(random)};
+    final List<String> lines = new ArrayList<>();
+    for (int i = 0; i < 300 * scale; i++) {
+      final long time = 100_000_000_000L + random.nextLong(400_000_000_000L);
+      final long[] velocity = {velocity(random), velocity(random), velocity(random)};
+      final long[] position = new long[3];
+      for (int axis = 0; axis < 3; axis++) {
+        position[axis] = rockPosition[axis] + (rockVelocity[axis] - velocity[axis]) * time;
+      }
+      lines.add("%s, %s, %s @ %s, %s, %s".formatted(
+          position[0], position[1], position[2], velocity[0], velocity[1], velocity[2]));
+    }
+    return join(lines);
+  }
+
+  private static long position(final Random random) {
+    return 250_000_000_000_000L + random.nextLong(100_000_000_000_000L);
+  }
+
+  private static long velocity(final Random random) {
+    final long velocity = random.nextInt(300) + 1;
+    return random.nextBoolean() ? velocity : -velocity;
+  }
+
+}
@@ -0,0 +1,55 @@
+package com.rips7.generator;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static com.rips7.generator.Generators.join;
+import static com.rips7.generator.Generators.names;
+
+// Two random halves, each node wired to at least four others of its half, joined by exactly three wires
+class Day25Generator implements InputGenerator {
+
+  @Override
+  public String generate(final Random random, final int scale) {
+    final int count = 1500 * scale;
+    final List<String> names = names(random, "abcdefghijklmnopqrstuvwxyz", 3, count);
+    final int half = count / 2;
+    final Map<String, Set<String>> wires = new LinkedHashMap<>();
+    for (int i = 0; i < count; i++) {
+      final int from = i < half ? 0 : half;
+      final int to = i < half ? half : count;
+      // A ring keeps each half connected, the random wires make it hard to cut
+      connect(wires, names.get(i), names.get(i + 1 < to ? i + 1 : from));
+      for (int w = 0; w < 3; w++) {
+        final int other = from + random.nextInt(to - from);
+        if (other != i) {
+          connect(wires, names.get(i), names.get(other));
+        }
+      }
+    }
+    final Set<Integer> bridged = new HashSet<>();
+    while (bridged.size() < 3) {
+      final int left = random.nextInt(half);
+      if (bridged.add(left)) {
+        connect(wires, names.get(left), names.get(half + random.nextInt(count - half)));
+      }
+    }
+
+    final List<String> lines = new ArrayList<>();
+    wires.forEach((name, others) -> lines.add("%s: %s".formatted(name, String.join(" ", others))));
+    return join(lines);
+  }
+
+  private static void connect(final Map<String, Set<String>> wires, final String a, final String b) {
+    if (!wires.getOrDefault(b, Set.of()).contains(a)) {
+      wires.computeIfAbsent(a, k -> new LinkedHashSet<>()).add(b);
+    }
+  }
+
+}
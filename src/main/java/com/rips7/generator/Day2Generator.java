@@ -0,0 +1,35 @@
+package com.rips7.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.StringJoiner;
+
+import static com.rips7.generator.Generators.join;
+
+// Games of one to six reveals, each showing one to three colors
+class Day2Generator implements InputGenerator {
+
+  private static final String[] COLORS = {"red", "green", "blue"};
+
+  @Override
+  public String generate(final Random random, final int scale) {
+    final List<String> lines = new ArrayList<>();
+    for (int id = 1; id <= 100 * scale; id++) {
+      final StringJoiner stages = new StringJoiner("; ");
+      final int stageCount = 1 + random.nextInt(6);
+      for (int s = 0; s < stageCount; s++) {
+        final StringJoiner samples = new StringJoiner(", ");
+        final int offset = random.nextInt(COLORS.length);
+        final int colors = 1 + random.nextInt(COLORS.length);
+        for (int c = 0; c < colors; c++) {
+          samples.add("%s %s".formatted(1 + random.nextInt(20), COLORS[(offset + c) % COLORS.length]));
+        }
+        stages.add(samples.toString());
+      }
+      lines.add("Game %s: %s".formatted(id, stages));
+    }
+    return join(lines);
+  }
+
+}
@@ -0,0 +1,41 @@
+package com.rips7.generator;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static com.rips7.generator.Generators.grid;
+import static com.rips7.generator.Generators.pick;
+import static com.rips7.generator.Generators.side;
+
+// A schematic of numbers with symbols scattered around them, gears included
+class Day3Generator implements InputGenerator {
+
+  private static final String SYMBOLS = "*#+$/@%=&-*";
+
+  @Override
+  public String generate(final Random random, final int scale) {
+    final int size = side(140, scale);
+    final char[][] cells = new char[size][size];
+    for (final char[] row : cells) {
+      Arrays.fill(row, '.');
+    }
+    for (int row = 0; row < size; row++) {
+      int col = random.nextInt(4);
+      while (col < size) {
+        if (random.nextInt(3) == 0) {
+          cells[row][col] = pick(random, SYMBOLS);
+          col += 2 + random.nextInt(6);
+          continue;
+        }
+        final String number = String.valueOf(1 + random.nextInt(999));
+        if (col + number.length() >= size) {
+          break;
+        }
+        number.getChars(0, number.length(), cells[row], col);
+        col += number.length() + 1 + random.nextInt(8);
+      }
+    }
+    return grid(cells);
+  }
+
+}
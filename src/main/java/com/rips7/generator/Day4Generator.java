@@ -0,0 +1,35 @@
+package com.rips7.generator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.rips7.generator.Generators.join;
+
+// Cards of 10 winning numbers and 25 numbers. Matches are kept low, as in the real input, so that the copies won in
+// part 2 do not grow exponentially
+class Day4Generator implements InputGenerator {
+
+  @Override
+  public String generate(final Random random, final int scale) {
+    final List<Integer> pool = IntStream.rangeClosed(1, 99).boxed().collect(Collectors.toCollection(ArrayList::new));
+    final List<String> lines = new ArrayList<>();
+    for (int id = 1; id <= 206 * scale; id++) {
+      Collections.shuffle(pool, random);
+      final int matches = random.nextInt(20) < 11 ? 0 : 1 + random.nextInt(3);
+      final List<Integer> winning = pool.subList(0, 10);
+      final List<Integer> numbers = new ArrayList<>(pool.subList(10 - matches, 35 - matches));
+      Collections.shuffle(numbers, random);
+      lines.add("Card %3d: %s | %s".formatted(id, format(winning), format(numbers)));
+    }
+    return join(lines);
+  }
+
+  private static String format(final List<Integer> numbers) {
+    return numbers.stream().map("%2d"::formatted).collect(Collectors.joining(" "));
+  }
+
+}
@@ -0,0 +1,57 @@
+package com.rips7.generator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.StringJoiner;
+import java.util.TreeSet;
+
+// Seed ranges and seven maps, each one splitting [0, 2^32) into ranges that are shuffled to their destinations
+class Day5Generator implements InputGenerator {
+
+  private static final long SPACE = 1L << 32;
+  private static final String[] MAPS = {"seed-to-soil", "soil-to-fertilizer", "fertilizer-to-water",
+      "water-to-light", "light-to-temperature", "temperature-to-humidity", "humidity-to-location"};
+
+  @Override
+  public String generate(final Random random, final int scale) {
+    final StringJoiner seeds = new StringJoiner(" ", "seeds: ", "");
+    for (int i = 0; i < 10 * scale; i++) {
+      final long start = random.nextLong(SPACE / 2);
+      seeds.add(String.valueOf(start)).add(String.valueOf(1 + random.nextLong(SPACE / 16)));
+    }
+
+    final StringJoiner sections = new StringJoiner("\n\n");
+    sections.add(seeds.toString());
+    for (final String map : MAPS) {
+      sections.add(generateMap(random, map, 32 * scale));
+    }
+    return sections.toString();
+  }
+
+  private static String generateMap(final Random random, final String name, final int entries) {
+    final TreeSet<Long> cuts = new TreeSet<>();
+    while (cuts.size() < entries - 1) {
+      cuts.add(1 + random.nextLong(SPACE - 1));
+    }
+    final List<long[]> ranges = new ArrayList<>();
+    long previous = 0;
+    for (final long cut : cuts) {
+      ranges.add(new long[] {previous, cut - previous});
+      previous = cut;
+    }
+    ranges.add(new long[] {previous, SPACE - previous});
+
+    final List<long[]> destinations = new ArrayList<>(ranges);
+    Collections.shuffle(destinations, random);
+    final StringJoiner lines = new StringJoiner("\n", name + " map:\n", "");
+    long destination = 0;
+    for (final long[] range : destinations) {
+      lines.add("%s %s %s".formatted(destination, range[0], range[1]));
+      destination += range[1];
+    }
+    return lines.toString();
+  }
+
+}
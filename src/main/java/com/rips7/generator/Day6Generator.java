@@ -0,0 +1,51 @@
+package com.rips7.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Four races. Part 2 joins their digits into one race and scans every hold time, so the scale is applied to that
+// joined race (the time part 2 takes is linear in it) and its digits are split back into the four races. The joined
+// race must fit a long, so there are always four races, and the input only gains a digit or so as the scale grows.
+class Day6Generator implements InputGenerator {
+
+  private static final int RACES = 4;
+
+  @Override
+  public boolean growsWithScale() {
+    return false;
+  }
+
+  @Override
+  public String generate(final Random random, final int scale) {
+    List<String> times;
+    List<String> distances;
+    do {
+      final long time = 40_000_000L * scale + random.nextLong(10_000_000L * scale);
+      final long distance = (long) (time / 2.0 * (time / 2.0) * (0.6 + 0.3 * random.nextDouble()));
+      times = split(String.valueOf(time));
+      distances = split(String.valueOf(distance));
+    } while (times.stream().anyMatch(t -> t.startsWith("0")) || distances.stream().anyMatch(d -> d.startsWith("0")));
+
+    final StringBuilder timeLine = new StringBuilder("Time:    ");
+    final StringBuilder distanceLine = new StringBuilder("Distance:");
+    for (int i = 0; i < RACES; i++) {
+      final int width = Math.max(times.get(i).length(), distances.get(i).length()) + 3;
+      timeLine.append(" ".repeat(width - times.get(i).length())).append(times.get(i));
+      distanceLine.append(" ".repeat(width - distances.get(i).length())).append(distances.get(i));
+    }
+    return timeLine + "\n" + distanceLine;
+  }
+
+  private static List<String> split(final String digits) {
+    final List<String> parts = new ArrayList<>();
+    int from = 0;
+    for (int i = 0; i < RACES; i++) {
+      final int to = digits.length() * (i + 1) / RACES;
+      parts.add(digits.substring(from, to));
+      from = to;
+    }
+    return parts;
+  }
+
+}
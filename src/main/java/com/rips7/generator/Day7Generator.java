@@ -0,0 +1,33 @@
+package com.rips7.generator;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static com.rips7.generator.Generators.join;
+import static com.rips7.generator.Generators.pick;
+
+// Distinct hands with bids up to 1000
+class Day7Generator implements InputGenerator {
+
+  private static final String CARDS = "23456789TJQKA";
+
+  @Override
+  public String generate(final Random random, final int scale) {
+    final int hands = 1000 * scale;
+    final Set<String> seen = new LinkedHashSet<>();
+    while (seen.size() < hands) {
+      final StringBuilder hand = new StringBuilder();
+      for (int i = 0; i < 5; i++) {
+        hand.append(pick(random, CARDS));
+      }
+      seen.add(hand.toString());
+    }
+    final List<String> lines = new ArrayList<>();
+    seen.forEach(hand -> lines.add("%s %s".formatted(hand, 1 + random.nextInt(1000))));
+    return join(lines);
+  }
+
+}
@@ -0,0 +1,56 @@
+package com.rips7.generator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static com.rips7.generator.Generators.join;
+import static com.rips7.generator.Generators.names;
+
+// Six ghosts, each walking its own cycle from an **A node to a **Z node, the first one from AAA to ZZZ. As in the real
+// input, a ghost reaches its Z node again one cycle later, which is what makes the LCM in part 2 correct. Cycle
+// lengths share a common factor, so the LCM stays within a long at any scale.
+class Day8Generator implements InputGenerator {
+
+  private static final int[] PRIMES = {43, 47, 53, 59, 61, 67};
+  private static final String INNER_LETTERS = "BCDEFGHIJKLMNOPQRSTUVWXY";
+
+  @Override
+  public String generate(final Random random, final int scale) {
+    final StringBuilder instructions = new StringBuilder();
+    for (int i = 0; i < 263; i++) {
+      instructions.append(random.nextBoolean() ? 'L' : 'R');
+    }
+
+    final int factor = Math.max(1, Math.round(766f * scale / IntStream.of(PRIMES).sum()));
+    final int innerNodes = IntStream.of(PRIMES).map(p -> p * factor - 1).sum();
+    final List<String> inner = names(random, INNER_LETTERS, 3, innerNodes);
+    final List<String> prefixes = names(random, INNER_LETTERS, 2, PRIMES.length);
+
+    final List<String> lines = new ArrayList<>();
+    int used = 0;
+    for (int ghost = 0; ghost < PRIMES.length; ghost++) {
+      final String start = ghost == 0 ? "AAA" : prefixes.get(ghost) + "A";
+      final String end = ghost == 0 ? "ZZZ" : prefixes.get(ghost) + "Z";
+      final int length = PRIMES[ghost] * factor;
+      final List<String> cycle = inner.subList(used, used + length - 1);
+      used += length - 1;
+
+      lines.add(node(start, cycle.get(0)));
+      for (int i = 0; i < cycle.size() - 1; i++) {
+        lines.add(node(cycle.get(i), cycle.get(i + 1)));
+      }
+      lines.add(node(cycle.get(cycle.size() - 1), end));
+      lines.add(node(end, cycle.get(0)));
+    }
+    Collections.shuffle(lines, random);
+    return instructions + "\n\n" + join(lines);
+  }
+
+  private static String node(final String name, final String next) {
+    return "%s = (%s, %s)".formatted(name, next, next);
+  }
+
+}
@@ -0,0 +1,36 @@
+package com.rips7.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.StringJoiner;
+
+import static com.rips7.generator.Generators.join;
+
+// Histories of 21 values sampled from polynomials of degree up to 6 with small coefficients
+class Day9Generator implements InputGenerator {
+
+  @Override
+  public String generate(final Random random, final int scale) {
+    final List<String> lines = new ArrayList<>();
+    for (int i = 0; i < 200 * scale; i++) {
+      final int degree = random.nextInt(7);
+      final long[] coefficients = new long[degree + 1];
+      for (int d = 0; d <= degree; d++) {
+        coefficients[d] = random.nextInt(7) - 3;
+      }
+      coefficients[0] = random.nextInt(41) - 20;
+      final StringJoiner values = new StringJoiner(" ");
+      for (int x = 0; x < 21; x++) {
+        long value = 0;
+        for (int d = degree; d >= 0; d--) {
+          value = value * x + coefficients[d];
+        }
+        values.add(String.valueOf(value));
+      }
+      lines.add(values.toString());
+    }
+    return join(lines);
+  }
+
+}
@@ -0,0 +1,123 @@
+package com.rips7.generator;
+
+import com.rips7.day.Day;
+import com.rips7.day.Day1;
+import com.rips7.day.Day10;
+import com.rips7.day.Day11;
+import com.rips7.day.Day12;
+import com.rips7.day.Day13;
+import com.rips7.day.Day14;
+import com.rips7.day.Day15;
+import com.rips7.day.Day16;
+import com.rips7.day.Day17;
+import com.rips7.day.Day18;
+import com.rips7.day.Day19;
+import com.rips7.day.Day2;
+import com.rips7.day.Day20;
+import com.rips7.day.Day21;
+import com.rips7.day.Day22;
+import com.rips7.day.Day23;
+import com.rips7.day.Day24;
+import com.rips7.day.Day25;
+import com.rips7.day.Day3;
+import com.rips7.day.Day4;
+import com.rips7.day.Day5;
+import com.rips7.day.Day6;
+import com.rips7.day.Day7;
+import com.rips7.day.Day8;
+import com.rips7.day.Day9;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+@SuppressWarnings("unused")
+public class Generators {
+
+  private static final Map<Class<?>, InputGenerator> GENERATORS = Map.ofEntries(
+      Map.entry(Day1.class, new Day1Generator()),
+      Map.entry(Day2.class, new Day2Generator()),
+      Map.entry(Day3.class, new Day3Generator()),
+      Map.entry(Day4.class, new Day4Generator()),
+      Map.entry(Day5.class, new Day5Generator()),
+      Map.entry(Day6.class, new Day6Generator()),
+      Map.entry(Day7.class, new Day7Generator()),
+      Map.entry(Day8.class, new Day8Generator()),
+      Map.entry(Day9.class, new Day9Generator()),
+      Map.entry(Day10.class, new Day10Generator()),
+      Map.entry(Day11.class, new Day11Generator()),
+      Map.entry(Day12.class, new Day12Generator()),
+      Map.entry(Day13.class, new Day13Generator()),
+      Map.entry(Day14.class, new Day14Generator()),
+      Map.entry(Day15.class, new Day15Generator()),
+      Map.entry(Day16.class, new Day16Generator()),
+      Map.entry(Day17.class, new Day17Generator()),
+      Map.entry(Day18.class, new Day18Generator()),
+      Map.entry(Day19.class, new Day19Generator()),
+      Map.entry(Day20.class, new Day20Generator()),
+      Map.entry(Day21.class, new Day21Generator()),
+      Map.entry(Day22.class, new Day22Generator()),
+      Map.entry(Day23.class, new Day23Generator()),
+      Map.entry(Day24.class, new Day24Generator()),
+      Map.entry(Day25.class, new Day25Generator()));
+
+  private static final String LETTERS = "abcdefghijklmnopqrstuvwxyz";
+
+  public static Optional<InputGenerator> forDay(final Day<?> day) {
+    return Optional.ofNullable(GENERATORS.get(day.getClass()));
+  }
+
+  public static String generate(final Day<?> day, final int scale, final long seed) {
+    final InputGenerator generator = forDay(day)
+        .orElseThrow(() -> new RuntimeException("No generator for %s".formatted(day.getClass().getSimpleName())));
+    return generator.generate(new Random(seed * 31 + scale), scale);
+  }
+
+  // Grids grow in area, so their side grows with the square root of the scale
+  static int side(final int base, final int scale) {
+    return (int) Math.round(base * Math.sqrt(scale));
+  }
+
+  static char pick(final Random random, final String chars) {
+    return chars.charAt(random.nextInt(chars.length()));
+  }
+
+  static String grid(final char[][] cells) {
+    return Arrays.stream(cells).map(String::new).collect(Collectors.joining("\n"));
+  }
+
+  static String lowercase(final Random random, final int minLength, final int maxLength) {
+    final StringBuilder sb = new StringBuilder();
+    final int length = minLength + random.nextInt(maxLength - minLength + 1);
+    for (int i = 0; i < length; i++) {
+      sb.append(pick(random, LETTERS));
+    }
+    return sb.toString();
+  }
+
+  // Distinct names from the given alphabet, in random order, none shorter than minLength
+  static List<String> names(final Random random, final String alphabet, final int minLength, final int count) {
+    final List<String> names = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      final StringBuilder sb = new StringBuilder();
+      int index = i;
+      do {
+        sb.append(alphabet.charAt(index % alphabet.length()));
+        index /= alphabet.length();
+      } while (index > 0 || sb.length() < minLength);
+      names.add(sb.toString());
+    }
+    Collections.shuffle(names, random);
+    return names;
+  }
+
+  static String join(final List<String> lines) {
+    return String.join("\n", lines);
+  }
+
+}
@@ -0,0 +1,17 @@
+package com.rips7.generator;
+
+import java.util.Random;
+
+// Produces an input with the structure of a day's puzzle input, roughly `scale` times the size of the real one.
+// Generators only draw from the given random, so the same seed always gives the same input.
+public interface InputGenerator {
+
+  String generate(Random random, int scale);
+
+  // Whether the input grows in bytes with the scale. The cost of an input that does not cannot be fitted against its
+  // size, so the scaling harness only reports its times.
+  default boolean growsWithScale() {
+    return true;
+  }
+
+}
@@ -0,0 +1,97 @@
+package com.rips7.generator;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+
+class Shapes {
+
+  // Outline of a random spanning tree over a width x height lattice, drawn with cells `thickness` wide. The outline of
+  // a tree is a single simple loop, so the result is a valid closed pipe or trench. With a thickness of 2 or more, no
+  // two points of the loop are neighbors unless they follow each other. Returns the loop's corners as {row, col} in
+  // clockwise order, one unit apart, within a ((2 * height - 1) * thickness + 1) square lattice (width alike).
+  static List<int[]> treeOutline(final Random random, final int width, final int height, final int thickness) {
+    final boolean[][] tree = new boolean[2 * height - 1][2 * width - 1];
+
+    // Randomized depth-first search, cells at even coordinates are nodes and the ones in between are edges
+    final boolean[][] visited = new boolean[height][width];
+    final Deque<int[]> stack = new ArrayDeque<>();
+    stack.push(new int[] {random.nextInt(height), random.nextInt(width)});
+    visited[stack.peek()[0]][stack.peek()[1]] = true;
+    tree[2 * stack.peek()[0]][2 * stack.peek()[1]] = true;
+    final List<int[]> offsets = new ArrayList<>(List.of(new int[] {-1, 0}, new int[] {1, 0}, new int[] {0, -1}, new int[] {0, 1}));
+    while (!stack.isEmpty()) {
+      final int[] current = stack.peek();
+      Collections.shuffle(offsets, random);
+      int[] next = null;
+      for (final int[] offset : offsets) {
+        final int row = current[0] + offset[0];
+        final int col = current[1] + offset[1];
+        if (row >= 0 && row < height && col >= 0 && col < width && !visited[row][col]) {
+          next = new int[] {row, col};
+          break;
+        }
+      }
+      if (next == null) {
+        stack.pop();
+        continue;
+      }
+      visited[next[0]][next[1]] = true;
+      tree[2 * next[0]][2 * next[1]] = true;
+      tree[current[0] + next[0]][current[1] + next[1]] = true;
+      stack.push(next);
+    }
+
+    final int rows = tree.length * thickness;
+    final int cols = tree[0].length * thickness;
+    final boolean[][] occupied = new boolean[rows][cols];
+    for (int row = 0; row < rows; row++) {
+      for (int col = 0; col < cols; col++) {
+        occupied[row][col] = tree[row / thickness][col / thickness];
+      }
+    }
+
+    // Every boundary corner has exactly one outgoing edge when walking with the occupied cells on the right
+    final int cornerCols = cols + 1;
+    final int[] nextCorner = new int[(rows + 1) * cornerCols];
+    Arrays.fill(nextCorner, -1);
+    int start = -1;
+    for (int row = 0; row < rows; row++) {
+      for (int col = 0; col < cols; col++) {
+        if (!occupied[row][col]) {
+          continue;
+        }
+        final int topLeft = row * cornerCols + col;
+        final int topRight = topLeft + 1;
+        final int bottomLeft = topLeft + cornerCols;
+        final int bottomRight = bottomLeft + 1;
+        if (row == 0 || !occupied[row - 1][col]) {
+          nextCorner[topLeft] = topRight;
+          start = topLeft;
+        }
+        if (col == cols - 1 || !occupied[row][col + 1]) {
+          nextCorner[topRight] = bottomRight;
+        }
+        if (row == rows - 1 || !occupied[row + 1][col]) {
+          nextCorner[bottomRight] = bottomLeft;
+        }
+        if (col == 0 || !occupied[row][col - 1]) {
+          nextCorner[bottomLeft] = topLeft;
+        }
+      }
+    }
+
+    final List<int[]> loop = new ArrayList<>();
+    int corner = start;
+    do {
+      loop.add(new int[] {corner / cornerCols, corner % cornerCols});
+      corner = nextCorner[corner];
+    } while (corner != start);
+    return loop;
+  }
+
+}
@@ -0,0 +1,65 @@
+package com.rips7.metrics;
+
+import com.rips7.util.Json;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Appends one JSON object per solved part, as soon as it is solved
+public class JsonLinesMetrics implements MetricsSink {
+
+  private final Path file;
+  private final BufferedWriter writer;
+
+  public JsonLinesMetrics(final Path file) {
+    this.file = file;
+    try {
+      this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+          StandardOpenOption.APPEND);
+    } catch (final IOException e) {
+      throw new RuntimeException("Cannot open metrics file '%s'".formatted(file), e);
+    }
+  }
+
+  @Override
+  public synchronized void record(final PartMetrics metrics) {
+    try {
+      writer.write(toJson(metrics));
+      writer.newLine();
+      writer.flush();
+    } catch (final IOException e) {
+      throw new RuntimeException("Cannot write metrics to '%s'".formatted(file), e);
+    }
+  }
+
+  @Override
+  public synchronized void close() {
+    try {
+      writer.close();
+    } catch (final IOException e) {
+      throw new RuntimeException("Cannot close metrics file '%s'".formatted(file), e);
+    }
+  }
+
+  private static String toJson(final PartMetrics metrics) {
+    final Map<String, Object> json = new LinkedHashMap<>();
+    json.put("timestamp", System.currentTimeMillis());
+    json.put("day", metrics.day());
+    json.put("part", metrics.part());
+    json.put("wallNanos", metrics.wallNanos());
+    json.put("cpuNanos", metrics.cpuNanos());
+    json.put("allocatedBytes", metrics.allocatedBytes());
+    json.put("parseNanos", metrics.parseNanos());
+    json.put("answer", metrics.answer());
+    json.put("cached", metrics.cached());
+    json.put("timedOut", metrics.timedOut());
+    return Json.write(json);
+  }
+
+}
@@ -0,0 +1,49 @@
+package com.rips7.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+// Serves the Prometheus metrics on http://127.0.0.1:<port>/metrics for as long as the run lasts
+public class MetricsServer {
+
+  private final HttpServer server;
+
+  private MetricsServer(final HttpServer server) {
+    this.server = server;
+  }
+
+  public static MetricsServer start(final int port, final PrometheusMetrics metrics) {
+    try {
+      final HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+      server.createContext("/metrics", exchange -> respond(exchange, metrics.render()));
+      server.start();
+      return new MetricsServer(server);
+    } catch (final IOException e) {
+      throw new RuntimeException("Cannot serve metrics on port %s".formatted(port), e);
+    }
+  }
+
+  public int port() {
+    return server.getAddress().getPort();
+  }
+
+  public void stop() {
+    server.stop(0);
+  }
+
+  private static void respond(final HttpExchange exchange, final String body) throws IOException {
+    final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+    exchange.sendResponseHeaders(200, bytes.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(bytes);
+    }
+  }
+
+}
@@ -0,0 +1,36 @@
+package com.rips7.metrics;
+
+import java.util.List;
+
+// Receives the metrics of every solved day part, for tools that cannot read the colored console output
+public interface MetricsSink {
+
+  void record(PartMetrics metrics);
+
+  // Flushes whatever has not been written yet
+  default void close() {}
+
+  static MetricsSink none() {
+    return metrics -> {};
+  }
+
+  static MetricsSink of(final List<MetricsSink> sinks) {
+    return new MetricsSink() {
+      @Override
+      public void record(final PartMetrics metrics) {
+        sinks.forEach(sink -> sink.record(metrics));
+      }
+
+      @Override
+      public void close() {
+        sinks.forEach(MetricsSink::close);
+      }
+    };
+  }
+
+  // Times are in nanoseconds; parse time is 0 for days without a parse phase, and when the model was already parsed. A
+  // part that timed out has its budget as wall time.
+  record PartMetrics(String day, int part, long wallNanos, long cpuNanos, long allocatedBytes, long parseNanos,
+                     String answer, boolean cached, boolean timedOut) {}
+
+}
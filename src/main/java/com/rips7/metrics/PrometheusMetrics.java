@@ -0,0 +1,104 @@
+package com.rips7.metrics;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+// Keeps the last metrics of every part, and renders them in the Prometheus text exposition format. The file, if any,
+// is written on close; scraping goes through MetricsServer.
+public class PrometheusMetrics implements MetricsSink {
+
+  private static final Comparator<PartMetrics> PART_ORDER = Comparator
+      .comparingInt((PartMetrics metrics) -> metrics.day().length())
+      .thenComparing(PartMetrics::day)
+      .thenComparingInt(PartMetrics::part);
+
+  private final Path file;
+  private final Map<String, PartMetrics> latest = new ConcurrentHashMap<>();
+  private final Map<String, LongAdder> solved = new ConcurrentHashMap<>();
+
+  public PrometheusMetrics() {
+    this(null);
+  }
+
+  public PrometheusMetrics(final Path file) {
+    this.file = file;
+  }
+
+  @Override
+  public void record(final PartMetrics metrics) {
+    final String key = "%s.part%s".formatted(metrics.day(), metrics.part());
+    latest.put(key, metrics);
+    solved.computeIfAbsent(key, k -> new LongAdder()).increment();
+  }
+
+  @Override
+  public void close() {
+    if (file == null) {
+      return;
+    }
+    // Written next to the target and moved over it, so that a textfile collector never reads half a file
+    final Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+    try {
+      Files.writeString(temp, render());
+      Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (final IOException e) {
+      throw new RuntimeException("Cannot write metrics to '%s'".formatted(file), e);
+    }
+  }
+
+  public String render() {
+    final List<PartMetrics> parts = latest.values().stream().sorted(PART_ORDER).toList();
+    final StringBuilder sb = new StringBuilder();
+    gauge(sb, parts, "aoc_part_wall_seconds", "Wall time of the last solve of a day part",
+        metrics -> seconds(metrics.wallNanos()));
+    gauge(sb, parts, "aoc_part_cpu_seconds", "CPU time of the last solve of a day part",
+        metrics -> seconds(metrics.cpuNanos()));
+    gauge(sb, parts, "aoc_part_allocated_bytes", "Bytes allocated by the last solve of a day part",
+        metrics -> String.valueOf(metrics.allocatedBytes()));
+    gauge(sb, parts, "aoc_part_parse_seconds", "Time spent parsing the input of the last solve of a day part",
+        metrics -> seconds(metrics.parseNanos()));
+    gauge(sb, parts, "aoc_part_cached", "Whether the last answer of a day part came from the result cache",
+        metrics -> metrics.cached() ? "1" : "0");
+    gauge(sb, parts, "aoc_part_timed_out", "Whether the last solve of a day part ran out of its time budget",
+        metrics -> metrics.timedOut() ? "1" : "0");
+
+    sb.append("# HELP aoc_part_answer_info Last answer of a day part, as a label\n");
+    sb.append("# TYPE aoc_part_answer_info gauge\n");
+    parts.forEach(metrics -> sb.append("aoc_part_answer_info{%s,answer=\"%s\"} 1\n"
+        .formatted(labels(metrics), escape(metrics.answer()))));
+
+    sb.append("# HELP aoc_part_solved_total Number of times a day part was solved\n");
+    sb.append("# TYPE aoc_part_solved_total counter\n");
+    parts.forEach(metrics -> sb.append("aoc_part_solved_total{%s} %s\n".formatted(labels(metrics),
+        solved.get("%s.part%s".formatted(metrics.day(), metrics.part())).sum())));
+    return sb.toString();
+  }
+
+  private static void gauge(final StringBuilder sb, final List<PartMetrics> parts, final String name, final String help,
+                            final Function<PartMetrics, String> value) {
+    sb.append("# HELP %s %s\n".formatted(name, help));
+    sb.append("# TYPE %s gauge\n".formatted(name));
+    parts.forEach(metrics -> sb.append("%s{%s} %s\n".formatted(name, labels(metrics), value.apply(metrics))));
+  }
+
+  private static String labels(final PartMetrics metrics) {
+    return "day=\"%s\",part=\"%s\"".formatted(escape(metrics.day()), metrics.part());
+  }
+
+  private static String seconds(final long nanos) {
+    return String.valueOf(nanos / 1e9);
+  }
+
+  private static String escape(final String label) {
+    return label.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+  }
+
+}
@@ -0,0 +1,157 @@
+package com.rips7.runner;
+
+import com.rips7.util.Json;
+import com.rips7.util.Util;
+import com.rips7.util.Util.Measurement;
+import com.rips7.util.maths.Statistics;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import static com.rips7.util.Util.formatDuration;
+import static com.rips7.util.Util.printColor;
+
+// Every timing sample of every day part, as recorded by a run with several iterations. A later run is compared against
+// it sample by sample with a one-sided Mann-Whitney U test, so a part only counts as regressed when it is both
+// significantly and noticeably slower. The samples are only comparable when taken on the same machine and JVM.
+public class Baseline {
+
+  private static final Path DEFAULT_FILE = Path.of("baseline.json");
+  private static final double SIGNIFICANCE = 0.01;
+  // Differences below a millisecond are mostly timer and scheduling noise
+  private static final long MIN_DIFFERENCE_NANOS = 1_000_000;
+  // Day2 before Day10: shorter keys first, then alphabetically
+  private static final Comparator<String> PART_ORDER = Comparator.comparingInt(String::length)
+      .thenComparing(Comparator.naturalOrder());
+
+  private final Map<String, String> environment;
+  private final Map<String, long[]> samples;
+
+  private Baseline(final Map<String, String> environment, final Map<String, long[]> samples) {
+    this.environment = environment;
+    this.samples = samples;
+  }
+
+  public static Path defaultFile() {
+    return DEFAULT_FILE;
+  }
+
+  public static Baseline of(final Map<String, Measurement<?>> measurements) {
+    final Map<String, long[]> samples = new TreeMap<>(PART_ORDER);
+    measurements.forEach((part, measurement) -> samples.put(part, measurement.nanos()));
+    return new Baseline(currentEnvironment(), samples);
+  }
+
+  @SuppressWarnings("unchecked")
+  public static Baseline load(final Path file) {
+    final Map<String, Object> json;
+    try {
+      json = (Map<String, Object>) Json.parse(Files.readString(file));
+    } catch (final IOException e) {
+      throw new RuntimeException("Cannot read baseline from '%s'".formatted(file), e);
+    }
+    final Map<String, String> environment = new LinkedHashMap<>();
+    ((Map<String, Object>) json.get("environment")).forEach((key, value) -> environment.put(key, String.valueOf(value)));
+    final Map<String, long[]> samples = new TreeMap<>(PART_ORDER);
+    ((Map<String, Object>) json.get("parts")).forEach((part, nanos) ->
+        samples.put(part, ((List<Object>) nanos).stream().mapToLong(n -> ((Number) n).longValue()).toArray()));
+    return new Baseline(environment, samples);
+  }
+
+  // One part per line, so that baselines can be diffed
+  public void save(final Path file) {
+    final StringBuilder sb = new StringBuilder("{\n");
+    sb.append("  \"environment\": ").append(Json.write(environment)).append(",\n");
+    sb.append("  \"parts\": {\n");
+    final List<String> parts = new ArrayList<>(samples.keySet());
+    for (int i = 0; i < parts.size(); i++) {
+      sb.append("    ").append(Json.write(parts.get(i))).append(": ").append(Json.write(samples.get(parts.get(i))));
+      sb.append(i < parts.size() - 1 ? ",\n" : "\n");
+    }
+    sb.append("  }\n}\n");
+    try {
+      Files.writeString(file, sb.toString());
+    } catch (final IOException e) {
+      throw new RuntimeException("Cannot write baseline to '%s'".formatted(file), e);
+    }
+  }
+
+  // Prints a line per part, and returns the parts that regressed by more than the threshold (e.g. 0.1 for 10%). A part
+  // that timed out, or that is in the baseline but was not measured, counts as regressed.
+  public List<String> compare(final Map<String, Measurement<?>> measurements, final Set<String> timedOut,
+                              final double threshold) {
+    final Map<String, String> current = currentEnvironment();
+    if (!current.equals(environment)) {
+      printColor("Baseline was recorded on %s, comparing on %s%n".formatted(environment, current), Util.AnsiColor.RED);
+    }
+
+    final List<String> regressions = new ArrayList<>();
+    final Set<String> parts = new TreeSet<>(PART_ORDER);
+    parts.addAll(samples.keySet());
+    parts.addAll(measurements.keySet());
+    parts.addAll(timedOut);
+    parts.forEach(part -> {
+      System.out.printf("%-12s ", part);
+      final long[] before = samples.get(part);
+      final Measurement<?> measurement = measurements.get(part);
+      if (timedOut.contains(part)) {
+        regressions.add(part);
+        printColor("timed out%n".formatted(), Util.AnsiColor.RED);
+        return;
+      }
+      if (measurement == null) {
+        regressions.add(part);
+        printColor("missing%n".formatted(), Util.AnsiColor.RED);
+        return;
+      }
+      if (before == null) {
+        printColor("new, %s%n".formatted(formatDuration(measurement.median())), Util.AnsiColor.CYAN);
+        return;
+      }
+      final long[] after = measurement.nanos();
+      final double beforeMedian = Statistics.median(before);
+      final double afterMedian = Statistics.median(after);
+      final double ratio = afterMedian / beforeMedian;
+      final String change = "%s -> %s (%+.1f%%".formatted(formatDuration((long) beforeMedian),
+          formatDuration((long) afterMedian), (ratio - 1) * 100);
+      if (slower(before, after, threshold)) {
+        regressions.add(part);
+        printColor("%s, p=%.4f) regressed%n".formatted(change, Statistics.mannWhitneyGreater(before, after)),
+            Util.AnsiColor.RED);
+      } else if (slower(after, before, threshold)) {
+        printColor("%s, p=%.4f) improved%n".formatted(change, Statistics.mannWhitneyGreater(after, before)),
+            Util.AnsiColor.GREEN);
+      } else {
+        printColor("%s)%n".formatted(change), Util.AnsiColor.YELLOW);
+      }
+    });
+    return regressions;
+  }
+
+  // Whether the samples in after are significantly slower than those in before, by more than the threshold
+  private static boolean slower(final long[] before, final long[] after, final double threshold) {
+    final double beforeMedian = Statistics.median(before);
+    final double afterMedian = Statistics.median(after);
+    return afterMedian > beforeMedian * (1 + threshold)
+        && afterMedian - beforeMedian >= MIN_DIFFERENCE_NANOS
+        && Statistics.mannWhitneyGreater(before, after) < SIGNIFICANCE;
+  }
+
+  private static Map<String, String> currentEnvironment() {
+    final Map<String, String> environment = new LinkedHashMap<>();
+    environment.put("java", System.getProperty("java.vm.version"));
+    environment.put("os", "%s %s".formatted(System.getProperty("os.name"), System.getProperty("os.arch")));
+    environment.put("cpus", String.valueOf(Runtime.getRuntime().availableProcessors()));
+    return environment;
+  }
+
+}
@@ -0,0 +1,172 @@
+package com.rips7.runner;
+
+import com.rips7.day.Day;
+import com.rips7.util.CancellationToken;
+import com.rips7.util.Input;
+import com.rips7.util.Util;
+import com.rips7.util.Util.Measurement;
+import com.rips7.util.Util.TimedResult;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static com.rips7.util.Util.formatBytes;
+import static com.rips7.util.Util.formatDuration;
+import static com.rips7.util.Util.formatResources;
+import static com.rips7.util.Util.printColor;
+import static com.rips7.util.Util.time;
+
+// Solves many inputs of the same day concurrently, and reports throughput and latency percentiles. Inputs are either
+// every file under a directory, or listed in a manifest file, one path per line relative to the manifest; blank lines
+// and lines starting with # are skipped. Only a few inputs per thread are queued at a time, so a batch of any length is
+// never loaded in memory at once. An input that takes longer than the budget, if any, counts as failed.
+public class BatchRunner {
+
+  private static final int QUEUED_PER_THREAD = 4;
+
+  private final Day<?> day;
+  private final int threads;
+  private final Duration budget;
+
+  public BatchRunner(final Day<?> day, final int threads) {
+    this(day, threads, null);
+  }
+
+  public BatchRunner(final Day<?> day, final int threads, final Duration budget) {
+    this.day = day;
+    this.threads = threads;
+    this.budget = budget;
+  }
+
+  public static List<Path> inputs(final Path source) {
+    try {
+      if (Files.isDirectory(source)) {
+        try (Stream<Path> files = Files.walk(source)) {
+          return files.filter(Files::isRegularFile).sorted().toList();
+        }
+      }
+      final Path base = source.toAbsolutePath().getParent();
+      try (Stream<String> lines = Files.lines(source)) {
+        return lines.map(String::strip)
+            .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+            .map(base::resolve)
+            .toList();
+      }
+    } catch (final IOException e) {
+      throw new RuntimeException("Cannot list the inputs of '%s'".formatted(source), e);
+    }
+  }
+
+  public Summary run(final List<Path> inputs) {
+    final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(threads * QUEUED_PER_THREAD), new ThreadPoolExecutor.CallerRunsPolicy());
+    final long startGcCount = Util.gcCount();
+    final long startGcMillis = Util.gcMillis();
+    final long start = System.nanoTime();
+    final List<Future<Outcome>> futures = new ArrayList<>(inputs.size());
+    try {
+      // Once the queue is full, inputs are solved on this thread too, which holds back the submission of more
+      inputs.forEach(input -> futures.add(executor.submit(() -> solve(input))));
+
+      // Printed in input order
+      final List<Outcome> outcomes = new ArrayList<>(inputs.size());
+      for (final Future<Outcome> future : futures) {
+        final Outcome outcome = future.get();
+        print(outcome);
+        outcomes.add(outcome);
+      }
+      final Summary summary = summarize(outcomes, System.nanoTime() - start,
+          Util.gcCount() - startGcCount, Util.gcMillis() - startGcMillis);
+      print(summary);
+      return summary;
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    } catch (final ExecutionException e) {
+      throw new RuntimeException(e.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private Outcome solve(final Path path) {
+    try {
+      final CancellationToken token = budget == null ? CancellationToken.create() : CancellationToken.withBudget(budget);
+      final TimedResult<List<?>> res = token.run(() -> time(() -> day.solveBoth(Input.map(path))));
+      return new Outcome(path, Files.size(path), res.res(), null, res.nanos(), res.allocatedBytes());
+    } catch (final RuntimeException | StackOverflowError | IOException e) {
+      final Throwable cause = e.getCause() != null ? e.getCause() : e;
+      return new Outcome(path, 0, null, "%s: %s".formatted(cause.getClass().getSimpleName(), cause.getMessage()), 0, 0);
+    }
+  }
+
+  private static Summary summarize(final List<Outcome> outcomes, final long nanos, final long gcCount,
+                                   final long gcMillis) {
+    final List<Outcome> solved = outcomes.stream().filter(outcome -> outcome.error() == null).toList();
+    final long bytes = solved.stream().mapToLong(Outcome::bytes).sum();
+    final long allocatedBytes = solved.stream().mapToLong(Outcome::allocatedBytes).sum();
+    final Measurement<?> latency = solved.isEmpty()
+        ? null
+        : new Measurement<>(null, solved.stream().mapToLong(Outcome::nanos).toArray(), 0,
+            allocatedBytes / solved.size(), gcCount, gcMillis);
+    return new Summary(outcomes.size(), outcomes.size() - solved.size(), bytes, nanos, allocatedBytes, gcCount,
+        gcMillis, latency);
+  }
+
+  private static void print(final Outcome outcome) {
+    System.out.printf("%s: ", outcome.path());
+    if (outcome.error() != null) {
+      printColor("failed (%s)%n".formatted(outcome.error()), Util.AnsiColor.RED);
+      return;
+    }
+    printColor("%s ".formatted(String.join(", ", outcome.answers().stream().map(String::valueOf).toList())),
+        Util.AnsiColor.GREEN);
+    printColor("(Took %s, allocated %s)%n".formatted(formatDuration(outcome.nanos()),
+        formatBytes(outcome.allocatedBytes())), Util.AnsiColor.YELLOW);
+  }
+
+  private void print(final Summary summary) {
+    System.out.printf("----- %s batch -----%n", day.getClass().getSimpleName());
+    System.out.print("Inputs: ");
+    printColor("%s solved, %s failed, %s ".formatted(summary.inputs() - summary.failed(), summary.failed(),
+        formatBytes(summary.bytes())), summary.failed() == 0 ? Util.AnsiColor.GREEN : Util.AnsiColor.RED);
+    printColor("(Took %s on %s threads, %s)%n".formatted(formatDuration(summary.nanos()), threads,
+        formatResources(summary.allocatedBytes(), summary.gcCount(), summary.gcMillis())), Util.AnsiColor.YELLOW);
+    System.out.print("Throughput: ");
+    printColor("%.2f inputs/s, %.2f MB/s%n".formatted(summary.inputsPerSecond(), summary.megabytesPerSecond()),
+        Util.AnsiColor.CYAN);
+    if (summary.latency() != null) {
+      final Measurement<?> latency = summary.latency();
+      System.out.print("Latency: ");
+      printColor("min %s, median %s, p90 %s, p99 %s, max %s%n".formatted(formatDuration(latency.min()),
+          formatDuration(latency.median()), formatDuration(latency.percentile(90)), formatDuration(latency.p99()),
+          formatDuration(latency.max())), Util.AnsiColor.CYAN);
+    }
+    System.out.println("----------------");
+  }
+
+  private record Outcome(Path path, long bytes, List<?> answers, String error, long nanos, long allocatedBytes) {}
+
+  // Latency is null when no input could be solved; allocated bytes are the sum over all solved inputs
+  public record Summary(int inputs, int failed, long bytes, long nanos, long allocatedBytes, long gcCount,
+                        long gcMillis, Measurement<?> latency) {
+    public double inputsPerSecond() {
+      return (inputs - failed) / (nanos / 1e9);
+    }
+
+    public double megabytesPerSecond() {
+      return bytes / (1024.0 * 1024) / (nanos / 1e9);
+    }
+  }
+
+}
@@ -0,0 +1,187 @@
+package com.rips7.runner;
+
+import com.rips7.day.Day;
+import com.rips7.day.DayRegistry.Selection;
+import com.rips7.day.ParsedDay;
+import com.rips7.metrics.MetricsSink;
+import com.rips7.util.CancellationToken;
+import com.rips7.util.InputCache;
+import com.rips7.util.ResultCache;
+import com.rips7.util.Util.Measurement;
+import com.rips7.util.Util.TimedResult;
+import com.rips7.util.jfr.DayEvent;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+public class Runner {
+
+  private final Timings timings;
+  private final ResultCache resultCache;
+  private final MetricsSink metrics;
+  private final int warmup;
+  private final int iterations;
+  private final Duration budget;
+  private final Strategies strategies;
+
+  private final LongAdder inputNanos = new LongAdder();
+  private final LongAdder parseNanos = new LongAdder();
+  private final LongAdder solveNanos = new LongAdder();
+  private final LongAdder allocatedBytes = new LongAdder();
+  private final LongAdder gcCount = new LongAdder();
+  private final LongAdder gcMillis = new LongAdder();
+  private final Map<String, Measurement<?>> measurements = new ConcurrentHashMap<>();
+  private final Set<String> timedOut = ConcurrentHashMap.newKeySet();
+
+  public Runner(final Timings timings) {
+    this(timings, ResultCache.disabled(), MetricsSink.none(), 0, 1, null, Strategies.reference());
+  }
+
+  // A part that runs for longer than the budget is recorded as timed out, and the run moves on; null means no limit
+  public Runner(final Timings timings, final ResultCache resultCache, final MetricsSink metrics, final int warmup,
+                final int iterations, final Duration budget, final Strategies strategies) {
+    this.timings = timings;
+    this.resultCache = resultCache;
+    this.metrics = metrics;
+    this.warmup = warmup;
+    this.iterations = iterations;
+    this.budget = budget;
+    this.strategies = strategies;
+  }
+
+  public void runSequential(final List<Selection> selections) {
+    selections.forEach(selection -> {
+      final Day<?> day = selection.day();
+      DayEvent.record(day.getClass().getSimpleName(), day.loadCachedInput().res().length(), () -> {
+        final Measurement<?> part1Res = selection.includes(1) ? runAndRecord(day, 1) : null;
+        final Measurement<?> part2Res = selection.includes(2) ? runAndRecord(day, 2) : null;
+        finish(day, part1Res, part2Res);
+      });
+    });
+    timings.save();
+    resultCache.save();
+  }
+
+  public void runParallel(final List<Selection> selections, final int threads) {
+    // Longest expected job first, so that the slowest parts do not end up being started last. Parts that have never
+    // been recorded are treated as the longest ones.
+    final List<Task> tasks = new ArrayList<>();
+    selections.forEach(selection -> selection.parts().forEach(part -> tasks.add(new Task(selection.day(), part))));
+    tasks.sort(Comparator.comparingLong(this::expectedMillis).reversed());
+
+    final ExecutorService executor = Executors.newWorkStealingPool(threads);
+    final Map<Task, CompletableFuture<Measurement<?>>> results = new HashMap<>();
+    try {
+      tasks.forEach(task -> results.put(task, CompletableFuture.supplyAsync(() -> runAndRecord(task.day, task.part), executor)));
+
+      // Print in day order, as soon as all selected parts of the day are done
+      selections.forEach(selection -> finish(selection.day(), join(results.get(new Task(selection.day(), 1))),
+          join(results.get(new Task(selection.day(), 2)))));
+    } finally {
+      executor.shutdownNow();
+    }
+    timings.save();
+    resultCache.save();
+  }
+
+  public Totals totals() {
+    return new Totals(inputNanos.sum(), parseNanos.sum(), solveNanos.sum(), allocatedBytes.sum(), gcCount.sum(), gcMillis.sum());
+  }
+
+  // Measurements of the parts that were actually solved, by "DayN.partN"
+  public Map<String, Measurement<?>> measurements() {
+    return Map.copyOf(measurements);
+  }
+
+  // The parts that ran for longer than the budget, by "DayN.partN"
+  public Set<String> timedOut() {
+    return Set.copyOf(timedOut);
+  }
+
+  private Measurement<?> runAndRecord(final Day<?> day, final int part) {
+    final String strategy = strategies.choose(day, part, day.loadCachedInput().res().length());
+    final Measurement<?> res = day.measurePart(part, strategy, warmup, iterations, resultCache, budget);
+    // A recalled answer says nothing about how long solving takes
+    if (res.res() instanceof ResultCache.Cached) {
+      return res;
+    }
+    // Only known to take at least the budget, which is still worth remembering to schedule the part early next time
+    if (res.res() instanceof CancellationToken.TimedOut) {
+      timedOut.add(key(day, part));
+      synchronized (timings) {
+        timings.record(day.getClass().getSimpleName(), part, budget.toMillis());
+      }
+      return res;
+    }
+    solveNanos.add(res.median());
+    allocatedBytes.add(res.allocatedBytes());
+    gcCount.add(res.gcCount());
+    gcMillis.add(res.gcMillis());
+    measurements.put(key(day, part), res);
+    synchronized (timings) {
+      timings.record(day.getClass().getSimpleName(), part, res.median() / 1_000_000);
+    }
+    return res;
+  }
+
+  private static String key(final Day<?> day, final int part) {
+    return "%s.part%s".formatted(day.getClass().getSimpleName(), part);
+  }
+
+  private static Measurement<?> join(final CompletableFuture<Measurement<?>> result) {
+    return result == null ? null : result.join();
+  }
+
+  private void finish(final Day<?> day, final Measurement<?> part1Res, final Measurement<?> part2Res) {
+    record(day.loadCachedInput(), inputNanos);
+    long dayParseNanos = 0;
+    if (day instanceof ParsedDay<?, ?> parsedDay && InputCache.containsModel(day.getClass())) {
+      record(parsedDay.parseCachedInput(), parseNanos);
+      dayParseNanos = parsedDay.parseCachedInput().nanos();
+    }
+    if (part1Res != null) {
+      publish(day, 1, part1Res, dayParseNanos);
+    }
+    if (part2Res != null) {
+      publish(day, 2, part2Res, dayParseNanos);
+    }
+    day.print(day.loadCachedInput(), part1Res, part2Res);
+    InputCache.evict(day.getClass());
+  }
+
+  private void publish(final Day<?> day, final int part, final Measurement<?> res, final long parseNanos) {
+    metrics.record(new MetricsSink.PartMetrics(day.getClass().getSimpleName(), part, res.median(), res.cpuNanos(),
+        res.allocatedBytes(), parseNanos, String.valueOf(res.res()), res.res() instanceof ResultCache.Cached,
+        res.res() instanceof CancellationToken.TimedOut));
+  }
+
+  private void record(final TimedResult<?> res, final LongAdder nanos) {
+    nanos.add(res.nanos());
+    allocatedBytes.add(res.allocatedBytes());
+    gcCount.add(res.gcCount());
+    gcMillis.add(res.gcMillis());
+  }
+
+  private long expectedMillis(final Task task) {
+    final long expected = timings.expectedMillis(task.day.getClass().getSimpleName(), task.part);
+    return expected == -1 ? Long.MAX_VALUE : expected;
+  }
+
+  private record Task(Day<?> day, int part) {}
+
+  // Sum over all days; solve time is the median, and allocated bytes the average, of each part when running several
+  // iterations
+  public record Totals(long inputNanos, long parseNanos, long solveNanos, long allocatedBytes, long gcCount,
+                       long gcMillis) {}
+
+}
@@ -0,0 +1,150 @@
+package com.rips7.runner;
+
+import com.rips7.day.Day;
+import com.rips7.generator.Generators;
+import com.rips7.util.CancellationToken;
+import com.rips7.util.Input;
+import com.rips7.util.Util;
+import com.rips7.util.Util.Measurement;
+
+import java.time.Duration;
+import java.util.List;
+
+import static com.rips7.util.Util.formatBytes;
+import static com.rips7.util.Util.formatDuration;
+import static com.rips7.util.Util.measure;
+import static com.rips7.util.Util.printColor;
+
+// Solves generated inputs of growing size and reports how time and allocation grow with them. Growth is reported as
+// the exponent k in cost ~ size^k between consecutive scales, measured against the actual input sizes, so linear parts
+// read n^1 and quadratic ones n^2. Every solve runs under the budget, and a part that overruns it is cancelled and
+// recorded as timed out. Inputs whose generator scales the magnitude of their numbers rather than their size (Day6)
+// are not fitted.
+public class ScalingHarness {
+
+  private static final double SUPERLINEAR = 1.5;
+
+  private final int[] scales;
+  private final long seed;
+  private final Duration budget;
+  private final long budgetNanos;
+
+  public ScalingHarness(final int[] scales, final long seed, final Duration budget) {
+    this.scales = scales;
+    this.seed = seed;
+    this.budget = budget;
+    this.budgetNanos = budget.toNanos();
+  }
+
+  public void run(final List<Day<?>> days) {
+    days.stream()
+        .filter(day -> Generators.forDay(day).isPresent())
+        .forEach(this::run);
+  }
+
+  private void run(final Day<?> day) {
+    final boolean fitted = Generators.forDay(day).orElseThrow().growsWithScale();
+    System.out.printf("----- %s -----%s%n", day.getClass().getSimpleName(),
+        fitted ? "" : " (the input does not grow with the scale, so its growth is not fitted)");
+    final Sample[] previous = new Sample[2];
+    for (final int scale : scales) {
+      final Input input = Input.of(Generators.generate(day, scale, seed));
+      System.out.printf("%5sx %10s", scale, formatBytes(input.size()));
+      for (int part = 1; part <= 2; part++) {
+        System.out.printf("  Part %s: ", part);
+        previous[part - 1] = runPart(day, part, input, previous[part - 1], fitted);
+      }
+      System.out.println();
+    }
+  }
+
+  private Sample runPart(final Day<?> day, final int part, final Input input, final Sample previous,
+                         final boolean fitted) {
+    if (previous != null && previous.stopped()) {
+      printColor("-", Util.AnsiColor.YELLOW);
+      return previous;
+    }
+    // A part that would go over the budget is not even started
+    if (previous != null) {
+      final double expected = previous.nanos()
+          * Math.pow((double) input.size() / previous.bytes(), previous.expectedExponent());
+      if (expected > budgetNanos) {
+        printColor("skipped, about %s expected".formatted(formatDuration((long) expected)), Util.AnsiColor.YELLOW);
+        return Sample.STOPPED;
+      }
+    }
+
+    try {
+      Measurement<?> measurement = measureWithinBudget(day, part, input);
+      // The smallest scale is repeated when cheap, so that its time is not mostly JIT compilation
+      if (previous == null && measurement.median() < budgetNanos / 10) {
+        measurement = measureWithinBudget(day, part, input);
+      }
+      final boolean fit = previous != null && fitted;
+      final Sample sample = new Sample(input.size(), measurement.median(), measurement.allocatedBytes(),
+          fit ? exponent(previous.bytes(), input.size(), previous.nanos(), measurement.median()) : Double.NaN,
+          fit ? exponent(previous.bytes(), input.size(), previous.allocatedBytes(), measurement.allocatedBytes())
+              : Double.NaN);
+      print(sample);
+      return sample;
+    } catch (final RuntimeException | StackOverflowError | OutOfMemoryError e) {
+      if (CancellationToken.cancellation(e) != null) {
+        printColor(new CancellationToken.TimedOut(budget).toString(), Util.AnsiColor.RED);
+        return Sample.STOPPED;
+      }
+      final Throwable cause = e.getCause() != null ? e.getCause() : e;
+      printColor("failed (%s: %s)".formatted(cause.getClass().getSimpleName(), cause.getMessage()), Util.AnsiColor.RED);
+      return Sample.STOPPED;
+    }
+  }
+
+  private Measurement<?> measureWithinBudget(final Day<?> day, final int part, final Input input) {
+    return CancellationToken.withBudget(budget).run(() -> measure(() -> solve(day, part, input), 0, 1));
+  }
+
+  private static Object solve(final Day<?> day, final int part, final Input input) {
+    return switch (part) {
+      case 1 -> day.part1(input);
+      case 2 -> day.part2(input);
+      default -> throw new RuntimeException("Unknown part %s".formatted(part));
+    };
+  }
+
+  private static void print(final Sample sample) {
+    printColor(formatDuration(sample.nanos()), Util.AnsiColor.YELLOW);
+    printExponent(sample.timeExponent());
+    printColor(", allocated %s".formatted(formatBytes(sample.allocatedBytes())), Util.AnsiColor.YELLOW);
+    printExponent(sample.allocationExponent());
+  }
+
+  private static void printExponent(final double exponent) {
+    if (!Double.isNaN(exponent)) {
+      printColor(" (n^%.2f)".formatted(exponent), exponent >= SUPERLINEAR ? Util.AnsiColor.RED : Util.AnsiColor.GREEN);
+    }
+  }
+
+  // NaN when the sizes are the same, e.g. when a generator cannot grow the input any further
+  private static double exponent(final long fromSize, final long toSize, final long fromCost, final long toCost) {
+    if (fromSize == toSize || fromCost <= 0 || toCost <= 0) {
+      return Double.NaN;
+    }
+    return Math.log((double) toCost / fromCost) / Math.log((double) toSize / fromSize);
+  }
+
+  private record Sample(long bytes, long nanos, long allocatedBytes, double timeExponent, double allocationExponent) {
+    private static final Sample STOPPED = new Sample(-1, -1, -1, Double.NaN, Double.NaN);
+
+    private boolean stopped() {
+      return this == STOPPED;
+    }
+
+    // Growth assumed for the next scale. Times at small scales are still skewed by the JIT, so allocation growth is
+    // taken into account as well, and it is at least linear since every part reads its whole input.
+    private double expectedExponent() {
+      return Math.max(1, Math.max(
+          Double.isNaN(timeExponent) ? 1 : timeExponent,
+          Double.isNaN(allocationExponent) ? 1 : allocationExponent));
+    }
+  }
+
+}
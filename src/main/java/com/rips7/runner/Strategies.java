@@ -0,0 +1,102 @@
+package com.rips7.runner;
+
+import com.rips7.day.Day;
+import com.rips7.day.Strategy;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+// Which strategy solves each day part. Either a fixed one for every part (the reference by default), or the fastest
+// one per input size, as recorded in strategies.properties by StrategyBenchmark. Sizes are bucketed by powers of two,
+// and an input of a size that was never benchmarked gets the strategy of the nearest benchmarked size.
+public class Strategies {
+
+  private static final Path DEFAULT_FILE = Path.of("strategies.properties");
+
+  private final Path file;
+  private final Properties fastest;
+  private final String fixed;
+
+  private Strategies(final Path file, final Properties fastest, final String fixed) {
+    this.file = file;
+    this.fastest = fastest;
+    this.fixed = fixed;
+  }
+
+  public static Strategies reference() {
+    return named(Strategy.REFERENCE);
+  }
+
+  // Parts without a strategy by that name use the reference one
+  public static Strategies named(final String name) {
+    return new Strategies(null, new Properties(), name);
+  }
+
+  public static Strategies load() {
+    return load(DEFAULT_FILE);
+  }
+
+  public static Strategies load(final Path file) {
+    final Properties fastest = new Properties();
+    if (Files.exists(file)) {
+      try (InputStream in = Files.newInputStream(file)) {
+        fastest.load(in);
+      } catch (final IOException e) {
+        throw new RuntimeException("Cannot read strategies from '%s'".formatted(file), e);
+      }
+    }
+    return new Strategies(file, fastest, null);
+  }
+
+  public String choose(final Day<?> day, final int part, final int inputLength) {
+    if (fixed != null) {
+      return fixed;
+    }
+    final int bucket = bucket(inputLength);
+    String chosen = Strategy.REFERENCE;
+    int distance = Integer.MAX_VALUE;
+    for (final String key : fastest.stringPropertyNames()) {
+      final int separator = key.lastIndexOf('.');
+      if (!key.substring(0, separator).equals(key(day, part))) {
+        continue;
+      }
+      // Ties go to the smaller size
+      final int keyBucket = Integer.parseInt(key.substring(separator + 1));
+      final int keyDistance = Math.abs(keyBucket - bucket);
+      if (keyDistance < distance || (keyDistance == distance && keyBucket < bucket)) {
+        chosen = fastest.getProperty(key);
+        distance = keyDistance;
+      }
+    }
+    return chosen;
+  }
+
+  public void record(final Day<?> day, final int part, final int inputLength, final String strategy) {
+    fastest.setProperty("%s.%s".formatted(key(day, part), bucket(inputLength)), strategy);
+  }
+
+  public void save() {
+    if (file == null) {
+      return;
+    }
+    try (OutputStream out = Files.newOutputStream(file)) {
+      fastest.store(out, "Fastest strategy of each day part, by input size in powers of two");
+    } catch (final IOException e) {
+      throw new RuntimeException("Cannot write strategies to '%s'".formatted(file), e);
+    }
+  }
+
+  private static String key(final Day<?> day, final int part) {
+    return "%s.part%s".formatted(day.getClass().getSimpleName(), part);
+  }
+
+  // Inputs of 1 KB fall in bucket 10, inputs of 2 KB in bucket 11, and so on
+  private static int bucket(final int inputLength) {
+    return 32 - Integer.numberOfLeadingZeros(Math.max(inputLength, 1) - 1);
+  }
+
+}
@@ -0,0 +1,126 @@
+package com.rips7.runner;
+
+import com.rips7.day.Day;
+import com.rips7.day.Strategy;
+import com.rips7.generator.Generators;
+import com.rips7.util.CancellationToken;
+import com.rips7.util.Util;
+import com.rips7.util.Util.Measurement;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static com.rips7.util.Util.formatBytes;
+import static com.rips7.util.Util.formatDuration;
+import static com.rips7.util.Util.measure;
+import static com.rips7.util.Util.printColor;
+
+// Solves the real input of every day part that has alternative strategies, and generated inputs at each scale when the
+// day has a generator, with every strategy. An alternative whose answer differs from the reference one is reported and
+// never picked; otherwise the fastest strategy by median time is recorded for the size of each input. A strategy that
+// runs out of the budget, over all its iterations, is left out for that input.
+public class StrategyBenchmark {
+
+  private final int[] scales;
+  private final long seed;
+  private final int warmup;
+  private final int iterations;
+  private final Duration budget;
+
+  public StrategyBenchmark(final int[] scales, final long seed, final int warmup, final int iterations,
+                           final Duration budget) {
+    this.scales = scales;
+    this.seed = seed;
+    this.warmup = warmup;
+    this.iterations = iterations;
+    this.budget = budget;
+  }
+
+  // Returns the alternatives that failed, or answered differently from the reference, as "DayN.partN.strategy (input)"
+  public List<String> run(final List<Day<?>> days, final Strategies strategies) {
+    final List<String> mismatches = new ArrayList<>();
+    days.stream()
+        .filter(day -> !day.alternatives().isEmpty())
+        .forEach(day -> run(day, strategies, mismatches));
+    strategies.save();
+    return mismatches;
+  }
+
+  private void run(final Day<?> day, final Strategies strategies, final List<String> mismatches) {
+    System.out.printf("----- %s -----%n", day.getClass().getSimpleName());
+    final List<Input> inputs = new ArrayList<>();
+    inputs.add(new Input("input", day.loadCachedInput().res()));
+    if (Generators.forDay(day).isPresent()) {
+      for (final int scale : scales) {
+        inputs.add(new Input("%sx".formatted(scale), Generators.generate(day, scale, seed)));
+      }
+    }
+    for (int part = 1; part <= 2; part++) {
+      if (day.strategies(part).size() == 1) {
+        continue;
+      }
+      for (final Input input : inputs) {
+        System.out.printf("Part %s, %5s %10s: ", part, input.name(), formatBytes(input.text().length()));
+        runPart(day, part, input, strategies, mismatches);
+      }
+    }
+  }
+
+  private <T> void runPart(final Day<T> day, final int part, final Input input, final Strategies strategies,
+                           final List<String> mismatches) {
+    Object expected = null;
+    String fastest = null;
+    long fastestNanos = Long.MAX_VALUE;
+    boolean agreed = true;
+    final List<String> timings = new ArrayList<>();
+    for (final Strategy<T> strategy : day.strategies(part)) {
+      final Measurement<T> measurement;
+      try {
+        measurement = CancellationToken.withBudget(budget)
+            .run(() -> measure(() -> strategy.solve(input.text()), warmup, iterations));
+      } catch (final RuntimeException | StackOverflowError e) {
+        // An input the reference cannot solve, in time or at all, says nothing about the others
+        final boolean timedOut = CancellationToken.cancellation(e) != null;
+        final Throwable cause = e.getCause() != null ? e.getCause() : e;
+        timings.add(timedOut
+            ? "%s %s".formatted(strategy.name(), new CancellationToken.TimedOut(budget))
+            : "%s failed (%s)".formatted(strategy.name(), cause.getClass().getSimpleName()));
+        agreed &= timedOut;
+        if (strategy.isReference()) {
+          break;
+        }
+        if (!timedOut) {
+          mismatches.add(mismatch(day, part, strategy, input));
+        }
+        continue;
+      }
+      if (strategy.isReference()) {
+        expected = measurement.res();
+      } else if (!Objects.equals(String.valueOf(expected), String.valueOf(measurement.res()))) {
+        mismatches.add(mismatch(day, part, strategy, input));
+        timings.add("%s answered %s instead of %s".formatted(strategy.name(), measurement.res(), expected));
+        agreed = false;
+        continue;
+      }
+      timings.add("%s %s".formatted(strategy.name(), formatDuration(measurement.median())));
+      if (measurement.median() < fastestNanos) {
+        fastest = strategy.name();
+        fastestNanos = measurement.median();
+      }
+    }
+    if (expected != null && fastest != null) {
+      strategies.record(day, part, input.text().length(), fastest);
+    }
+    printColor(String.join(", ", timings), agreed ? Util.AnsiColor.YELLOW : Util.AnsiColor.RED);
+    printColor(fastest == null ? "%n".formatted() : " -> %s%n".formatted(fastest), Util.AnsiColor.GREEN);
+  }
+
+  private static String mismatch(final Day<?> day, final int part, final Strategy<?> strategy, final Input input) {
+    return "%s.part%s.%s (%s)".formatted(day.getClass().getSimpleName(), part, strategy.name(), input.name());
+  }
+
+  private record Input(String name, String text) {}
+
+}
@@ -0,0 +1,60 @@
+package com.rips7.runner;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+public class Timings {
+
+  private static final Path DEFAULT_FILE = Path.of("timings.properties");
+
+  private final Path file;
+  private final Properties timings;
+
+  private Timings(final Path file, final Properties timings) {
+    this.file = file;
+    this.timings = timings;
+  }
+
+  public static Timings load() {
+    return load(DEFAULT_FILE);
+  }
+
+  public static Timings load(final Path file) {
+    final Properties timings = new Properties();
+    if (Files.exists(file)) {
+      try (InputStream in = Files.newInputStream(file)) {
+        timings.load(in);
+      } catch (final IOException e) {
+        throw new RuntimeException("Cannot read timings from '%s'".formatted(file), e);
+      }
+    }
+    return new Timings(file, timings);
+  }
+
+  // Returns the last recorded time in millis, or -1 if this part has never been recorded
+  public long expectedMillis(final String day, final int part) {
+    final String value = timings.getProperty(key(day, part));
+    return value == null ? -1 : Long.parseLong(value);
+  }
+
+  public void record(final String day, final int part, final long millis) {
+    timings.setProperty(key(day, part), String.valueOf(millis));
+  }
+
+  public void save() {
+    try (OutputStream out = Files.newOutputStream(file)) {
+      timings.store(out, "Last recorded time (ms) of each day part");
+    } catch (final IOException e) {
+      throw new RuntimeException("Cannot write timings to '%s'".formatted(file), e);
+    }
+  }
+
+  private static String key(final String day, final int part) {
+    return "%s.part%s".formatted(day, part);
+  }
+
+}
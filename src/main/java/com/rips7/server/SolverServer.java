@@ -0,0 +1,290 @@
+package com.rips7.server;
+
+import com.rips7.day.Day;
+import com.rips7.day.DayRegistry;
+import com.rips7.day.ParsedDay;
+import com.rips7.metrics.MetricsSink;
+import com.rips7.util.CancellationToken;
+import com.rips7.util.ResultCache;
+import com.rips7.util.Util.TimedResult;
+import com.rips7.util.jfr.ParseEvent;
+import com.rips7.util.jfr.PartEvent;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.rips7.util.Util.time;
+
+// Keeps a JVM warm and solves inputs sent over a loopback TCP or Unix domain socket, so that callers pay neither the
+// startup nor the cold JIT for every input. The protocol is line based; a connection can send any number of requests:
+//
+//   <day> <part> <bytes>\n<bytes of input>   ->  OK <nanos> <allocated bytes> <answer>\n
+//   PING                                     ->  PONG\n
+//   QUIT                                     ->  closes the connection
+//   SHUTDOWN                                 ->  stops the server
+//
+// Failures are answered with ERR <message>\n, and the connection stays usable unless the request itself was malformed.
+// Answers recalled from the result cache report 0 nanos. Only the most recent answers are added to the cache, which is
+// written when the server stops; models of parsed days are kept for the most recent inputs, so solving the other part
+// of the same input does not parse it again. With a budget, a request that takes longer is answered with ERR Timeout,
+// as far as the solver has cancellation checkpoints.
+public class SolverServer {
+
+  private static final int MAX_HEADER = 128;
+  private static final int MAX_INPUT = 64 * 1024 * 1024;
+  private static final int MAX_MODELS = 32;
+  private static final int MAX_RESULTS = 4096;
+
+  private final ResultCache resultCache;
+  private final MetricsSink metrics;
+  private final int threads;
+  private final Duration budget;
+  private final Map<ModelKey, Object> models = new LinkedHashMap<>(16, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(final Map.Entry<ModelKey, Object> eldest) {
+      return size() > MAX_MODELS;
+    }
+  };
+
+  private ServerSocketChannel server;
+
+  public SolverServer(final ResultCache resultCache, final MetricsSink metrics, final int threads) {
+    this(resultCache, metrics, threads, null);
+  }
+
+  // A null budget lets every request run for as long as it takes
+  public SolverServer(final ResultCache resultCache, final MetricsSink metrics, final int threads,
+                      final Duration budget) {
+    this.resultCache = resultCache;
+    this.resultCache.limitStored(MAX_RESULTS);
+    this.metrics = metrics;
+    this.threads = threads;
+    this.budget = budget;
+  }
+
+  // Either a port on the loopback interface, or unix:<path> for a Unix domain socket
+  public static SocketAddress address(final String spec) {
+    if (spec.startsWith("unix:")) {
+      return UnixDomainSocketAddress.of(spec.substring("unix:".length()));
+    }
+    return new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(spec));
+  }
+
+  public void serve(final SocketAddress address) {
+    final ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try (ServerSocketChannel channel = open(address)) {
+      synchronized (this) {
+        server = channel;
+      }
+      System.out.printf("Listening on %s%n", channel.getLocalAddress());
+      while (channel.isOpen()) {
+        final SocketChannel client;
+        try {
+          client = channel.accept();
+        } catch (final ClosedChannelException e) {
+          break;
+        }
+        executor.execute(() -> handle(client));
+      }
+    } catch (final IOException e) {
+      throw new RuntimeException("Cannot serve on %s".formatted(address), e);
+    } finally {
+      executor.shutdownNow();
+      resultCache.save();
+      if (address instanceof UnixDomainSocketAddress unixAddress) {
+        deleteSocket(unixAddress.getPath());
+      }
+    }
+  }
+
+  public synchronized void stop() {
+    if (server != null) {
+      try {
+        server.close();
+      } catch (final IOException e) {
+        throw new RuntimeException(e);
+      }
+    }
+  }
+
+  private static ServerSocketChannel open(final SocketAddress address) throws IOException {
+    if (address instanceof UnixDomainSocketAddress unixAddress) {
+      // A socket file left behind by a previous server would make the bind fail
+      deleteSocket(unixAddress.getPath());
+      return ServerSocketChannel.open(StandardProtocolFamily.UNIX).bind(address);
+    }
+    return ServerSocketChannel.open().bind(address);
+  }
+
+  private static void deleteSocket(final Path path) {
+    try {
+      Files.deleteIfExists(path);
+    } catch (final IOException e) {
+      throw new RuntimeException("Cannot delete socket '%s'".formatted(path), e);
+    }
+  }
+
+  private void handle(final SocketChannel client) {
+    try (client;
+         InputStream in = new BufferedInputStream(Channels.newInputStream(client));
+         OutputStream out = new BufferedOutputStream(Channels.newOutputStream(client))) {
+      String header;
+      while ((header = readHeader(in)) != null) {
+        switch (header) {
+          case "QUIT" -> {
+            return;
+          }
+          case "SHUTDOWN" -> {
+            stop();
+            return;
+          }
+          case "PING" -> reply(out, "PONG");
+          default -> {
+            final Request request = Request.parse(header);
+            if (request == null) {
+              reply(out, "ERR Expected <day> <part> <bytes> but got '%s'".formatted(header));
+              return;
+            }
+            final byte[] input = in.readNBytes(request.bytes());
+            if (input.length < request.bytes()) {
+              reply(out, "ERR Expected %s bytes of input but got %s".formatted(request.bytes(), input.length));
+              return;
+            }
+            reply(out, solve(request, new String(input, StandardCharsets.UTF_8)));
+          }
+        }
+      }
+    } catch (final IOException e) {
+      // The client went away; nothing to answer to
+    }
+  }
+
+  private String solve(final Request request, final String input) {
+    final Optional<Day<?>> day = DayRegistry.find(request.day());
+    if (day.isEmpty()) {
+      return "ERR Unknown day '%s'".formatted(request.day());
+    }
+    if (request.part() != 1 && request.part() != 2) {
+      return "ERR Unknown part %s".formatted(request.part());
+    }
+
+    final Class<?> dayClass = day.get().getClass();
+    final Optional<ResultCache.Cached> cached = resultCache.recall(dayClass, request.part(), input);
+    if (cached.isPresent()) {
+      metrics.record(new MetricsSink.PartMetrics(dayClass.getSimpleName(), request.part(), 0, 0, 0, 0,
+          cached.get().answer(), true, false));
+      return "OK 0 0 %s".formatted(cached.get());
+    }
+    try {
+      final CancellationToken token = budget == null ? CancellationToken.create() : CancellationToken.withBudget(budget);
+      final TimedResult<Solved> res = token.run(() -> time(() -> solve(day.get(), request.part(), input)));
+      final Object answer = res.res().answer();
+      resultCache.store(dayClass, request.part(), input, answer);
+      metrics.record(new MetricsSink.PartMetrics(dayClass.getSimpleName(), request.part(), res.nanos(),
+          res.cpuNanos(), res.allocatedBytes(), res.res().parseNanos(), String.valueOf(answer), false, false));
+      return "OK %s %s %s".formatted(res.nanos(), res.allocatedBytes(), answer);
+    } catch (final RuntimeException | StackOverflowError e) {
+      if (CancellationToken.cancellation(e) != null) {
+        final CancellationToken.TimedOut timedOut = new CancellationToken.TimedOut(budget);
+        metrics.record(new MetricsSink.PartMetrics(dayClass.getSimpleName(), request.part(), budget.toNanos(), 0, 0,
+            0, timedOut.toString(), false, true));
+        return "ERR Timeout: %s".formatted(timedOut);
+      }
+      final Throwable cause = e.getCause() != null ? e.getCause() : e;
+      return "ERR %s: %s".formatted(cause.getClass().getSimpleName(), String.valueOf(cause.getMessage()).replace('\n', ' '));
+    }
+  }
+
+  private Solved solve(final Day<?> day, final int part, final String input) throws Exception {
+    if (day instanceof ParsedDay<?, ?> parsedDay) {
+      return solveParsed(parsedDay, part, input);
+    }
+    final String name = day.getClass().getSimpleName();
+    return new Solved(PartEvent.wrap(name, part, input.length(),
+        () -> part == 1 ? day.part1(input) : day.part2(input)).call(), 0);
+  }
+
+  @SuppressWarnings("unchecked")
+  private <M, T> Solved solveParsed(final ParsedDay<M, T> day, final int part, final String input) throws Exception {
+    final ModelKey key = new ModelKey(day.getClass(), ResultCache.inputHash(input));
+    M model;
+    synchronized (models) {
+      model = (M) models.get(key);
+    }
+    // Parsed outside the lock, so that a large input does not hold up the other connections
+    long parseNanos = 0;
+    if (model == null) {
+      final long start = System.nanoTime();
+      model = ParseEvent.record(day.getClass().getSimpleName(), input.length(), () -> day.parse(input));
+      parseNanos = System.nanoTime() - start;
+      synchronized (models) {
+        models.put(key, model);
+      }
+    }
+    final M parsed = model;
+    return new Solved(PartEvent.wrap(day.getClass().getSimpleName(), part, input.length(),
+        () -> part == 1 ? day.solvePart1(parsed) : day.solvePart2(parsed)).call(), parseNanos);
+  }
+
+  private static String readHeader(final InputStream in) throws IOException {
+    final ByteArrayOutputStream header = new ByteArrayOutputStream();
+    int b;
+    while ((b = in.read()) != '\n') {
+      if (b == -1) {
+        return header.size() == 0 ? null : header.toString(StandardCharsets.US_ASCII);
+      }
+      if (header.size() == MAX_HEADER) {
+        throw new IOException("Header longer than %s bytes".formatted(MAX_HEADER));
+      }
+      header.write(b);
+    }
+    return header.toString(StandardCharsets.US_ASCII).strip();
+  }
+
+  private static void reply(final OutputStream out, final String line) throws IOException {
+    out.write((line + "\n").getBytes(StandardCharsets.UTF_8));
+    out.flush();
+  }
+
+  private record Request(String day, int part, int bytes) {
+    private static Request parse(final String header) {
+      final String[] tokens = header.split(" +");
+      if (tokens.length != 3) {
+        return null;
+      }
+      try {
+        final int bytes = Integer.parseInt(tokens[2]);
+        return bytes < 0 || bytes > MAX_INPUT ? null : new Request(tokens[0], Integer.parseInt(tokens[1]), bytes);
+      } catch (final NumberFormatException e) {
+        return null;
+      }
+    }
+  }
+
+  private record Solved(Object answer, long parseNanos) {}
+
+  private record ModelKey(Class<?> day, String inputHash) {}
+
+}
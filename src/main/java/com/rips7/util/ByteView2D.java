@@ -0,0 +1,95 @@
+package com.rips7.util;
+
+// The bytes of a 2D source, e.g. the cells of a Grid, seen through an affine remapping of the indices, so that slicing
+// rows, reversing them and transposing take O(1) and copy nothing. The cell (row, col) of the view is the cell
+//   (row0 + row * rowByRow + col * rowByCol, col0 + row * colByRow + col * colByCol)
+// of the source. Cells are read without boxing and compared with ==, and views are usually short-lived enough for the
+// JIT to not allocate them at all.
+public final class ByteView2D {
+
+  @FunctionalInterface
+  public interface Source {
+    byte get(int row, int col);
+  }
+
+  private final Source source;
+  private final int rows;
+  private final int cols;
+  private final int row0;
+  private final int col0;
+  private final int rowByRow;
+  private final int rowByCol;
+  private final int colByRow;
+  private final int colByCol;
+
+  private ByteView2D(final Source source, final int rows, final int cols, final int row0, final int col0,
+                     final int rowByRow, final int rowByCol, final int colByRow, final int colByCol) {
+    this.source = source;
+    this.rows = rows;
+    this.cols = cols;
+    this.row0 = row0;
+    this.col0 = col0;
+    this.rowByRow = rowByRow;
+    this.rowByCol = rowByCol;
+    this.colByRow = colByRow;
+    this.colByCol = colByCol;
+  }
+
+  public static ByteView2D of(final Grid grid) {
+    return of(grid::get, grid.rows(), grid.cols());
+  }
+
+  public static ByteView2D of(final Source source, final int rows, final int cols) {
+    return new ByteView2D(source, rows, cols, 0, 0, 1, 0, 0, 1);
+  }
+
+  public int rows() {
+    return rows;
+  }
+
+  public int cols() {
+    return cols;
+  }
+
+  public byte get(final int row, final int col) {
+    return source.get(row0 + row * rowByRow + col * rowByCol, col0 + row * colByRow + col * colByCol);
+  }
+
+  // The rows from fromRow, inclusive, to toRow, exclusive
+  public ByteView2D slice(final int fromRow, final int toRow) {
+    if (fromRow < 0 || toRow > rows || fromRow > toRow) {
+      throw new RuntimeException("Cannot slice rows %s to %s out of %s".formatted(fromRow, toRow, rows));
+    }
+    return new ByteView2D(source, toRow - fromRow, cols, row0 + fromRow * rowByRow, col0 + fromRow * colByRow,
+        rowByRow, rowByCol, colByRow, colByCol);
+  }
+
+  // The rows in reverse order
+  public ByteView2D reversed() {
+    final int last = Math.max(rows - 1, 0);
+    return new ByteView2D(source, rows, cols, row0 + last * rowByRow, col0 + last * colByRow,
+        -rowByRow, rowByCol, -colByRow, colByCol);
+  }
+
+  public ByteView2D transposed() {
+    return new ByteView2D(source, cols, rows, row0, col0, rowByCol, rowByRow, colByCol, colByRow);
+  }
+
+  // The number of cells that differ, counting up to the limit at most, for views of the same size
+  public int mismatches(final ByteView2D other, final int limit) {
+    if (rows != other.rows || cols != other.cols) {
+      throw new RuntimeException("Cannot compare a %sx%s view with a %sx%s one".formatted(rows, cols, other.rows,
+          other.cols));
+    }
+    int mismatches = 0;
+    for (int row = 0; row < rows && mismatches < limit; row++) {
+      for (int col = 0; col < cols && mismatches < limit; col++) {
+        if (get(row, col) != other.get(row, col)) {
+          mismatches++;
+        }
+      }
+    }
+    return mismatches;
+  }
+
+}
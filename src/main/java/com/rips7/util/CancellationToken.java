@@ -0,0 +1,128 @@
+package com.rips7.util;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+// Cooperative cancellation of a running solver. A token is bound to the thread that solves, and the long-running loops
+// call checkpoint(), which throws once the token of their thread has been cancelled. A solver without checkpoints
+// cannot be stopped, but it is not slowed down either: a checkpoint is a thread local lookup and a volatile read.
+public class CancellationToken {
+
+  private static final ThreadLocal<CancellationToken> CURRENT = new ThreadLocal<>();
+  private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+    final Thread thread = new Thread(runnable, "cancellation-timer");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  private final Duration budget;
+  private volatile boolean cancelled;
+  private ScheduledFuture<?> deadline;
+
+  private CancellationToken(final Duration budget) {
+    this.budget = budget;
+  }
+
+  public static CancellationToken create() {
+    return new CancellationToken(null);
+  }
+
+  // Cancels itself once the budget has elapsed from now
+  public static CancellationToken withBudget(final Duration budget) {
+    final CancellationToken token = new CancellationToken(budget);
+    token.deadline = TIMER.schedule(token::cancel, budget.toNanos(), TimeUnit.NANOSECONDS);
+    return token;
+  }
+
+  public void cancel() {
+    cancelled = true;
+  }
+
+  public boolean isCancelled() {
+    return cancelled;
+  }
+
+  public Duration budget() {
+    return budget;
+  }
+
+  // Runs the callable with this token bound to the current thread. The deadline, if any, is dropped once it returns.
+  public <T> T run(final Callable<T> callable) {
+    try {
+      return bind(callable);
+    } finally {
+      if (deadline != null) {
+        deadline.cancel(false);
+      }
+    }
+  }
+
+  // Runs the callable with this token bound to the current thread, but leaves the deadline alone. Parallel solvers
+  // capture current() on the submitting thread and bind it in the tasks they hand to other threads.
+  public <T> T bind(final Callable<T> callable) {
+    final CancellationToken previous = CURRENT.get();
+    CURRENT.set(this);
+    try {
+      return callable.call();
+    } catch (final RuntimeException e) {
+      throw e;
+    } catch (final Exception e) {
+      throw new RuntimeException(e);
+    } finally {
+      CURRENT.set(previous);
+    }
+  }
+
+  // The token bound to the current thread, or one that is never cancelled
+  public static CancellationToken current() {
+    final CancellationToken token = CURRENT.get();
+    return token != null ? token : create();
+  }
+
+  public static void checkpoint() {
+    final CancellationToken token = CURRENT.get();
+    if (token != null && token.cancelled) {
+      throw new CancelledException(token);
+    }
+  }
+
+  // The cancellation of the current thread's token, however deep it has been wrapped while unwinding
+  public static CancelledException cancellation(final Throwable throwable) {
+    for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+      if (cause instanceof CancelledException cancelled) {
+        return cancelled;
+      }
+    }
+    return null;
+  }
+
+  public static class CancelledException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final transient CancellationToken token;
+
+    private CancelledException(final CancellationToken token) {
+      super(token.budget == null
+          ? "Cancelled"
+          : "Timed out after %s".formatted(Util.formatDuration(token.budget.toNanos())));
+      this.token = token;
+    }
+
+    public CancellationToken token() {
+      return token;
+    }
+  }
+
+  // Stands in for the answer of a part that ran out of its budget
+  public record TimedOut(Duration budget) {
+    @Override
+    public String toString() {
+      return "timed out after %s".formatted(Util.formatDuration(budget.toNanos()));
+    }
+  }
+
+}
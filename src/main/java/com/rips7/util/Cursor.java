@@ -0,0 +1,208 @@
+package com.rips7.util;
+
+import java.util.function.IntPredicate;
+
+// Forward-only scanner over the characters of an input. Numbers are parsed in place, so scanning allocates nothing
+// apart from the tokens that are explicitly asked for (nextToken, nextUntil and nextLine).
+@SuppressWarnings("unused")
+public class Cursor {
+
+  private final CharSequence input;
+  private final int end;
+  private int pos;
+
+  public Cursor(final CharSequence input) {
+    this(input, 0, input.length());
+  }
+
+  // Reads the bytes of the input in place, e.g. straight from a memory-mapped file
+  public Cursor(final Input input) {
+    this(input.chars());
+  }
+
+  public Cursor(final CharSequence input, final int from, final int to) {
+    this.input = input;
+    this.pos = from;
+    this.end = to;
+  }
+
+  public int position() {
+    return pos;
+  }
+
+  public boolean hasNext() {
+    return pos < end;
+  }
+
+  public boolean atLineEnd() {
+    return pos >= end || isLineTerminator(input.charAt(pos));
+  }
+
+  public char peek() {
+    return input.charAt(pos);
+  }
+
+  public char peek(final int offset) {
+    return pos + offset < end ? input.charAt(pos + offset) : 0;
+  }
+
+  public char next() {
+    if (pos >= end) {
+      throw new RuntimeException("Unexpected end of input");
+    }
+    return input.charAt(pos++);
+  }
+
+  public Cursor skip(final int count) {
+    pos = Math.min(pos + count, end);
+    return this;
+  }
+
+  public boolean skip(final char c) {
+    if (pos < end && input.charAt(pos) == c) {
+      pos++;
+      return true;
+    }
+    return false;
+  }
+
+  public boolean skip(final CharSequence literal) {
+    final int length = literal.length();
+    if (pos + length > end) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      if (input.charAt(pos + i) != literal.charAt(i)) {
+        return false;
+      }
+    }
+    pos += length;
+    return true;
+  }
+
+  public Cursor skipSpaces() {
+    while (pos < end && (input.charAt(pos) == ' ' || input.charAt(pos) == '\t')) {
+      pos++;
+    }
+    return this;
+  }
+
+  public Cursor skipWhile(final IntPredicate predicate) {
+    while (pos < end && predicate.test(input.charAt(pos))) {
+      pos++;
+    }
+    return this;
+  }
+
+  // Moves past the next occurrence of c, or to the end if there is none
+  public boolean skipUntil(final char c) {
+    while (pos < end) {
+      if (input.charAt(pos++) == c) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  // Moves to the start of the next line, and returns whether there is one
+  public boolean skipLine() {
+    skipUntil('\n');
+    return hasNext();
+  }
+
+  // Moves to the next number on the current line, and returns whether there is one
+  public boolean hasNextNumberInLine() {
+    while (!atLineEnd()) {
+      final char c = input.charAt(pos);
+      if (isDigit(c) || (c == '-' && isDigit(peek(1)))) {
+        return true;
+      }
+      pos++;
+    }
+    return false;
+  }
+
+  public int nextInt() {
+    return Math.toIntExact(nextLong());
+  }
+
+  // Skips anything up to the next digit, so signs are ignored
+  public long nextLong() {
+    while (pos < end && !isDigit(input.charAt(pos))) {
+      pos++;
+    }
+    return digits();
+  }
+
+  public int nextSignedInt() {
+    return Math.toIntExact(nextSignedLong());
+  }
+
+  public long nextSignedLong() {
+    while (pos < end && !isDigit(input.charAt(pos))) {
+      if (input.charAt(pos) == '-' && isDigit(peek(1))) {
+        pos++;
+        return -digits();
+      }
+      pos++;
+    }
+    return digits();
+  }
+
+  public int nextHexInt(final int digits) {
+    if (pos + digits > end) {
+      throw new RuntimeException("Expected %s hex digits at %s".formatted(digits, pos));
+    }
+    int value = 0;
+    for (int i = 0; i < digits; i++) {
+      final int digit = Character.digit(input.charAt(pos++), 16);
+      if (digit < 0) {
+        throw new RuntimeException("Expected a hex digit at %s".formatted(pos - 1));
+      }
+      value = value * 16 + digit;
+    }
+    return value;
+  }
+
+  // Returns everything up to (not including) the first character matching stop, or the end of the line
+  public CharSequence nextUntil(final IntPredicate stop) {
+    final int from = pos;
+    while (!atLineEnd() && !stop.test(input.charAt(pos))) {
+      pos++;
+    }
+    return input.subSequence(from, pos);
+  }
+
+  // Like nextUntil, but also consumes the delimiter
+  public CharSequence nextToken(final char delimiter) {
+    final CharSequence token = nextUntil(c -> c == delimiter);
+    skip(delimiter);
+    return token;
+  }
+
+  public CharSequence nextLine() {
+    final CharSequence line = nextUntil(c -> false);
+    skipLine();
+    return line;
+  }
+
+  private long digits() {
+    if (pos >= end || !isDigit(input.charAt(pos))) {
+      throw new RuntimeException("Expected a number at %s".formatted(pos));
+    }
+    long value = 0;
+    while (pos < end && isDigit(input.charAt(pos))) {
+      value = value * 10 + (input.charAt(pos++) - '0');
+    }
+    return value;
+  }
+
+  private static boolean isDigit(final char c) {
+    return c >= '0' && c <= '9';
+  }
+
+  private static boolean isLineTerminator(final char c) {
+    return c == '\n' || c == '\r';
+  }
+
+}
@@ -0,0 +1,221 @@
+package com.rips7.util;
+
+import java.util.Arrays;
+
+// A grid of characters in a single byte array, row by row, surrounded by a border of sentinel cells. A cell is
+// addressed by its index in the array, and the index of a neighbor is the index plus a fixed offset, so walking the
+// grid needs no bounds checks: the walk stops when it reaches a cell with the border value. The border cells have
+// indices too, row -1 and column -1 included, which makes them usable as starting points outside the grid.
+public final class Grid {
+
+  public static final byte OUTSIDE = 0;
+
+  private final int rows;
+  private final int cols;
+  private final int stride;
+  private final byte[] cells;
+  private final int[] offsets;
+
+  private Grid(final int rows, final int cols, final byte[] cells) {
+    this.rows = rows;
+    this.cols = cols;
+    this.stride = cols + 2;
+    this.cells = cells;
+    // In the order of Offset: up, right, down, left
+    this.offsets = new int[] {-stride, 1, stride, -1};
+  }
+
+  public static Grid parse(final String input) {
+    return parse(input, OUTSIDE);
+  }
+
+  public static Grid parse(final String input, final byte border) {
+    final String[] lines = input.split("\n");
+    final Grid grid = of(lines.length, lines[0].length(), OUTSIDE, border);
+    for (int row = 0; row < lines.length; row++) {
+      if (lines[row].length() != grid.cols) {
+        throw new RuntimeException("Row %s has %s cells instead of %s".formatted(row, lines[row].length(), grid.cols));
+      }
+      for (int col = 0; col < grid.cols; col++) {
+        grid.cells[grid.index(row, col)] = (byte) lines[row].charAt(col);
+      }
+    }
+    return grid;
+  }
+
+  public static Grid of(final int rows, final int cols, final byte fill, final byte border) {
+    final Grid grid = new Grid(rows, cols, new byte[(rows + 2) * (cols + 2)]);
+    Arrays.fill(grid.cells, border);
+    for (int row = 0; row < rows; row++) {
+      Arrays.fill(grid.cells, grid.index(row, 0), grid.index(row, cols), fill);
+    }
+    return grid;
+  }
+
+  public Grid copy() {
+    return new Grid(rows, cols, cells.clone());
+  }
+
+  public int rows() {
+    return rows;
+  }
+
+  public int cols() {
+    return cols;
+  }
+
+  // Indices, border included, run from 0 to size()
+  public int size() {
+    return cells.length;
+  }
+
+  public int index(final int row, final int col) {
+    return (row + 1) * stride + col + 1;
+  }
+
+  public int rowOf(final int index) {
+    return index / stride - 1;
+  }
+
+  public int colOf(final int index) {
+    return index % stride - 1;
+  }
+
+  public boolean contains(final int index) {
+    return Util.isWithinGrid(rowOf(index), colOf(index), rows, cols);
+  }
+
+  public byte get(final int index) {
+    return cells[index];
+  }
+
+  public byte get(final int row, final int col) {
+    return cells[index(row, col)];
+  }
+
+  public void set(final int index, final byte value) {
+    cells[index] = value;
+  }
+
+  public void set(final int row, final int col, final byte value) {
+    cells[index(row, col)] = value;
+  }
+
+  public int neighbor(final int index, final Util.Offset offset) {
+    return index + offsets[offset.ordinal()];
+  }
+
+  public int up(final int index) {
+    return index - stride;
+  }
+
+  public int right(final int index) {
+    return index + 1;
+  }
+
+  public int down(final int index) {
+    return index + stride;
+  }
+
+  public int left(final int index) {
+    return index - 1;
+  }
+
+  // The index of the first cell with the value, row by row, or -1
+  public int find(final byte value) {
+    for (int row = 0; row < rows; row++) {
+      for (int index = index(row, 0); index <= index(row, cols - 1); index++) {
+        if (cells[index] == value) {
+          return index;
+        }
+      }
+    }
+    return -1;
+  }
+
+  public Line row(final int row) {
+    return new Line(cells, index(row, 0), 1, cols);
+  }
+
+  public Line column(final int col) {
+    return new Line(cells, index(0, col), stride, rows);
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    final Grid grid = (Grid) o;
+    return rows == grid.rows && cols == grid.cols && Arrays.equals(cells, grid.cells);
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(cells);
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder();
+    for (int row = 0; row < rows; row++) {
+      if (row > 0) {
+        sb.append('\n');
+      }
+      for (int col = 0; col < cols; col++) {
+        sb.append((char) get(row, col));
+      }
+    }
+    return sb.toString();
+  }
+
+  // A row or a column of a grid, read in place
+  public static final class Line {
+    private final byte[] cells;
+    private final int start;
+    private final int step;
+    private final int length;
+
+    private Line(final byte[] cells, final int start, final int step, final int length) {
+      this.cells = cells;
+      this.start = start;
+      this.step = step;
+      this.length = length;
+    }
+
+    public int length() {
+      return length;
+    }
+
+    public byte get(final int i) {
+      return cells[start + i * step];
+    }
+
+    // The number of positions where the two lines differ, the extra cells of the longer one included
+    public int mismatches(final Line other) {
+      int mismatches = Math.abs(length - other.length);
+      for (int i = 0; i < Math.min(length, other.length); i++) {
+        if (get(i) != other.get(i)) {
+          mismatches++;
+        }
+      }
+      return mismatches;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      return mismatches((Line) o) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+      int hash = 1;
+      for (int i = 0; i < length; i++) {
+        hash = 31 * hash + get(i);
+      }
+      return hash;
+    }
+  }
+
+}
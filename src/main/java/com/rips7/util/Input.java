@@ -0,0 +1,168 @@
+package com.rips7.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+// Read-only view over the bytes of an input. Resources that live on the file system are memory-mapped, so nothing is
+// copied to the heap until a String is explicitly asked for. Offsets are ints, so inputs are limited to 2 GB.
+@SuppressWarnings("unused")
+public class Input {
+
+  private final ByteBuffer bytes;
+  private int[] lineStarts;
+
+  private Input(final ByteBuffer bytes) {
+    this.bytes = bytes.asReadOnlyBuffer();
+  }
+
+  public static Input of(final byte[] bytes) {
+    return new Input(ByteBuffer.wrap(bytes));
+  }
+
+  public static Input of(final String input) {
+    return of(input.getBytes(StandardCharsets.UTF_8));
+  }
+
+  public static Input map(final Path path) {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      return new Input(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    } catch (final IOException e) {
+      throw new RuntimeException("Cannot map '%s'".formatted(path), e);
+    }
+  }
+
+  public static Input fromResource(final String filename) {
+    final URL url = Input.class.getResource(filename);
+    if (url == null) {
+      throw new RuntimeException("No input file '%s'".formatted(filename));
+    }
+    if ("file".equals(url.getProtocol())) {
+      try {
+        return map(Path.of(url.toURI()));
+      } catch (final URISyntaxException e) {
+        throw new RuntimeException(e);
+      }
+    }
+    // Not on the file system (e.g. packaged in a jar), so it cannot be mapped
+    try (InputStream in = url.openStream()) {
+      return of(in.readAllBytes());
+    } catch (final IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  public int size() {
+    return bytes.limit();
+  }
+
+  public byte byteAt(final int index) {
+    return bytes.get(index);
+  }
+
+  public ByteBuffer bytes() {
+    return bytes.duplicate();
+  }
+
+  public ByteBuffer slice(final int from, final int to) {
+    return bytes.slice(from, to - from);
+  }
+
+  public int lineCount() {
+    return lineStarts().length;
+  }
+
+  public int lineStart(final int line) {
+    return lineStarts()[line];
+  }
+
+  // Exclusive, without the line terminator, which the last line may have too
+  public int lineEnd(final int line) {
+    final int[] starts = lineStarts();
+    int end = line + 1 < starts.length ? starts[line + 1] - 1 : size();
+    if (end > starts[line] && bytes.get(end - 1) == '\n') {
+      end--;
+    }
+    if (end > starts[line] && bytes.get(end - 1) == '\r') {
+      end--;
+    }
+    return end;
+  }
+
+  public ByteBuffer line(final int line) {
+    return slice(lineStart(line), lineEnd(line));
+  }
+
+  public CharSequence chars() {
+    return new AsciiView(bytes, 0, size());
+  }
+
+  public CharSequence lineChars(final int line) {
+    return new AsciiView(bytes, lineStart(line), lineEnd(line));
+  }
+
+  public String asString() {
+    final byte[] copy = new byte[size()];
+    bytes.get(0, copy);
+    return new String(copy, StandardCharsets.UTF_8);
+  }
+
+  // A trailing new line does not start an empty last line, to match String.split("\n")
+  private int[] lineStarts() {
+    if (lineStarts == null) {
+      int[] starts = new int[16];
+      int count = 0;
+      final int size = size();
+      for (int i = 0; i < size; i = nextLine(i, size)) {
+        if (count == starts.length) {
+          starts = Arrays.copyOf(starts, count * 2);
+        }
+        starts[count++] = i;
+      }
+      lineStarts = Arrays.copyOf(starts, count);
+    }
+    return lineStarts;
+  }
+
+  private int nextLine(final int from, final int size) {
+    for (int i = from; i < size; i++) {
+      if (bytes.get(i) == '\n') {
+        return i + 1;
+      }
+    }
+    return size;
+  }
+
+  // Inputs are ASCII, so every byte is a char
+  private record AsciiView(ByteBuffer bytes, int from, int to) implements CharSequence {
+    @Override
+    public int length() {
+      return to - from;
+    }
+
+    @Override
+    public char charAt(final int index) {
+      return (char) (bytes.get(from + index) & 0xFF);
+    }
+
+    @Override
+    public CharSequence subSequence(final int start, final int end) {
+      return new AsciiView(bytes, from + start, from + end);
+    }
+
+    @Override
+    public String toString() {
+      final byte[] copy = new byte[length()];
+      bytes.get(from, copy);
+      return new String(copy, StandardCharsets.US_ASCII);
+    }
+  }
+
+}
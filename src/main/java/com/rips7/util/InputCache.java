@@ -0,0 +1,43 @@
+package com.rips7.util;
+
+import com.rips7.util.Util.TimedResult;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+@SuppressWarnings("unused")
+public class InputCache {
+
+  // Keeps the timed load result, so the original load time can still be reported on a cache hit
+  private static final Map<Class<?>, TimedResult<String>> CACHE = new ConcurrentHashMap<>();
+  private static final Map<Class<?>, TimedResult<?>> MODELS = new ConcurrentHashMap<>();
+
+  public static TimedResult<String> get(final Class<?> key, final Supplier<TimedResult<String>> loader) {
+    return CACHE.computeIfAbsent(key, k -> loader.get());
+  }
+
+  @SuppressWarnings("unchecked")
+  public static <M> TimedResult<M> getModel(final Class<?> key, final Supplier<TimedResult<M>> parser) {
+    return (TimedResult<M>) MODELS.computeIfAbsent(key, k -> parser.get());
+  }
+
+  public static boolean contains(final Class<?> key) {
+    return CACHE.containsKey(key);
+  }
+
+  public static boolean containsModel(final Class<?> key) {
+    return MODELS.containsKey(key);
+  }
+
+  public static void evict(final Class<?> key) {
+    CACHE.remove(key);
+    MODELS.remove(key);
+  }
+
+  public static void clear() {
+    CACHE.clear();
+    MODELS.clear();
+  }
+
+}
@@ -0,0 +1,227 @@
+package com.rips7.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Just enough JSON for the files the runner writes itself. Objects are read as (ordered) maps, arrays as lists, and
+// numbers as longs when integral, doubles otherwise.
+@SuppressWarnings("unused")
+public class Json {
+
+  public static String write(final Object value) {
+    final StringBuilder sb = new StringBuilder();
+    write(value, sb);
+    return sb.toString();
+  }
+
+  public static Object parse(final String json) {
+    final Parser parser = new Parser(json);
+    final Object value = parser.value();
+    parser.skipWhitespace();
+    if (parser.pos != json.length()) {
+      throw new RuntimeException("Unexpected '%s' at %s".formatted(json.charAt(parser.pos), parser.pos));
+    }
+    return value;
+  }
+
+  private static void write(final Object value, final StringBuilder sb) {
+    if (value == null) {
+      sb.append("null");
+    } else if (value instanceof String s) {
+      writeString(s, sb);
+    } else if (value instanceof Number || value instanceof Boolean) {
+      sb.append(value);
+    } else if (value instanceof Map<?, ?> map) {
+      sb.append('{');
+      boolean first = true;
+      for (final Map.Entry<?, ?> entry : map.entrySet()) {
+        if (!first) {
+          sb.append(',');
+        }
+        first = false;
+        writeString(String.valueOf(entry.getKey()), sb);
+        sb.append(':');
+        write(entry.getValue(), sb);
+      }
+      sb.append('}');
+    } else if (value instanceof Iterable<?> iterable) {
+      sb.append('[');
+      boolean first = true;
+      for (final Object element : iterable) {
+        if (!first) {
+          sb.append(',');
+        }
+        first = false;
+        write(element, sb);
+      }
+      sb.append(']');
+    } else if (value instanceof long[] array) {
+      write(Arrays.stream(array).boxed().toList(), sb);
+    } else {
+      writeString(value.toString(), sb);
+    }
+  }
+
+  private static void writeString(final String s, final StringBuilder sb) {
+    sb.append('"');
+    for (int i = 0; i < s.length(); i++) {
+      final char c = s.charAt(i);
+      switch (c) {
+        case '"' -> sb.append("\\\"");
+        case '\\' -> sb.append("\\\\");
+        case '\n' -> sb.append("\\n");
+        case '\r' -> sb.append("\\r");
+        case '\t' -> sb.append("\\t");
+        default -> {
+          if (c < 0x20) {
+            sb.append("\\u%04x".formatted((int) c));
+          } else {
+            sb.append(c);
+          }
+        }
+      }
+    }
+    sb.append('"');
+  }
+
+  private static class Parser {
+    private final String json;
+    private int pos;
+
+    private Parser(final String json) {
+      this.json = json;
+    }
+
+    private Object value() {
+      skipWhitespace();
+      if (pos >= json.length()) {
+        throw new RuntimeException("Unexpected end of JSON");
+      }
+      final char c = json.charAt(pos);
+      return switch (c) {
+        case '{' -> object();
+        case '[' -> array();
+        case '"' -> string();
+        case 't' -> literal("true", Boolean.TRUE);
+        case 'f' -> literal("false", Boolean.FALSE);
+        case 'n' -> literal("null", null);
+        default -> number();
+      };
+    }
+
+    private Map<String, Object> object() {
+      final Map<String, Object> map = new LinkedHashMap<>();
+      expect('{');
+      skipWhitespace();
+      if (peek() == '}') {
+        pos++;
+        return map;
+      }
+      do {
+        skipWhitespace();
+        final String key = string();
+        skipWhitespace();
+        expect(':');
+        map.put(key, value());
+        skipWhitespace();
+      } while (tryConsume(','));
+      expect('}');
+      return map;
+    }
+
+    private List<Object> array() {
+      final List<Object> list = new ArrayList<>();
+      expect('[');
+      skipWhitespace();
+      if (peek() == ']') {
+        pos++;
+        return list;
+      }
+      do {
+        list.add(value());
+        skipWhitespace();
+      } while (tryConsume(','));
+      expect(']');
+      return list;
+    }
+
+    private String string() {
+      expect('"');
+      final StringBuilder sb = new StringBuilder();
+      while (peek() != '"') {
+        final char c = json.charAt(pos++);
+        if (c != '\\') {
+          sb.append(c);
+          continue;
+        }
+        final char escaped = json.charAt(pos++);
+        switch (escaped) {
+          case 'n' -> sb.append('\n');
+          case 'r' -> sb.append('\r');
+          case 't' -> sb.append('\t');
+          case 'b' -> sb.append('\b');
+          case 'f' -> sb.append('\f');
+          case 'u' -> {
+            sb.append((char) Integer.parseInt(json.substring(pos, pos + 4), 16));
+            pos += 4;
+          }
+          default -> sb.append(escaped);
+        }
+      }
+      pos++;
+      return sb.toString();
+    }
+
+    private Number number() {
+      final int from = pos;
+      while (pos < json.length() && "+-0123456789.eE".indexOf(json.charAt(pos)) != -1) {
+        pos++;
+      }
+      final String number = json.substring(from, pos);
+      if (number.isEmpty()) {
+        throw new RuntimeException("Unexpected '%s' at %s".formatted(json.charAt(from), from));
+      }
+      return number.matches("-?\\d+") ? (Number) Long.parseLong(number) : (Number) Double.parseDouble(number);
+    }
+
+    private Object literal(final String literal, final Object value) {
+      if (!json.startsWith(literal, pos)) {
+        throw new RuntimeException("Expected '%s' at %s".formatted(literal, pos));
+      }
+      pos += literal.length();
+      return value;
+    }
+
+    private char peek() {
+      if (pos >= json.length()) {
+        throw new RuntimeException("Unexpected end of JSON");
+      }
+      return json.charAt(pos);
+    }
+
+    private void expect(final char c) {
+      if (peek() != c) {
+        throw new RuntimeException("Expected '%s' at %s but got '%s'".formatted(c, pos, json.charAt(pos)));
+      }
+      pos++;
+    }
+
+    private boolean tryConsume(final char c) {
+      if (pos < json.length() && json.charAt(pos) == c) {
+        pos++;
+        return true;
+      }
+      return false;
+    }
+
+    private void skipWhitespace() {
+      while (pos < json.length() && Character.isWhitespace(json.charAt(pos))) {
+        pos++;
+      }
+    }
+  }
+
+}
@@ -0,0 +1,192 @@
+package com.rips7.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Answers of previous runs, keyed by day, part, solver version and the SHA-256 of the input. The solver version is a
+// hash of the compiled day class and its nested classes, so changing a day invalidates its answers; changes in shared
+// code (e.g. the pathfinding algorithms) are not detected, which is why the cache is only used when asked for, and
+// changing such code needs an explicit invalidation.
+@SuppressWarnings("unused")
+public class ResultCache {
+
+  private static final Path DEFAULT_FILE = Path.of("results.properties");
+  private static final String DAY_PACKAGE = "com.rips7.day";
+  private static final Map<Class<?>, String> VERSIONS = new ConcurrentHashMap<>();
+
+  private final Path file;
+  private final Properties results;
+  private final boolean enabled;
+  // Keys stored since loading, oldest first, so that a long-running process can bound what it adds
+  private final Deque<String> stored = new ArrayDeque<>();
+  private int maxStored = Integer.MAX_VALUE;
+  private boolean modified;
+
+  private ResultCache(final Path file, final Properties results, final boolean enabled) {
+    this.file = file;
+    this.results = results;
+    this.enabled = enabled;
+  }
+
+  public static ResultCache disabled() {
+    return new ResultCache(null, new Properties(), false);
+  }
+
+  public static ResultCache load() {
+    return load(DEFAULT_FILE);
+  }
+
+  public static ResultCache load(final Path file) {
+    final Properties results = new Properties();
+    if (Files.exists(file)) {
+      try (InputStream in = Files.newInputStream(file)) {
+        results.load(in);
+      } catch (final IOException e) {
+        throw new RuntimeException("Cannot read results from '%s'".formatted(file), e);
+      }
+    }
+    final ResultCache cache = new ResultCache(file, results, true);
+    cache.removeStale();
+    return cache;
+  }
+
+  public synchronized Optional<Cached> recall(final Class<?> day, final int part, final String input) {
+    if (!enabled) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable(results.getProperty(key(day, part, input))).map(Cached::new);
+  }
+
+  public synchronized void store(final Class<?> day, final int part, final String input, final Object answer) {
+    if (!enabled) {
+      return;
+    }
+    final String key = key(day, part, input);
+    if (results.setProperty(key, String.valueOf(answer)) == null) {
+      stored.addLast(key);
+      if (stored.size() > maxStored) {
+        results.remove(stored.removeFirst());
+      }
+    }
+    modified = true;
+  }
+
+  // Keeps only the most recently stored answers of this process, on top of the ones that were loaded
+  public synchronized void limitStored(final int max) {
+    maxStored = max;
+  }
+
+  public synchronized void invalidate(final String day) {
+    results.stringPropertyNames().stream()
+        .filter(key -> key.startsWith(day + "."))
+        .forEach(results::remove);
+    modified = true;
+  }
+
+  public synchronized void clear() {
+    results.clear();
+    modified = true;
+  }
+
+  public synchronized void save() {
+    if (!enabled || !modified) {
+      return;
+    }
+    try (OutputStream out = Files.newOutputStream(file)) {
+      results.store(out, "Answers by day, part, solver version and input hash");
+      modified = false;
+    } catch (final IOException e) {
+      throw new RuntimeException("Cannot write results to '%s'".formatted(file), e);
+    }
+  }
+
+  // Answers of older solver versions, or of days that no longer exist, can never be recalled again
+  private void removeStale() {
+    final List<String> stale = results.stringPropertyNames().stream()
+        .filter(key -> !isCurrent(key))
+        .toList();
+    stale.forEach(results::remove);
+    modified = !stale.isEmpty();
+  }
+
+  private static boolean isCurrent(final String key) {
+    final String[] parts = key.split("\\.");
+    if (parts.length != 4) {
+      return false;
+    }
+    try {
+      final Class<?> day = Class.forName("%s.%s".formatted(DAY_PACKAGE, parts[0]), false,
+          ResultCache.class.getClassLoader());
+      return parts[2].equals(solverVersion(day));
+    } catch (final ClassNotFoundException e) {
+      return false;
+    }
+  }
+
+  public static String inputHash(final String input) {
+    return HexFormat.of().formatHex(sha256().digest(input.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  private static String key(final Class<?> day, final int part, final String input) {
+    return "%s%s.%s".formatted(prefix(day, part), solverVersion(day), inputHash(input));
+  }
+
+  private static String prefix(final Class<?> day, final int part) {
+    return "%s.part%s.".formatted(day.getSimpleName(), part);
+  }
+
+  private static String solverVersion(final Class<?> day) {
+    return VERSIONS.computeIfAbsent(day, d -> {
+      final MessageDigest digest = sha256();
+      digestClass(d, digest);
+      // A prefix is enough to tell versions apart, and keeps the keys readable
+      return HexFormat.of().formatHex(digest.digest()).substring(0, 16);
+    });
+  }
+
+  private static void digestClass(final Class<?> clazz, final MessageDigest digest) {
+    final String resource = "/%s.class".formatted(clazz.getName().replace('.', '/'));
+    try (InputStream in = ResultCache.class.getResourceAsStream(resource)) {
+      if (in == null) {
+        throw new RuntimeException("Cannot find the class file of %s".formatted(clazz.getName()));
+      }
+      digest.update(in.readAllBytes());
+    } catch (final IOException e) {
+      throw new RuntimeException("Cannot read the class file of %s".formatted(clazz.getName()), e);
+    }
+    for (final Class<?> nested : clazz.getDeclaredClasses()) {
+      digestClass(nested, digest);
+    }
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (final NoSuchAlgorithmException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  // An answer recalled from the cache, printed as the answer itself
+  public record Cached(String answer) {
+    @Override
+    public String toString() {
+      return answer;
+    }
+  }
+
+}
@@ -1,14 +1,25 @@
 package com.rips7.util;
 
+import com.rips7.util.function.IntBiConsumer;
+import com.rips7.util.function.IntBiPredicate;
+import com.rips7.util.function.IntBiToLongFunction;
+import com.rips7.util.maths.Coordinates;
+import com.rips7.util.maths.Maths.IntVec2;
 import com.rips7.util.maths.Maths.Vector2D;
 
+import com.sun.management.ThreadMXBean;
+
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
 import java.lang.reflect.Array;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -19,6 +30,8 @@ import java.util.stream.Stream;
 @SuppressWarnings("unused")
 public class Util {
 
+  private static final ThreadMXBean THREAD_MX_BEAN = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
   public enum AnsiColor {
     RESET("\u001B[0m"),
     BLACK("\u001B[30m"),
@@ -43,29 +56,33 @@ public class Util {
   }
 
   public enum Offset {
-    UP(Vector2D.of(-1, 0)),
-    RIGHT(Vector2D.of(0, 1)),
-    DOWN(Vector2D.of(1, 0)),
-    LEFT(Vector2D.of(0, -1));
+    UP(IntVec2.of(-1, 0)),
+    RIGHT(IntVec2.of(0, 1)),
+    DOWN(IntVec2.of(1, 0)),
+    LEFT(IntVec2.of(0, -1));
 
-    private final Vector2D<Integer> value;
+    private final IntVec2 value;
 
-    Offset(final Vector2D<Integer> value) {
+    Offset(final IntVec2 value) {
       this.value = value;
     }
 
+    public IntVec2 value() {
+      return value;
+    }
+
     public static List<Offset> getOffsets() {
       return Arrays.stream(values()).toList();
     }
   }
 
-  public record Position(Vector2D<Integer> value) {
+  public record Position(IntVec2 value) {
     public static Position of(final int i, final int j) {
-      return new Position(Vector2D.of(i, j));
+      return new Position(IntVec2.of(i, j));
     }
 
     public Position apply(final Offset offset) {
-      return new Position(Vector2D.add(this.value, offset.value, Integer::sum));
+      return new Position(value.add(offset.value));
     }
 
     public int x() {
@@ -85,10 +102,6 @@ public class Util {
     }
   }
 
-  public static Stream<String> lines(final String input) {
-    return Arrays.stream(input.split("\n"));
-  }
-
   public static boolean isBlank(final String input) {
     return input == null || input.length() == 0;
   }
@@ -144,56 +157,130 @@ public class Util {
     return 0 <= row && row < rows && 0 <= col && col < cols;
   }
 
-  public static long findLoopArea(final List<Vector2D<Integer>> loop) {
+  // The vertices of the loop are packed coordinates, and the last one repeats the first
+  public static long findLoopArea(final long[] loop) {
     // Shoelace formula for area inside the loop
     long innerAreaSum = 0;
-    for (int i = 0; i < loop.size() - 1; i++) {
-      final Vector2D<Integer> currentPoint = loop.get(i);
-      final Vector2D<Integer> nextPoint = loop.get((i + 1));
-      innerAreaSum += ((long) currentPoint.x() * nextPoint.y()) - ((long) nextPoint.x() * currentPoint.y());
+    for (int i = 0; i < loop.length - 1; i++) {
+      final long currentPoint = loop[i];
+      final long nextPoint = loop[i + 1];
+      innerAreaSum += ((long) Coordinates.x(currentPoint) * Coordinates.y(nextPoint))
+          - ((long) Coordinates.x(nextPoint) * Coordinates.y(currentPoint));
     }
     final long innerArea = Math.abs(innerAreaSum) / 2;
 
-    // In a grid, the shoelace formula calculates the area from the midpoint of the cells around the perimeter.
-    // We need to add the number of cells along the perimeter halved
+    // In a grid, the shoelace formula calculates the area from the midpoint of the cells around the perimeter. By Pick's
+    // theorem, the cells inside number area - perimeter / 2 + 1, and the perimeter cells are added to those
     long loopPerimeter = 0;
-    for (int i = 0; i < loop.size() - 1; i++) {
-      final Vector2D<Integer> currentPoint = loop.get(i);
-      final Vector2D<Integer> nextPoint = loop.get((i + 1));
-      if (currentPoint.x().equals(nextPoint.x())) {
-        loopPerimeter += Math.abs(currentPoint.y() - nextPoint.y());
-      } else if (currentPoint.y().equals(nextPoint.y())) {
-        loopPerimeter += Math.abs(currentPoint.x() - nextPoint.x());
-      }
+    for (int i = 0; i < loop.length - 1; i++) {
+      loopPerimeter += Coordinates.manhattan(loop[i], loop[i + 1]);
     }
 
-    return innerArea + loopPerimeter / 2 - 1;
+    return innerArea + loopPerimeter / 2 + 1;
   }
 
   public static <T> TimedResult<T> time(final Callable<T> runnable) {
-    final long start = System.currentTimeMillis();
+    final long startAllocatedBytes = allocatedBytes();
+    final long startGcCount = gcCount();
+    final long startGcMillis = gcMillis();
+    final long startCpuNanos = cpuNanos();
+    final long start = System.nanoTime();
     final T res;
     try {
       res = runnable.call();
     } catch (final Exception e) {
       throw new RuntimeException(e);
     }
-    final long end = System.currentTimeMillis();
-    final long diff = end - start;
-    if (diff < 1_000) { // less than a second
-      return new TimedResult<>(res, "Took %s ms".formatted(diff));
-    } else if (diff < 60_000) { // less than a minute
-      long millis = diff;
+    final long nanos = System.nanoTime() - start;
+    return new TimedResult<>(
+        res,
+        nanos,
+        cpuNanos() - startCpuNanos,
+        allocatedBytes() - startAllocatedBytes,
+        gcCount() - startGcCount,
+        gcMillis() - startGcMillis);
+  }
+
+  public static <T> Measurement<T> measure(final Callable<T> runnable, final int warmup, final int iterations) {
+    if (iterations < 1) {
+      throw new RuntimeException("Cannot measure %s iterations".formatted(iterations));
+    }
+    for (int i = 0; i < warmup; i++) {
+      time(runnable);
+    }
+    final long[] nanos = new long[iterations];
+    long cpuNanos = 0;
+    long allocatedBytes = 0;
+    long gcCount = 0;
+    long gcMillis = 0;
+    T res = null;
+    for (int i = 0; i < iterations; i++) {
+      final TimedResult<T> timedResult = time(runnable);
+      nanos[i] = timedResult.nanos();
+      cpuNanos += timedResult.cpuNanos();
+      allocatedBytes += timedResult.allocatedBytes();
+      gcCount += timedResult.gcCount();
+      gcMillis += timedResult.gcMillis();
+      res = timedResult.res();
+    }
+    return new Measurement<>(res, nanos, cpuNanos / iterations, allocatedBytes / iterations, gcCount, gcMillis);
+  }
+
+  // CPU time used so far by the current thread
+  public static long cpuNanos() {
+    return THREAD_MX_BEAN.getCurrentThreadCpuTime();
+  }
+
+  // Bytes allocated so far by the current thread
+  public static long allocatedBytes() {
+    return THREAD_MX_BEAN.getCurrentThreadAllocatedBytes();
+  }
+
+  // GC counters are JVM-wide, so they include collections caused by other threads running at the same time
+  public static long gcCount() {
+    return ManagementFactory.getGarbageCollectorMXBeans().stream()
+        .mapToLong(GarbageCollectorMXBean::getCollectionCount)
+        .filter(count -> count > 0)
+        .sum();
+  }
+
+  public static long gcMillis() {
+    return ManagementFactory.getGarbageCollectorMXBeans().stream()
+        .mapToLong(GarbageCollectorMXBean::getCollectionTime)
+        .filter(time -> time > 0)
+        .sum();
+  }
+
+  public static String formatBytes(final long bytes) {
+    if (bytes < 1024) {
+      return "%s B".formatted(bytes);
+    } else if (bytes < 1024 * 1024) {
+      return "%.2f KB".formatted(bytes / 1024.0);
+    } else if (bytes < 1024 * 1024 * 1024) {
+      return "%.2f MB".formatted(bytes / (1024.0 * 1024));
+    }
+    return "%.2f GB".formatted(bytes / (1024.0 * 1024 * 1024));
+  }
+
+  public static String formatResources(final long allocatedBytes, final long gcCount, final long gcMillis) {
+    return "allocated %s, %s GCs (%s ms)".formatted(formatBytes(allocatedBytes), gcCount, gcMillis);
+  }
+
+  public static String formatDuration(final long nanos) {
+    if (nanos < 1_000_000_000L) { // less than a second
+      return "%.3f ms".formatted(nanos / 1_000_000.0);
+    }
+    long millis = nanos / 1_000_000;
+    if (millis < 60_000) { // less than a minute
       final long seconds = millis / 1_000;
       millis -= seconds * 1_000;
-      return new TimedResult<>(res, "Took %s sec, %s ms".formatted(seconds, millis));
+      return "%s sec, %s ms".formatted(seconds, millis);
     } else {
-      long millis = diff;
       final long minutes = millis / 60_000;
       millis -= minutes * 60_000;
       final long seconds = millis / 1_000;
       millis -= seconds * 1_000;
-      return new TimedResult<>(res, "Took %s min, %s sec, %s ms".formatted(minutes, seconds, millis));
+      return "%s min, %s sec, %s ms".formatted(minutes, seconds, millis);
     }
   }
 
@@ -201,12 +288,89 @@ public class Util {
     System.out.printf("%s%s%s", col, text, AnsiColor.RESET);
   }
 
-  public static void loop2D(final int rows, final int cols, final BiConsumer<Integer, Integer> cb) {
-    IntStream.range(0, rows).forEach(r -> IntStream.range(0, cols).forEach(c -> cb.accept(r, c)));
+  public static void loop2D(final int rows, final int cols, final IntBiConsumer cb) {
+    for (int r = 0; r < rows; r++) {
+      for (int c = 0; c < cols; c++) {
+        cb.accept(r, c);
+      }
+    }
   }
 
   public static <T> void loop2D(final T[][] arr, final Consumer<T> cb) {
-    IntStream.range(0, arr.length).forEach(r -> IntStream.range(0, arr[r].length).forEach(c -> cb.accept(arr[r][c])));
+    for (final T[] row : arr) {
+      for (final T cell : row) {
+        cb.accept(cell);
+      }
+    }
+  }
+
+  public static long sum2D(final int rows, final int cols, final IntBiToLongFunction term) {
+    return new RowRangeSum(0, rows, cols, term, null).sum();
+  }
+
+  public static long count2D(final int rows, final int cols, final IntBiPredicate predicate) {
+    return sum2D(rows, cols, (r, c) -> predicate.test(r, c) ? 1 : 0);
+  }
+
+  // The parallel loops split the rows in ranges on the common fork-join pool, so the callback has to be safe to run
+  // from several threads, on different cells. Grids too small to be worth splitting run on the calling thread. The
+  // cancellation token of the calling thread is bound in every range, and checked before every row.
+  public static void parallelLoop2D(final int rows, final int cols, final IntBiConsumer cb) {
+    parallelSum2D(rows, cols, (r, c) -> {
+      cb.accept(r, c);
+      return 0;
+    });
+  }
+
+  public static long parallelSum2D(final int rows, final int cols, final IntBiToLongFunction term) {
+    return ForkJoinPool.commonPool().invoke(new RowRangeSum(0, rows, cols, term, CancellationToken.current()));
+  }
+
+  public static long parallelCount2D(final int rows, final int cols, final IntBiPredicate predicate) {
+    return parallelSum2D(rows, cols, (r, c) -> predicate.test(r, c) ? 1 : 0);
+  }
+
+  private static final class RowRangeSum extends RecursiveTask<Long> {
+    private static final long serialVersionUID = 1L;
+    private static final int MIN_CELLS = 1 << 14;
+
+    private final int fromRow;
+    private final int toRow;
+    private final int cols;
+    private final IntBiToLongFunction term;
+    private final CancellationToken token;
+
+    private RowRangeSum(final int fromRow, final int toRow, final int cols, final IntBiToLongFunction term,
+                        final CancellationToken token) {
+      this.fromRow = fromRow;
+      this.toRow = toRow;
+      this.cols = cols;
+      this.term = term;
+      this.token = token;
+    }
+
+    @Override
+    protected Long compute() {
+      if (toRow - fromRow < 2 || (long) (toRow - fromRow) * cols <= MIN_CELLS) {
+        return token.bind(this::sum);
+      }
+      final int middle = (fromRow + toRow) >>> 1;
+      final RowRangeSum upper = new RowRangeSum(fromRow, middle, cols, term, token);
+      upper.fork();
+      final long lower = new RowRangeSum(middle, toRow, cols, term, token).compute();
+      return upper.join() + lower;
+    }
+
+    private long sum() {
+      long sum = 0;
+      for (int r = fromRow; r < toRow; r++) {
+        CancellationToken.checkpoint();
+        for (int c = 0; c < cols; c++) {
+          sum += term.applyAsLong(r, c);
+        }
+      }
+      return sum;
+    }
   }
 
   public static <T> void print2DArray(final T[][] arr) {
@@ -235,17 +399,6 @@ public class Util {
     return Arrays.stream(arr, start, end).toArray(size -> newGenericArray(clazz, size));
   }
 
-  public static <T> T[][] slice2D(final Class<T> clazz, final T[][] arr, final int start, final int end) {
-    return Arrays.stream(arr, start, end).toArray(size -> newGeneric2DArray(clazz, size, arr[0].length));
-  }
-
-  public static <T> T[][] invert2D(final Class<T> clazz, final T[][] arr) {
-    return IntStream.range(0, arr.length)
-        .mapToObj(i -> arr.length - i - 1)
-        .map(i -> arr[i])
-        .toArray(size -> newGeneric2DArray(clazz, size, arr[0].length));
-  }
-
   public static <T> boolean equal2D(final T[][] arr1, final T[][] arr2) {
     if (arr1.length != arr2.length || arr1[0].length != arr2[0].length) {
       return false;
@@ -260,6 +413,70 @@ public class Util {
     return true;
   }
 
-  public record TimedResult<T>(T res, String timeInfo) {}
+  public record TimedResult<T>(T res, long nanos, long cpuNanos, long allocatedBytes, long gcCount, long gcMillis) {
+    public String timeInfo() {
+      return "Took %s".formatted(formatDuration(nanos));
+    }
+
+    public String resourcesInfo() {
+      return formatResources(allocatedBytes, gcCount, gcMillis);
+    }
+  }
+
+  // Result of running the same callable several times; the samples are kept sorted. CPU time and allocated bytes are
+  // the average of a single run, GC count and time are the totals of all runs.
+  public record Measurement<T>(T res, long[] nanos, long cpuNanos, long allocatedBytes, long gcCount, long gcMillis) {
+    public Measurement {
+      nanos = nanos.clone();
+      Arrays.sort(nanos);
+    }
+
+    public int iterations() {
+      return nanos.length;
+    }
+
+    public long min() {
+      return nanos[0];
+    }
+
+    public long max() {
+      return nanos[nanos.length - 1];
+    }
+
+    public long median() {
+      return percentile(50);
+    }
+
+    public long p99() {
+      return percentile(99);
+    }
+
+    // Nearest-rank percentile
+    public long percentile(final double p) {
+      final int rank = (int) Math.ceil(p / 100 * nanos.length);
+      return nanos[Math.max(0, Math.min(nanos.length - 1, rank - 1))];
+    }
+
+    public double mean() {
+      return Arrays.stream(nanos).average().orElse(0);
+    }
+
+    public double stdDev() {
+      final double mean = mean();
+      return Math.sqrt(Arrays.stream(nanos).mapToDouble(n -> (n - mean) * (n - mean)).sum() / nanos.length);
+    }
+
+    public String timeInfo() {
+      if (nanos.length == 1) {
+        return "Took %s".formatted(formatDuration(nanos[0]));
+      }
+      return "min %s, median %s, p99 %s over %s runs".formatted(
+          formatDuration(min()), formatDuration(median()), formatDuration(p99()), nanos.length);
+    }
+
+    public String resourcesInfo() {
+      return formatResources(allocatedBytes, gcCount, gcMillis);
+    }
+  }
 
 }
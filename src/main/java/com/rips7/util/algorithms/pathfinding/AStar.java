@@ -1,5 +1,8 @@
 package com.rips7.util.algorithms.pathfinding;
 
+import com.rips7.util.CancellationToken;
+import com.rips7.util.jfr.SearchEvent;
+
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -28,27 +31,36 @@ public class AStar<T> {
     gScore.put(startNode, 0.0f);
     fScore.put(startNode, heuristic.apply(start));
 
-    while (!frontier.isEmpty()) {
-      final AStarNode<T> current = frontier.poll();
-      if (current.equals(endNode)) {
-        return backtrack(current);
+    final SearchEvent event = SearchEvent.start(AStar.class);
+    try {
+      while (!frontier.isEmpty()) {
+        CancellationToken.checkpoint();
+        event.frontier(frontier.size());
+        final AStarNode<T> current = frontier.poll();
+        if (current.equals(endNode)) {
+          event.found();
+          return backtrack(current);
+        }
+        event.expanded();
+        neighborsGetter.apply(current.data()).entrySet().stream()
+          .map(entry -> {
+            final AStarNode<T> neighbor = node(entry.getKey());
+            final float cost = entry.getValue();
+            final float tentativeGScore = gScore.get(current) + cost;
+            if (tentativeGScore >= gScore.getOrDefault(neighbor, Float.MAX_VALUE)) {
+              return null;
+            }
+            neighbor.parent = current;
+            gScore.put(neighbor, tentativeGScore);
+            fScore.put(neighbor, tentativeGScore + heuristic.apply(neighbor.data()));
+            return neighbor;
+          })
+          .filter(Objects::nonNull)
+          .filter(n -> !frontier.contains(n))
+          .forEach(frontier::add);
       }
-      neighborsGetter.apply(current.data()).entrySet().stream()
-        .map(entry -> {
-          final AStarNode<T> neighbor = node(entry.getKey());
-          final float cost = entry.getValue();
-          final float tentativeGScore = gScore.get(current) + cost;
-          if (tentativeGScore >= gScore.getOrDefault(neighbor, Float.MAX_VALUE)) {
-            return null;
-          }
-          neighbor.parent = current;
-          gScore.put(neighbor, tentativeGScore);
-          fScore.put(neighbor, tentativeGScore + heuristic.apply(neighbor.data()));
-          return neighbor;
-        })
-        .filter(Objects::nonNull)
-        .filter(n -> !frontier.contains(n))
-        .forEach(frontier::add);
+    } finally {
+      event.finish();
     }
     throw new RuntimeException("No solution found");
   }
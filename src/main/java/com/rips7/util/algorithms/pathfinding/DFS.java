@@ -1,5 +1,8 @@
 package com.rips7.util.algorithms.pathfinding;
 
+import com.rips7.util.CancellationToken;
+import com.rips7.util.jfr.SearchEvent;
+
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
@@ -28,20 +31,29 @@ public class DFS<T> {
     } else {
       frontier.add(startNode);
     }
-    while (!frontier.isEmpty()) {
-      final DFSNode<T> current = frontier.pop();
-      if (current.equals(endNode)) {
-        return backtrack(current);
-      }
-      if (closed.contains(current)) {
-        continue;
+    final SearchEvent event = SearchEvent.start(DFS.class);
+    try {
+      while (!frontier.isEmpty()) {
+        CancellationToken.checkpoint();
+        event.frontier(frontier.size());
+        final DFSNode<T> current = frontier.pop();
+        if (current.equals(endNode)) {
+          event.found();
+          return backtrack(current);
+        }
+        if (closed.contains(current)) {
+          continue;
+        }
+        event.expanded();
+        neighborsGetter.apply(current.data()).stream()
+            .map(DFS::node)
+            .filter(n -> !Objects.equals(n, current.parent))
+            .peek(n -> n.parent = current)
+            .forEach(frontier::add);
+        closed.add(current);
       }
-      neighborsGetter.apply(current.data()).stream()
-          .map(DFS::node)
-          .filter(n -> !Objects.equals(n, current.parent))
-          .peek(n -> n.parent = current)
-          .forEach(frontier::add);
-      closed.add(current);
+    } finally {
+      event.finish();
     }
     throw new RuntimeException("No solution found");
   }
@@ -1,5 +1,7 @@
 package com.rips7.util.algorithms.pathfinding;
 
+import com.rips7.util.CancellationToken;
+import com.rips7.util.jfr.SearchEvent;
 import com.rips7.util.maths.Combinatorics.Pair;
 
 import java.util.ArrayList;
@@ -24,18 +26,27 @@ public class Dijkstra<T> {
         final PriorityQueue<Node<T>> frontier = new PriorityQueue<>(Comparator.comparing(node -> node.cost.get()));
         frontier.add(new Node<>(start));
 
-        while(!frontier.isEmpty()) {
-            final Node<T> current = frontier.poll();
-            if (endPredicate.test(current.data)) {
-                return Pair.of(backtrack(current), current.cost.get());
+        final SearchEvent event = SearchEvent.start(Dijkstra.class);
+        try {
+            while(!frontier.isEmpty()) {
+                CancellationToken.checkpoint();
+                event.frontier(frontier.size());
+                final Node<T> current = frontier.poll();
+                if (endPredicate.test(current.data)) {
+                    event.found();
+                    return Pair.of(backtrack(current), current.cost.get());
+                }
+                if (closedSet.contains(current.data)) {
+                    continue;
+                }
+                event.expanded();
+                closedSet.add(current.data);
+                neighborGetter.apply(current.data, current.cost.get()).entrySet().stream()
+                    .map((neighborAndCost) -> new Node<>(neighborAndCost.getKey(), neighborAndCost.getValue()))
+                    .forEach(frontier::add);
             }
-            if (closedSet.contains(current.data)) {
-                continue;
-            }
-            closedSet.add(current.data);
-            neighborGetter.apply(current.data, current.cost.get()).entrySet().stream()
-                .map((neighborAndCost) -> new Node<>(neighborAndCost.getKey(), neighborAndCost.getValue()))
-                .forEach(frontier::add);
+        } finally {
+            event.finish();
         }
 
         throw new RuntimeException("No path to end");
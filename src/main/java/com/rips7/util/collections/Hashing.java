@@ -0,0 +1,30 @@
+package com.rips7.util.collections;
+
+// What the open addressing tables share: spreading the keys over the slots, and sizing the tables
+class Hashing {
+
+  private static final int MIN_CAPACITY = 4;
+
+  // Packed coordinates and consecutive indices differ in few bits, so every bit of the key is spread over the hash
+  static int mix(final long key) {
+    final long h = key * 0x9E3779B97F4A7C15L;
+    return (int) (h ^ (h >>> 32));
+  }
+
+  static int mix(final int key) {
+    final int h = key * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+
+  // A power of two that holds the expected number of keys at most half full
+  static int capacity(final int expectedSize) {
+    final int needed = Math.max(MIN_CAPACITY, expectedSize * 2);
+    return Integer.highestOneBit(needed - 1) << 1;
+  }
+
+  // Whether a key that hashes to home is still reachable from it, probing up to slot, once the gap is emptied
+  static boolean isBetween(final int home, final int gap, final int slot) {
+    return gap <= slot ? gap < home && home <= slot : gap < home || home <= slot;
+  }
+
+}
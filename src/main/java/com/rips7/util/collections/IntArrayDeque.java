@@ -0,0 +1,117 @@
+package com.rips7.util.collections;
+
+import java.util.function.IntConsumer;
+
+// A deque of ints in a circular array that doubles when full. Like ArrayDeque, push and pop work on the first element,
+// so that it serves as a stack too.
+public class IntArrayDeque {
+
+  private int[] elements;
+  private int head;
+  private int size;
+
+  public IntArrayDeque() {
+    this(16);
+  }
+
+  public IntArrayDeque(final int expectedSize) {
+    this.elements = new int[Integer.highestOneBit(Math.max(expectedSize, 2) - 1) << 1];
+  }
+
+  public void addFirst(final int element) {
+    growIfFull();
+    head = (head - 1) & (elements.length - 1);
+    elements[head] = element;
+    size++;
+  }
+
+  public void addLast(final int element) {
+    growIfFull();
+    elements[(head + size) & (elements.length - 1)] = element;
+    size++;
+  }
+
+  public void add(final int element) {
+    addLast(element);
+  }
+
+  public void push(final int element) {
+    addFirst(element);
+  }
+
+  public int pollFirst() {
+    final int element = peekFirst();
+    head = (head + 1) & (elements.length - 1);
+    size--;
+    return element;
+  }
+
+  public int pollLast() {
+    final int element = peekLast();
+    size--;
+    return element;
+  }
+
+  public int poll() {
+    return pollFirst();
+  }
+
+  public int pop() {
+    return pollFirst();
+  }
+
+  public int peekFirst() {
+    if (size == 0) {
+      throw new RuntimeException("The deque is empty");
+    }
+    return elements[head];
+  }
+
+  public int peekLast() {
+    if (size == 0) {
+      throw new RuntimeException("The deque is empty");
+    }
+    return elements[(head + size - 1) & (elements.length - 1)];
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public void clear() {
+    head = 0;
+    size = 0;
+  }
+
+  // Iterates without a callback, from first (index 0) to last
+  public int get(final int index) {
+    if (index < 0 || index >= size) {
+      throw new RuntimeException("Index %s is out of bounds for size %s".formatted(index, size));
+    }
+    return elements[(head + index) & (elements.length - 1)];
+  }
+
+  // From first to last
+  public void forEach(final IntConsumer consumer) {
+    for (int i = 0; i < size; i++) {
+      consumer.accept(elements[(head + i) & (elements.length - 1)]);
+    }
+  }
+
+  private void growIfFull() {
+    if (size < elements.length) {
+      return;
+    }
+    final int[] grown = new int[elements.length * 2];
+    final int firstPart = Math.min(size, elements.length - head);
+    System.arraycopy(elements, head, grown, 0, firstPart);
+    System.arraycopy(elements, 0, grown, firstPart, size - firstPart);
+    elements = grown;
+    head = 0;
+  }
+
+}
@@ -0,0 +1,180 @@
+package com.rips7.util.collections;
+
+import java.util.Arrays;
+
+// A map from ints to ints, laid out like LongLongMap
+public class IntIntMap {
+
+  private int[] keys;
+  private int[] values;
+  private int mask;
+  private int size;
+  private boolean hasZero;
+  private int zeroValue;
+
+  public IntIntMap() {
+    this(16);
+  }
+
+  public IntIntMap(final int expectedSize) {
+    final int capacity = Hashing.capacity(expectedSize);
+    this.keys = new int[capacity];
+    this.values = new int[capacity];
+    this.mask = capacity - 1;
+  }
+
+  public int get(final int key, final int defaultValue) {
+    if (key == 0) {
+      return hasZero ? zeroValue : defaultValue;
+    }
+    final int slot = find(key);
+    return slot < 0 ? defaultValue : values[slot];
+  }
+
+  public boolean containsKey(final int key) {
+    return key == 0 ? hasZero : find(key) >= 0;
+  }
+
+  public void put(final int key, final int value) {
+    if (key == 0) {
+      size += hasZero ? 0 : 1;
+      hasZero = true;
+      zeroValue = value;
+      return;
+    }
+    int slot = Hashing.mix(key) & mask;
+    for (int current = keys[slot]; current != 0; current = keys[slot]) {
+      if (current == key) {
+        values[slot] = value;
+        return;
+      }
+      slot = (slot + 1) & mask;
+    }
+    keys[slot] = key;
+    values[slot] = value;
+    if (++size > keys.length / 2) {
+      rehash(keys.length * 2);
+    }
+  }
+
+  // Adds to the value of the key, which starts from 0, and returns the sum
+  public int addTo(final int key, final int increment) {
+    final int sum = get(key, 0) + increment;
+    put(key, sum);
+    return sum;
+  }
+
+  public boolean remove(final int key) {
+    if (key == 0) {
+      final boolean removed = hasZero;
+      hasZero = false;
+      size -= removed ? 1 : 0;
+      return removed;
+    }
+    final int slot = find(key);
+    if (slot < 0) {
+      return false;
+    }
+    size--;
+    shiftKeys(slot);
+    return true;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public void clear() {
+    Arrays.fill(keys, 0);
+    hasZero = false;
+    size = 0;
+  }
+
+  // Iterates without a callback: for (int slot = next(-1); slot >= 0; slot = next(slot)), reading keyAt(slot) and valueAt(slot).
+  // The key 0 has the slot past the end of the table.
+  public int next(final int slot) {
+    for (int i = slot + 1; i < keys.length; i++) {
+      if (keys[i] != 0) {
+        return i;
+      }
+    }
+    return hasZero && slot < keys.length ? keys.length : -1;
+  }
+
+  public int keyAt(final int slot) {
+    return slot == keys.length ? 0 : keys[slot];
+  }
+
+  public int valueAt(final int slot) {
+    return slot == keys.length ? zeroValue : values[slot];
+  }
+
+  public void forEach(final EntryConsumer consumer) {
+    if (hasZero) {
+      consumer.accept(0, zeroValue);
+    }
+    for (int slot = 0; slot < keys.length; slot++) {
+      if (keys[slot] != 0) {
+        consumer.accept(keys[slot], values[slot]);
+      }
+    }
+  }
+
+  private int find(final int key) {
+    int slot = Hashing.mix(key) & mask;
+    for (int current = keys[slot]; current != 0; current = keys[slot]) {
+      if (current == key) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return -1;
+  }
+
+  private void shiftKeys(int gap) {
+    int slot = gap;
+    while (true) {
+      slot = (slot + 1) & mask;
+      final int current = keys[slot];
+      if (current == 0) {
+        keys[gap] = 0;
+        return;
+      }
+      final int home = Hashing.mix(current) & mask;
+      if (Hashing.isBetween(home, gap, slot)) {
+        continue;
+      }
+      keys[gap] = current;
+      values[gap] = values[slot];
+      gap = slot;
+    }
+  }
+
+  private void rehash(final int capacity) {
+    final int[] oldKeys = keys;
+    final int[] oldValues = values;
+    keys = new int[capacity];
+    values = new int[capacity];
+    mask = capacity - 1;
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldKeys[i] != 0) {
+        int slot = Hashing.mix(oldKeys[i]) & mask;
+        while (keys[slot] != 0) {
+          slot = (slot + 1) & mask;
+        }
+        keys[slot] = oldKeys[i];
+        values[slot] = oldValues[i];
+      }
+    }
+  }
+
+  @FunctionalInterface
+  public interface EntryConsumer {
+    void accept(int key, int value);
+  }
+
+}
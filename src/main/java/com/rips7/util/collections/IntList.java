@@ -0,0 +1,113 @@
+package com.rips7.util.collections;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+// A list of ints in an array that grows by half when full
+public class IntList {
+
+  private int[] elements;
+  private int size;
+
+  public IntList() {
+    this(10);
+  }
+
+  public IntList(final int expectedSize) {
+    this.elements = new int[Math.max(expectedSize, 1)];
+  }
+
+  public static IntList of(final int... elements) {
+    final IntList list = new IntList(elements.length);
+    for (final int element : elements) {
+      list.add(element);
+    }
+    return list;
+  }
+
+  public void add(final int element) {
+    if (size == elements.length) {
+      elements = Arrays.copyOf(elements, elements.length + (elements.length >> 1) + 1);
+    }
+    elements[size++] = element;
+  }
+
+  public int get(final int index) {
+    checkIndex(index);
+    return elements[index];
+  }
+
+  public void set(final int index, final int element) {
+    checkIndex(index);
+    elements[index] = element;
+  }
+
+  public int removeLast() {
+    checkIndex(size - 1);
+    return elements[--size];
+  }
+
+  public int indexOf(final int element) {
+    for (int i = 0; i < size; i++) {
+      if (elements[i] == element) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  public boolean contains(final int element) {
+    return indexOf(element) >= 0;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public void clear() {
+    size = 0;
+  }
+
+  public void forEach(final IntConsumer consumer) {
+    for (int i = 0; i < size; i++) {
+      consumer.accept(elements[i]);
+    }
+  }
+
+  public int[] toArray() {
+    return Arrays.copyOf(elements, size);
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    final IntList other = (IntList) o;
+    return Arrays.equals(elements, 0, size, other.elements, 0, other.size);
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = 1;
+    for (int i = 0; i < size; i++) {
+      hash = 31 * hash + elements[i];
+    }
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    return Arrays.toString(toArray());
+  }
+
+  private void checkIndex(final int index) {
+    if (index < 0 || index >= size) {
+      throw new RuntimeException("Index %s is out of bounds for size %s".formatted(index, size));
+    }
+  }
+
+}
@@ -0,0 +1,153 @@
+package com.rips7.util.collections;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+// A set of longs in a single open addressing table with linear probing, so that adding and looking up a key neither
+// boxes nor allocates. The table doubles when it is half full. 0 marks the free slots, so the key 0 is kept aside.
+public class LongSet {
+
+  private long[] keys;
+  private int mask;
+  private int size;
+  private boolean hasZero;
+
+  public LongSet() {
+    this(16);
+  }
+
+  public LongSet(final int expectedSize) {
+    final int capacity = Hashing.capacity(expectedSize);
+    this.keys = new long[capacity];
+    this.mask = capacity - 1;
+  }
+
+  public boolean add(final long key) {
+    if (key == 0) {
+      final boolean added = !hasZero;
+      hasZero = true;
+      size += added ? 1 : 0;
+      return added;
+    }
+    int slot = Hashing.mix(key) & mask;
+    for (long current = keys[slot]; current != 0; current = keys[slot]) {
+      if (current == key) {
+        return false;
+      }
+      slot = (slot + 1) & mask;
+    }
+    keys[slot] = key;
+    if (++size > keys.length / 2) {
+      rehash(keys.length * 2);
+    }
+    return true;
+  }
+
+  public boolean contains(final long key) {
+    if (key == 0) {
+      return hasZero;
+    }
+    int slot = Hashing.mix(key) & mask;
+    for (long current = keys[slot]; current != 0; current = keys[slot]) {
+      if (current == key) {
+        return true;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return false;
+  }
+
+  public boolean remove(final long key) {
+    if (key == 0) {
+      final boolean removed = hasZero;
+      hasZero = false;
+      size -= removed ? 1 : 0;
+      return removed;
+    }
+    int slot = Hashing.mix(key) & mask;
+    for (long current = keys[slot]; current != 0; current = keys[slot]) {
+      if (current == key) {
+        size--;
+        shiftKeys(slot);
+        return true;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return false;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public void clear() {
+    Arrays.fill(keys, 0);
+    hasZero = false;
+    size = 0;
+  }
+
+  // Iterates without a callback: for (int slot = next(-1); slot >= 0; slot = next(slot)), reading keyAt(slot).
+  // The key 0 has the slot past the end of the table.
+  public int next(final int slot) {
+    for (int i = slot + 1; i < keys.length; i++) {
+      if (keys[i] != 0) {
+        return i;
+      }
+    }
+    return hasZero && slot < keys.length ? keys.length : -1;
+  }
+
+  public long keyAt(final int slot) {
+    return slot == keys.length ? 0 : keys[slot];
+  }
+
+  public void forEach(final LongConsumer consumer) {
+    if (hasZero) {
+      consumer.accept(0);
+    }
+    for (final long key : keys) {
+      if (key != 0) {
+        consumer.accept(key);
+      }
+    }
+  }
+
+  // Moves the keys that follow a removed one back, so that no probe sequence is broken by the gap
+  private void shiftKeys(int gap) {
+    int slot = gap;
+    while (true) {
+      slot = (slot + 1) & mask;
+      final long current = keys[slot];
+      if (current == 0) {
+        keys[gap] = 0;
+        return;
+      }
+      final int home = Hashing.mix(current) & mask;
+      if (Hashing.isBetween(home, gap, slot)) {
+        continue;
+      }
+      keys[gap] = current;
+      gap = slot;
+    }
+  }
+
+  private void rehash(final int capacity) {
+    final long[] oldKeys = keys;
+    keys = new long[capacity];
+    mask = capacity - 1;
+    for (final long key : oldKeys) {
+      if (key != 0) {
+        int slot = Hashing.mix(key) & mask;
+        while (keys[slot] != 0) {
+          slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+      }
+    }
+  }
+
+}
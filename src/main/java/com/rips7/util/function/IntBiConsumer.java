@@ -0,0 +1,7 @@
+package com.rips7.util.function;
+
+// BiConsumer of two ints, such as a row and a column, without boxing them
+@FunctionalInterface
+public interface IntBiConsumer {
+  void accept(int first, int second);
+}
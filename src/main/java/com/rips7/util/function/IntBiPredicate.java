@@ -0,0 +1,6 @@
+package com.rips7.util.function;
+
+@FunctionalInterface
+public interface IntBiPredicate {
+  boolean test(int first, int second);
+}
@@ -0,0 +1,7 @@
+package com.rips7.util.function;
+
+// The term of a sum over two ints, such as the cells of a grid
+@FunctionalInterface
+public interface IntBiToLongFunction {
+  long applyAsLong(int first, int second);
+}
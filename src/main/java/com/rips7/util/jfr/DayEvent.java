@@ -0,0 +1,36 @@
+package com.rips7.util.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.rips7.Day")
+@Label("Day")
+@Category({"Advent of Code", "Day"})
+public class DayEvent extends Event {
+
+  @Label("Day")
+  private String day;
+
+  @Label("Input Size")
+  @DataAmount
+  private long inputSize;
+
+  public static void record(final String day, final long inputSize, final Runnable runnable) {
+    final DayEvent event = new DayEvent();
+    event.begin();
+    try {
+      runnable.run();
+    } finally {
+      event.end();
+      if (event.shouldCommit()) {
+        event.day = day;
+        event.inputSize = inputSize;
+        event.commit();
+      }
+    }
+  }
+
+}
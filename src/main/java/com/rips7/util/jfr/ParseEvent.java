@@ -0,0 +1,44 @@
+package com.rips7.util.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import java.util.function.Supplier;
+
+@Name("com.rips7.Parse")
+@Label("Parse")
+@Category({"Advent of Code", "Day"})
+public class ParseEvent extends Event {
+
+  @Label("Day")
+  private String day;
+
+  @Label("Input Size")
+  @DataAmount
+  private long inputSize;
+
+  @Label("Model")
+  private String model;
+
+  public static <M> M record(final String day, final long inputSize, final Supplier<M> parser) {
+    final ParseEvent event = new ParseEvent();
+    event.begin();
+    M res = null;
+    try {
+      res = parser.get();
+      return res;
+    } finally {
+      event.end();
+      if (event.shouldCommit()) {
+        event.day = day;
+        event.inputSize = inputSize;
+        event.model = res == null ? null : res.getClass().getName();
+        event.commit();
+      }
+    }
+  }
+
+}
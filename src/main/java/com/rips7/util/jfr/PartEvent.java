@@ -0,0 +1,50 @@
+package com.rips7.util.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import java.util.concurrent.Callable;
+
+@Name("com.rips7.Part")
+@Label("Part")
+@Category({"Advent of Code", "Day"})
+public class PartEvent extends Event {
+
+  @Label("Day")
+  private String day;
+
+  @Label("Part")
+  private int part;
+
+  @Label("Input Size")
+  @DataAmount
+  private long inputSize;
+
+  @Label("Result")
+  private String result;
+
+  public static <T> Callable<T> wrap(final String day, final int part, final long inputSize, final Callable<T> solver) {
+    return () -> {
+      final PartEvent event = new PartEvent();
+      event.begin();
+      T res = null;
+      try {
+        res = solver.call();
+        return res;
+      } finally {
+        event.end();
+        if (event.shouldCommit()) {
+          event.day = day;
+          event.part = part;
+          event.inputSize = inputSize;
+          event.result = String.valueOf(res);
+          event.commit();
+        }
+      }
+    };
+  }
+
+}
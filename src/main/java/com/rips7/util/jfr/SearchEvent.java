@@ -0,0 +1,51 @@
+package com.rips7.util.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.rips7.Search")
+@Label("Search")
+@Category({"Advent of Code", "Pathfinding"})
+public class SearchEvent extends Event {
+
+  @Label("Algorithm")
+  private String algorithm;
+
+  @Label("Nodes Expanded")
+  private long nodesExpanded;
+
+  @Label("Frontier Peak Size")
+  private int frontierPeak;
+
+  @Label("Found")
+  private boolean found;
+
+  public static SearchEvent start(final Class<?> algorithm) {
+    final SearchEvent event = new SearchEvent();
+    event.algorithm = algorithm.getSimpleName();
+    event.begin();
+    return event;
+  }
+
+  public void expanded() {
+    nodesExpanded++;
+  }
+
+  public void frontier(final int size) {
+    frontierPeak = Math.max(frontierPeak, size);
+  }
+
+  public void found() {
+    found = true;
+  }
+
+  public void finish() {
+    end();
+    if (shouldCommit()) {
+      commit();
+    }
+  }
+
+}
@@ -0,0 +1,51 @@
+package com.rips7.util.maths;
+
+import com.rips7.util.Util.Offset;
+import com.rips7.util.maths.Maths.IntVec2;
+
+// A pair of int coordinates packed in a single long, x in the high half and y in the low one, so that a coordinate is
+// a primitive that can be stored, compared and hashed without allocating. Adding works on each half separately, so a
+// negative y does not borrow from x.
+public class Coordinates {
+
+  public static long pack(final int x, final int y) {
+    return ((long) x << 32) | (y & 0xFFFFFFFFL);
+  }
+
+  public static long pack(final IntVec2 vec) {
+    return pack(vec.x(), vec.y());
+  }
+
+  public static int x(final long packed) {
+    return (int) (packed >> 32);
+  }
+
+  public static int y(final long packed) {
+    return (int) packed;
+  }
+
+  public static IntVec2 unpack(final long packed) {
+    return IntVec2.of(x(packed), y(packed));
+  }
+
+  public static long add(final long packed, final int dx, final int dy) {
+    return pack(x(packed) + dx, y(packed) + dy);
+  }
+
+  public static long add(final long packed, final long other) {
+    return add(packed, x(other), y(other));
+  }
+
+  public static long neighbor(final long packed, final Offset offset) {
+    return add(packed, offset.value().x(), offset.value().y());
+  }
+
+  public static long manhattan(final long packed, final long other) {
+    return Math.abs((long) x(packed) - x(other)) + Math.abs((long) y(packed) - y(other));
+  }
+
+  public static String toString(final long packed) {
+    return "(%s,%s)".formatted(x(packed), y(packed));
+  }
+
+}
@@ -6,9 +6,6 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.function.BiFunction;
 
-import static com.rips7.util.Util.loop2D;
-import static com.rips7.util.Util.newGeneric2DArray;
-
 @SuppressWarnings("unused")
 public class Maths {
 
@@ -32,6 +29,29 @@ public class Maths {
     }
   }
 
+  // Vector2D with primitive components, for coordinates that are created and hashed in hot loops
+  public record IntVec2(int x, int y) {
+    public static IntVec2 of(final int x, final int y) {
+      return new IntVec2(x, y);
+    }
+
+    public IntVec2 add(final IntVec2 other) {
+      return new IntVec2(x + other.x, y + other.y);
+    }
+
+    public IntVec2 scale(final int times) {
+      return new IntVec2(x * times, y * times);
+    }
+
+    public int manhattan(final IntVec2 other) {
+      return Math.abs(x - other.x) + Math.abs(y - other.y);
+    }
+
+    public long packed() {
+      return Coordinates.pack(x, y);
+    }
+  }
+
   public static Float min(final Float... numbers) {
     return Arrays.stream(numbers)
         .reduce(Math::min)
@@ -82,12 +102,6 @@ public class Maths {
     return gcd(b, a % b);
   }
 
-  public static <T> T[][] transpose(final Class<T> clazz, final T[][] arr) {
-    final T[][] result = newGeneric2DArray(clazz, arr[0].length, arr.length);
-    loop2D(result.length, result[0].length, (r, c) -> result[r][c] = arr[c][r]);
-    return result;
-  }
-
   public static void solveGauss(final BigDecimal[][] m) {
     for (int row = 0; row < m.length; row++) {
       // 1. set c[row][row] equal to 1
@@ -0,0 +1,126 @@
+package com.rips7.day;
+
+import com.rips7.util.CancellationToken;
+import com.rips7.util.Input;
+import com.rips7.util.InputCache;
+import com.rips7.util.ResultCache;
+import com.rips7.util.Util.Measurement;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Every strategy of every day part must give the answers of the worked examples and of the real input, and solve the
+// real input within its time limit. A strategy that overruns is cancelled at its next checkpoint.
+class DayTest {
+
+  private static final Properties EXAMPLES = load("/examples.properties");
+  private static final Properties ANSWERS = load("/answers.properties");
+  private static final Properties LATENCY = load("/latency.properties");
+
+  private Day<?> solved;
+
+  @AfterEach
+  void evictInput() {
+    if (solved != null) {
+      InputCache.evict(solved.getClass());
+    }
+  }
+
+  @ParameterizedTest(name = "{0}.part{1}.{2} ({3})")
+  @MethodSource("examples")
+  void solvesExample(final String dayName, final int part, final String example, final String strategy) {
+    final Day<?> day = DayRegistry.get(dayName);
+    final String input = Input.fromResource("/%s/%s".formatted(dayName.toLowerCase(), example)).asString();
+    assertEquals(EXAMPLES.getProperty("%s.part%s.%s".formatted(dayName, part, example)),
+        String.valueOf(day.strategy(part, strategy).solve(input)));
+  }
+
+  // Parsing the bytes of an Input in place must give the same answers as parsing a String
+  @ParameterizedTest(name = "{0}.part{1}.{2} ({3}, in place)")
+  @MethodSource("referenceExamples")
+  void solvesExampleInPlace(final String dayName, final int part, final String example, final String strategy) {
+    final Day<?> day = DayRegistry.get(dayName);
+    final Input input = Input.fromResource("/%s/%s".formatted(dayName.toLowerCase(), example));
+    assertEquals(EXAMPLES.getProperty("%s.part%s.%s".formatted(dayName, part, example)),
+        String.valueOf(part == 1 ? day.part1(input) : day.part2(input)));
+  }
+
+  @ParameterizedTest(name = "{0}.part{1} ({2})")
+  @MethodSource("inputs")
+  void solvesInputInTime(final String dayName, final int part, final String strategy) {
+    final Day<?> day = DayRegistry.get(dayName);
+    solved = day;
+    final Duration limit = Duration.ofMillis(Long.parseLong(LATENCY.getProperty("%s.part%s".formatted(dayName, part),
+        LATENCY.getProperty("default"))));
+
+    final Measurement<?> res = day.measurePart(part, strategy, 0, 1, ResultCache.disabled(), limit);
+    assertFalse(res.res() instanceof CancellationToken.TimedOut, "%s".formatted(res.res()));
+    assertEquals(ANSWERS.getProperty("%s.part%s".formatted(dayName, part)), String.valueOf(res.res()));
+    // Solvers without checkpoints run to the end, so the limit is checked again
+    assertTrue(res.median() <= limit.toNanos(), "Took %s ms, more than %s ms".formatted(res.median() / 1_000_000,
+        limit.toMillis()));
+  }
+
+  static Stream<Arguments> examples() {
+    final List<Arguments> arguments = new ArrayList<>();
+    EXAMPLES.stringPropertyNames().stream()
+        .map(key -> key.split("\\."))
+        .sorted(Comparator.comparingInt((String[] key) -> number(key[0]))
+            .thenComparing(key -> key[1])
+            .thenComparing(key -> key[2]))
+        .forEach(key -> {
+          final int part = Integer.parseInt(key[1].substring("part".length()));
+          DayRegistry.get(key[0]).strategies(part)
+              .forEach(strategy -> arguments.add(Arguments.of(key[0], part, key[2], strategy.name())));
+        });
+    return arguments.stream();
+  }
+
+  static Stream<Arguments> referenceExamples() {
+    return examples().filter(arguments -> Strategy.REFERENCE.equals(arguments.get()[3]));
+  }
+
+  static Stream<Arguments> inputs() {
+    final List<Arguments> arguments = new ArrayList<>();
+    DayRegistry.names().forEach(name -> {
+      for (int part = 1; part <= 2; part++) {
+        final int currentPart = part;
+        DayRegistry.get(name).strategies(part)
+            .forEach(strategy -> arguments.add(Arguments.of(name, currentPart, strategy.name())));
+      }
+    });
+    return arguments.stream();
+  }
+
+  private static int number(final String dayName) {
+    return Integer.parseInt(dayName.substring("Day".length()));
+  }
+
+  private static Properties load(final String resource) {
+    final Properties properties = new Properties();
+    try (InputStream in = DayTest.class.getResourceAsStream(resource)) {
+      if (in == null) {
+        throw new RuntimeException("Cannot find '%s'".formatted(resource));
+      }
+      properties.load(in);
+    } catch (final IOException e) {
+      throw new RuntimeException("Cannot read '%s'".formatted(resource), e);
+    }
+    return properties;
+  }
+
+}
@@ -0,0 +1,59 @@
+package com.rips7.runner;
+
+import com.rips7.day.Day17;
+import com.rips7.day.DayRegistry.Selection;
+import com.rips7.metrics.MetricsSink;
+import com.rips7.util.ResultCache;
+import com.rips7.util.Util.Measurement;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BaselineTest {
+
+  @TempDir
+  Path dir;
+
+  @Test
+  void reportsPartsThatTimeOutOrAreMissing() {
+    final Baseline baseline = Baseline.of(Map.of(
+        "Day17.part1", measurement(1_000_000, 1_100_000, 1_200_000),
+        "Day17.part2", measurement(1_000_000, 1_100_000, 1_200_000)));
+
+    // Day17 checks for cancellation on every state it takes off the frontier, and takes far longer than this
+    final Runner runner = new Runner(Timings.load(dir.resolve("timings.properties")), ResultCache.disabled(),
+        MetricsSink.none(), 0, 1, Duration.ofMillis(1), Strategies.reference());
+    runner.runSequential(List.of(new Selection(new Day17(), Set.of(1))));
+
+    assertEquals(Set.of("Day17.part1"), runner.timedOut());
+    assertTrue(runner.measurements().isEmpty());
+    assertEquals(List.of("Day17.part1", "Day17.part2"),
+        baseline.compare(runner.measurements(), runner.timedOut(), 0.1));
+  }
+
+  @Test
+  void reportsOnlyPartsThatAreSignificantlySlower() {
+    final Baseline baseline = Baseline.of(Map.of(
+        "Day1.part1", measurement(1_000_000, 1_100_000, 1_200_000, 1_300_000, 1_400_000),
+        "Day1.part2", measurement(1_000_000, 1_100_000, 1_200_000, 1_300_000, 1_400_000)));
+
+    final Map<String, Measurement<?>> measurements = Map.of(
+        "Day1.part1", measurement(9_000_000, 9_100_000, 9_200_000, 9_300_000, 9_400_000),
+        "Day1.part2", measurement(1_000_000, 1_100_000, 1_200_000, 1_300_000, 1_400_000),
+        "Day2.part1", measurement(5_000_000));
+    assertEquals(List.of("Day1.part1"), baseline.compare(measurements, Set.of(), 0.1));
+  }
+
+  private static Measurement<Integer> measurement(final long... nanos) {
+    return new Measurement<>(0, nanos, 0, 0, 0, 0);
+  }
+
+}
@@ -0,0 +1,67 @@
+package com.rips7.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ByteView2DTest {
+
+  // 3 rows of 2: ab / cd / ef
+  private static final Grid GRID = Grid.parse("ab\ncd\nef");
+
+  @Test
+  void slicesReversesAndTransposesWithoutCopying() {
+    final ByteView2D view = ByteView2D.of(GRID);
+
+    assertEquals("cd\nef", text(view.slice(1, 3)));
+    assertEquals("ef\ncd\nab", text(view.reversed()));
+    assertEquals("ace\nbdf", text(view.transposed()));
+    assertEquals("eca\nfdb", text(view.reversed().transposed()));
+    assertEquals("fdb\neca", text(view.reversed().transposed().reversed()));
+  }
+
+  @Test
+  void reversesEmptyAndSingleRowViews() {
+    final ByteView2D view = ByteView2D.of(GRID);
+
+    assertEquals(0, view.slice(1, 1).reversed().rows());
+    assertEquals(0, view.slice(3, 3).reversed().mismatches(view.slice(0, 0), Integer.MAX_VALUE));
+    assertEquals("cd", text(view.slice(1, 2).reversed()));
+    assertEquals("cd", text(view.slice(1, 2).reversed().reversed()));
+  }
+
+  // Day13 compares the rows above a line with the reversed rows below it
+  @Test
+  void countsMismatchesUpToTheLimit() {
+    final ByteView2D view = ByteView2D.of(Grid.parse("#.\n#.\n.#"));
+
+    assertEquals(0, view.slice(0, 1).mismatches(view.slice(1, 2).reversed(), 10));
+    assertEquals(2, view.slice(0, 1).mismatches(view.slice(2, 3), 10));
+    assertEquals(1, view.slice(0, 1).mismatches(view.slice(2, 3), 1));
+  }
+
+  @Test
+  void rejectsBadSlicesAndSizes() {
+    final ByteView2D view = ByteView2D.of(GRID);
+
+    assertThrows(RuntimeException.class, () -> view.slice(-1, 1));
+    assertThrows(RuntimeException.class, () -> view.slice(2, 4));
+    assertThrows(RuntimeException.class, () -> view.slice(2, 1));
+    assertThrows(RuntimeException.class, () -> view.mismatches(view.transposed(), 1));
+  }
+
+  private static String text(final ByteView2D view) {
+    final StringBuilder sb = new StringBuilder();
+    for (int row = 0; row < view.rows(); row++) {
+      if (row > 0) {
+        sb.append('\n');
+      }
+      for (int col = 0; col < view.cols(); col++) {
+        sb.append((char) view.get(row, col));
+      }
+    }
+    return sb.toString();
+  }
+
+}
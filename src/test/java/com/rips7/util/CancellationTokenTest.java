@@ -0,0 +1,115 @@
+package com.rips7.util;
+
+import com.rips7.util.CancellationToken.CancelledException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CancellationTokenTest {
+
+  @Test
+  void checkpointsThrowOnceTheBoundTokenIsCancelled() {
+    final CancellationToken token = CancellationToken.create();
+
+    final CancelledException cancelled = assertThrows(CancelledException.class, () -> token.run(() -> {
+      CancellationToken.checkpoint();
+      token.cancel();
+      CancellationToken.checkpoint();
+      return null;
+    }));
+    assertSame(token, cancelled.token());
+    assertEquals("Cancelled", cancelled.getMessage());
+  }
+
+  // A thread without a token is never cancelled, and the token is unbound once it returns
+  @Test
+  void onlyCancelsTheThreadItIsBoundTo() {
+    final CancellationToken token = CancellationToken.create();
+    token.cancel();
+
+    assertDoesNotThrow(CancellationToken::checkpoint);
+    assertThrows(CancelledException.class, () -> token.run(() -> {
+      CancellationToken.checkpoint();
+      return null;
+    }));
+    assertDoesNotThrow(CancellationToken::checkpoint);
+    assertFalse(CancellationToken.current().isCancelled());
+  }
+
+  @Test
+  void restoresTheOuterTokenAfterANestedOne() {
+    final CancellationToken outer = CancellationToken.create();
+    final CancellationToken inner = CancellationToken.create();
+
+    outer.run(() -> {
+      inner.bind(() -> {
+        assertSame(inner, CancellationToken.current());
+        return null;
+      });
+      assertSame(outer, CancellationToken.current());
+      return null;
+    });
+  }
+
+  @Test
+  void firesWhenTheBudgetRunsOut() {
+    final CancellationToken token = CancellationToken.withBudget(Duration.ofMillis(50));
+
+    final CancelledException cancelled = assertThrows(CancelledException.class, () -> token.run(() -> {
+      while (true) {
+        CancellationToken.checkpoint();
+        Thread.onSpinWait();
+      }
+    }));
+    assertTrue(token.isCancelled());
+    assertEquals(Duration.ofMillis(50), cancelled.token().budget());
+    assertTrue(cancelled.getMessage().startsWith("Timed out after"));
+  }
+
+  @Test
+  void dropsTheDeadlineOnceTheRunReturns() throws InterruptedException {
+    final CancellationToken token = CancellationToken.withBudget(Duration.ofMillis(50));
+
+    assertEquals(1, token.run(() -> 1));
+    Thread.sleep(150);
+    assertFalse(token.isCancelled());
+  }
+
+  // Parallel solvers bind the token of the submitting thread in their tasks
+  @Test
+  void cancelsTasksItIsBoundToOnOtherThreads() throws InterruptedException {
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      final CancellationToken token = CancellationToken.create();
+      token.cancel();
+      final Future<Object> task = executor.submit(() -> token.bind(() -> {
+        CancellationToken.checkpoint();
+        return null;
+      }));
+
+      final ExecutionException failure = assertThrows(ExecutionException.class, task::get);
+      assertSame(token, CancellationToken.cancellation(failure).token());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void findsTheCancellationInWrappedExceptions() {
+    assertNull(CancellationToken.cancellation(new RuntimeException(new IllegalStateException())));
+    assertNull(CancellationToken.cancellation(null));
+  }
+
+}
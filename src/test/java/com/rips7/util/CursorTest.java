@@ -0,0 +1,104 @@
+package com.rips7.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CursorTest {
+
+  @Test
+  void readsTheNumbersOfALine() {
+    final Cursor cursor = new Cursor("Card  1: 41 -48 | 7\nnext");
+
+    assertEquals(1, cursor.nextInt());
+    assertTrue(cursor.skip(':'));
+    assertEquals(41, cursor.nextInt());
+    // Unsigned reads skip the sign
+    assertEquals(48, cursor.nextInt());
+    assertTrue(cursor.hasNextNumberInLine());
+    assertEquals(7, cursor.nextInt());
+    assertFalse(cursor.hasNextNumberInLine());
+    assertTrue(cursor.skipLine());
+    assertEquals("next", cursor.nextLine().toString());
+    assertFalse(cursor.hasNext());
+  }
+
+  @Test
+  void readsSignedNumbers() {
+    final Cursor cursor = new Cursor("0 -3 x-y -9223372036854775807");
+
+    assertEquals(0, cursor.nextSignedInt());
+    assertEquals(-3, cursor.nextSignedInt());
+    // A dash that is not followed by a digit is not a sign
+    assertEquals(-9223372036854775807L, cursor.nextSignedLong());
+  }
+
+  @Test
+  void stopsAtLineEndsOfEitherKind() {
+    final Cursor cursor = new Cursor("ab\r\ncd\n\nef");
+
+    assertEquals("ab", cursor.nextLine().toString());
+    assertEquals("cd", cursor.nextLine().toString());
+    assertTrue(cursor.atLineEnd());
+    assertEquals("", cursor.nextLine().toString());
+    assertEquals("ef", cursor.nextLine().toString());
+    assertTrue(cursor.atLineEnd());
+    assertFalse(cursor.skipLine());
+  }
+
+  @Test
+  void splitsTokens() {
+    final Cursor cursor = new Cursor("px{a<2006:qkq,rfg}");
+
+    assertEquals("px", cursor.nextToken('{').toString());
+    assertEquals('a', cursor.next());
+    assertEquals('<', cursor.peek());
+    assertEquals('2', cursor.peek(1));
+    assertEquals(2006, cursor.skip(1).nextInt());
+    assertTrue(cursor.skip(":qkq"));
+    assertFalse(cursor.skip("xyz"));
+    assertEquals(",rfg", cursor.nextUntil(c -> c == '}').toString());
+    assertEquals(0, cursor.peek(5));
+  }
+
+  @Test
+  void readsHexDigits() {
+    final Cursor cursor = new Cursor("(#70c710)");
+
+    assertTrue(cursor.skipUntil('#'));
+    assertEquals(0x70c71, cursor.nextHexInt(5));
+    assertEquals(0, cursor.nextHexInt(1));
+    assertThrows(RuntimeException.class, () -> cursor.nextHexInt(1));
+    assertThrows(RuntimeException.class, () -> new Cursor("ab").nextHexInt(3));
+  }
+
+  @Test
+  void failsWhereThereIsNoNumber() {
+    assertThrows(RuntimeException.class, () -> new Cursor("abc").nextInt());
+    assertThrows(RuntimeException.class, () -> new Cursor("").next());
+    assertThrows(ArithmeticException.class, () -> new Cursor("4294967296").nextInt());
+  }
+
+  @Test
+  void readsOnlyItsRange() {
+    final Cursor cursor = new Cursor("12 34 56", 3, 5);
+
+    assertEquals(3, cursor.position());
+    assertEquals(34, cursor.nextInt());
+    assertFalse(cursor.hasNext());
+    assertTrue(cursor.atLineEnd());
+  }
+
+  @Test
+  void scansTheBytesOfAnInput() {
+    final Cursor cursor = new Cursor(Input.of("7 8\n9"));
+
+    assertEquals(7, cursor.nextInt());
+    assertEquals(8, cursor.nextInt());
+    assertEquals(9, cursor.nextInt());
+  }
+
+}
@@ -0,0 +1,110 @@
+package com.rips7.util;
+
+import com.rips7.util.Util.Offset;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GridTest {
+
+  private static final String INPUT = "ab\ncd\nef";
+
+  @Test
+  void surroundsTheCellsWithTheBorder() {
+    final Grid grid = Grid.parse(INPUT, (byte) '#');
+
+    assertEquals(3, grid.rows());
+    assertEquals(2, grid.cols());
+    assertEquals(5 * 4, grid.size());
+    for (int row = -1; row <= grid.rows(); row++) {
+      for (int col = -1; col <= grid.cols(); col++) {
+        final boolean inside = row >= 0 && row < grid.rows() && col >= 0 && col < grid.cols();
+        assertEquals(inside, grid.contains(grid.index(row, col)), "(%s,%s)".formatted(row, col));
+        if (!inside) {
+          assertEquals('#', grid.get(row, col));
+        }
+      }
+    }
+  }
+
+  // The corners of the border are the first and last indices, and map back to rows and columns -1 and past the end
+  @Test
+  void addressesTheBorderCells() {
+    final Grid grid = Grid.parse(INPUT);
+
+    assertEquals(0, grid.index(-1, -1));
+    assertEquals(-1, grid.rowOf(0));
+    assertEquals(-1, grid.colOf(0));
+    assertEquals(grid.size() - 1, grid.index(grid.rows(), grid.cols()));
+    assertEquals(grid.rows(), grid.rowOf(grid.size() - 1));
+    assertEquals(grid.cols(), grid.colOf(grid.size() - 1));
+    assertEquals(Grid.OUTSIDE, grid.get(grid.left(grid.index(1, 0))));
+    assertEquals(Grid.OUTSIDE, grid.get(grid.up(grid.index(0, 1))));
+  }
+
+  @Test
+  void movesToTheNeighbors() {
+    final Grid grid = Grid.parse(INPUT);
+    final int center = grid.index(1, 0);
+
+    assertEquals('a', grid.get(grid.neighbor(center, Offset.UP)));
+    assertEquals('d', grid.get(grid.neighbor(center, Offset.RIGHT)));
+    assertEquals('e', grid.get(grid.neighbor(center, Offset.DOWN)));
+    assertEquals(grid.left(center), grid.neighbor(center, Offset.LEFT));
+    assertEquals(grid.right(center), grid.neighbor(center, Offset.RIGHT));
+    assertEquals(grid.down(center), grid.neighbor(center, Offset.DOWN));
+  }
+
+  @Test
+  void findsTheFirstCellRowByRow() {
+    final Grid grid = Grid.parse("..\n.S\nS.");
+
+    assertEquals(grid.index(1, 1), grid.find((byte) 'S'));
+    assertEquals(-1, grid.find((byte) '#'));
+  }
+
+  @Test
+  void readsRowsAndColumnsInPlace() {
+    final Grid grid = Grid.parse(INPUT);
+
+    assertEquals(2, grid.row(2).length());
+    assertEquals('f', grid.row(2).get(1));
+    assertEquals(3, grid.column(1).length());
+    assertEquals('d', grid.column(1).get(1));
+    assertEquals(0, grid.row(0).mismatches(Grid.parse("ab").row(0)));
+    assertEquals(3, grid.column(0).mismatches(grid.column(1)));
+    assertEquals(1, grid.column(0).mismatches(Grid.parse("a\nc").column(0)));
+  }
+
+  @Test
+  void copiesItsCells() {
+    final Grid grid = Grid.parse(INPUT);
+    final Grid copy = grid.copy();
+    assertEquals(grid, copy);
+
+    copy.set(0, 0, (byte) 'z');
+    assertEquals('a', grid.get(0, 0));
+    assertNotEquals(grid, copy);
+    assertEquals("zb\ncd\nef", copy.toString());
+  }
+
+  @Test
+  void rejectsRaggedRows() {
+    assertThrows(RuntimeException.class, () -> Grid.parse("ab\nc"));
+  }
+
+  @Test
+  void fillsANewGrid() {
+    final Grid grid = Grid.of(2, 3, (byte) '.', (byte) '#');
+
+    assertEquals("...\n...", grid.toString());
+    assertFalse(grid.contains(grid.index(2, 0)));
+    assertTrue(grid.contains(grid.index(1, 2)));
+    assertEquals('#', grid.get(1, 3));
+  }
+
+}
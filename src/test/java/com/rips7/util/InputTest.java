@@ -0,0 +1,80 @@
+package com.rips7.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InputTest {
+
+  // Lines are split like String.split("\n"): a trailing new line does not add an empty line, and \r is dropped
+  @Test
+  void splitsLinesLikeString() {
+    final Input input = Input.of("ab\r\n\ncd\n");
+
+    assertEquals(3, input.lineCount());
+    assertEquals("ab", input.lineChars(0).toString());
+    assertEquals("", input.lineChars(1).toString());
+    assertEquals("cd", input.lineChars(2).toString());
+    assertEquals(input.lineStart(2), input.lineEnd(2) - 2);
+  }
+
+  @Test
+  void hasNoLinesWhenEmpty() {
+    final Input input = Input.of("");
+
+    assertEquals(0, input.size());
+    assertEquals(0, input.lineCount());
+    assertEquals("", input.asString());
+    assertEquals(0, input.chars().length());
+  }
+
+  @Test
+  void keepsTheLastLineWithoutATerminator() {
+    final Input input = Input.of("ab\ncd");
+
+    assertEquals(2, input.lineCount());
+    assertEquals(5, input.lineEnd(1));
+    assertEquals('d', input.line(1).get(1));
+  }
+
+  @Test
+  void readsCharsInPlace() {
+    final Input input = Input.of("hello\nworld");
+    final CharSequence chars = input.chars();
+
+    assertEquals(11, chars.length());
+    assertEquals('w', chars.charAt(6));
+    assertEquals("lo\nwo", chars.subSequence(3, 8).toString());
+    assertEquals("or", chars.subSequence(6, 11).subSequence(1, 3).toString());
+    assertEquals('e', input.byteAt(1));
+  }
+
+  @Test
+  void cannotBeWrittenThrough() {
+    final ByteBuffer bytes = Input.of("abc").bytes();
+
+    assertTrue(bytes.isReadOnly());
+    assertThrows(RuntimeException.class, () -> bytes.put(0, (byte) 'z'));
+  }
+
+  @Test
+  void mapsFiles(@TempDir final Path dir) throws IOException {
+    final Path file = Files.writeString(dir.resolve("input"), "1 2\n3 4\n");
+
+    final Input input = Input.map(file);
+
+    assertEquals("1 2\n3 4\n", input.asString());
+    assertEquals(2, input.lineCount());
+    assertThrows(RuntimeException.class, () -> Input.map(dir.resolve("missing")));
+    assertThrows(RuntimeException.class, () -> Input.fromResource("/missing"));
+  }
+
+}
@@ -0,0 +1,57 @@
+package com.rips7.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JsonTest {
+
+  @Test
+  void readsWhatItWrites() {
+    final Map<String, Object> value = new LinkedHashMap<>();
+    value.put("name", "Day1 \"part\" 1\n\t\\");
+    value.put("nanos", List.of(1L, -2L, Long.MAX_VALUE));
+    value.put("ratio", 0.5);
+    value.put("passed", true);
+    value.put("baseline", null);
+    value.put("empty", Map.of());
+    value.put("control", "\u0001");
+
+    final String json = Json.write(value);
+
+    assertEquals(value, Json.parse(json));
+    assertEquals(List.of("name", "nanos", "ratio", "passed", "baseline", "empty", "control"),
+        List.copyOf(((Map<?, ?>) Json.parse(json)).keySet()));
+  }
+
+  @Test
+  void writesLongArraysAsLists() {
+    assertEquals("[3,1,2]", Json.write(new long[]{3, 1, 2}));
+    assertEquals("[]", Json.write(new long[0]));
+  }
+
+  @Test
+  void readsNumbersAsLongsOrDoubles() {
+    assertEquals(List.of(0L, -12L, 1.5, 1e3, -2.5e-1), Json.parse(" [0, -12, 1.5, 1e3, -2.5E-1] "));
+    assertEquals(Arrays.asList(null, false, "\u00e9"), Json.parse("[null,false,\"\\u00e9\"]"));
+    assertNull(Json.parse("null"));
+  }
+
+  @Test
+  void rejectsMalformedJson() {
+    assertThrows(RuntimeException.class, () -> Json.parse(""));
+    assertThrows(RuntimeException.class, () -> Json.parse("[1,"));
+    assertThrows(RuntimeException.class, () -> Json.parse("{\"a\" 1}"));
+    assertThrows(RuntimeException.class, () -> Json.parse("[1] 2"));
+    assertThrows(RuntimeException.class, () -> Json.parse("tru"));
+    assertThrows(RuntimeException.class, () -> Json.parse("{\"a\":1"));
+  }
+
+}
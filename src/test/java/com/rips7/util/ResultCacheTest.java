@@ -0,0 +1,105 @@
+package com.rips7.util;
+
+import com.rips7.day.Day1;
+import com.rips7.day.Day2;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResultCacheTest {
+
+  @TempDir
+  Path dir;
+
+  @Test
+  void recallsSavedAnswersForTheSameInput() {
+    final Path file = dir.resolve("results.properties");
+    final ResultCache cache = ResultCache.load(file);
+    cache.store(Day1.class, 1, "input", 42);
+    cache.save();
+
+    final ResultCache loaded = ResultCache.load(file);
+    assertEquals("42", loaded.recall(Day1.class, 1, "input").orElseThrow().toString());
+    assertEquals(Optional.empty(), loaded.recall(Day1.class, 2, "input"));
+    assertEquals(Optional.empty(), loaded.recall(Day1.class, 1, "other input"));
+    assertEquals(Optional.empty(), loaded.recall(Day2.class, 1, "input"));
+  }
+
+  @Test
+  void dropsStaleAnswersOnLoad() throws IOException {
+    final Path file = dir.resolve("results.properties");
+    final ResultCache cache = ResultCache.load(file);
+    cache.store(Day1.class, 1, "input", 42);
+    cache.save();
+    final String current = keys(file).stringPropertyNames().iterator().next();
+    final String hash = ResultCache.inputHash("input");
+    Files.writeString(file, String.join("\n",
+        current + "=42",
+        "Day1.part1.0000000000000000.%s=41".formatted(hash),
+        "Day99.part1.0000000000000000.%s=1".formatted(hash),
+        "malformed=1"));
+
+    final ResultCache loaded = ResultCache.load(file);
+    loaded.save();
+
+    assertEquals("42", loaded.recall(Day1.class, 1, "input").orElseThrow().answer());
+    assertEquals(Set.of(current), keys(file).stringPropertyNames());
+  }
+
+  @Test
+  void keepsOnlyTheMostRecentlyStored() {
+    final ResultCache cache = ResultCache.load(dir.resolve("results.properties"));
+    cache.limitStored(2);
+    cache.store(Day1.class, 1, "a", 1);
+    cache.store(Day1.class, 1, "b", 2);
+    cache.store(Day1.class, 1, "c", 3);
+
+    assertFalse(cache.recall(Day1.class, 1, "a").isPresent());
+    assertTrue(cache.recall(Day1.class, 1, "b").isPresent());
+    assertTrue(cache.recall(Day1.class, 1, "c").isPresent());
+  }
+
+  @Test
+  void invalidatesOneDay() {
+    final ResultCache cache = ResultCache.load(dir.resolve("results.properties"));
+    cache.store(Day1.class, 1, "input", 1);
+    cache.store(Day2.class, 1, "input", 2);
+
+    cache.invalidate("Day1");
+
+    assertFalse(cache.recall(Day1.class, 1, "input").isPresent());
+    assertTrue(cache.recall(Day2.class, 1, "input").isPresent());
+  }
+
+  // A disabled cache has no file, so saving it must not try to write one
+  @Test
+  void neitherStoresNorSavesWhenDisabled() {
+    final ResultCache cache = ResultCache.disabled();
+    cache.store(Day1.class, 1, "input", 42);
+    cache.save();
+
+    assertFalse(cache.recall(Day1.class, 1, "input").isPresent());
+  }
+
+  private static Properties keys(final Path file) {
+    final Properties properties = new Properties();
+    try (InputStream in = Files.newInputStream(file)) {
+      properties.load(in);
+    } catch (final IOException e) {
+      throw new RuntimeException(e);
+    }
+    return properties;
+  }
+
+}
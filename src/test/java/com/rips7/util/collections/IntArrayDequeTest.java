@@ -0,0 +1,60 @@
+package com.rips7.util.collections;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntArrayDequeTest {
+
+  @Test
+  void servesAsAQueueAndAsAStack() {
+    final IntArrayDeque deque = new IntArrayDeque();
+    deque.add(1);
+    deque.add(2);
+    deque.push(0);
+
+    assertEquals(3, deque.size());
+    assertEquals(0, deque.peekFirst());
+    assertEquals(2, deque.peekLast());
+    assertEquals(0, deque.pop());
+    assertEquals(1, deque.poll());
+    assertEquals(2, deque.pollLast());
+    assertTrue(deque.isEmpty());
+  }
+
+  // Elements pushed before the head wrap around the end of the array, and must keep their order when it grows
+  @Test
+  void keepsTheOrderWhenGrowingAWrappedArray() {
+    final IntArrayDeque deque = new IntArrayDeque(2);
+    for (int i = 0; i < 5; i++) {
+      deque.addFirst(-i);
+      deque.addLast(i + 1);
+    }
+
+    final int[] iterated = new int[deque.size()];
+    for (int i = 0; i < deque.size(); i++) {
+      iterated[i] = deque.get(i);
+    }
+    assertArrayEquals(new int[]{-4, -3, -2, -1, 0, 1, 2, 3, 4, 5}, iterated);
+
+    final int[] consumed = new int[deque.size()];
+    final int[] index = {0};
+    deque.forEach(element -> consumed[index[0]++] = element);
+    assertArrayEquals(iterated, consumed);
+  }
+
+  @Test
+  void failsOnEmpty() {
+    final IntArrayDeque deque = new IntArrayDeque();
+    deque.add(1);
+    deque.clear();
+
+    assertThrows(RuntimeException.class, deque::peekFirst);
+    assertThrows(RuntimeException.class, deque::pollLast);
+    assertThrows(RuntimeException.class, () -> deque.get(0));
+  }
+
+}
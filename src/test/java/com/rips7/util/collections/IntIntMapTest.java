@@ -0,0 +1,76 @@
+package com.rips7.util.collections;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntIntMapTest {
+
+  @Test
+  void movesValuesWithTheirShiftedKeys() {
+    final int[] colliding = IntSetTest.keysWithHome(2, 3);
+    final IntIntMap map = new IntIntMap(8);
+    for (int i = 0; i < colliding.length; i++) {
+      map.put(colliding[i], i + 10);
+    }
+
+    assertTrue(map.remove(colliding[0]));
+
+    assertFalse(map.containsKey(colliding[0]));
+    assertEquals(11, map.get(colliding[1], -1));
+    assertEquals(12, map.get(colliding[2], -1));
+  }
+
+  @Test
+  void addsToMissingKeysFromZero() {
+    final IntIntMap map = new IntIntMap();
+    assertEquals(3, map.addTo(0, 3));
+    assertEquals(5, map.addTo(0, 2));
+    assertEquals(-1, map.addTo(9, -1));
+    assertEquals(2, map.size());
+  }
+
+  @Test
+  void iteratesOverEveryEntryIncludingZero() {
+    final IntIntMap map = new IntIntMap();
+    final Map<Integer, Integer> expected = Map.of(0, 1, 4, 16, -3, 9);
+    expected.forEach(map::put);
+
+    final Map<Integer, Integer> iterated = new HashMap<>();
+    for (int slot = map.next(-1); slot >= 0; slot = map.next(slot)) {
+      iterated.put(map.keyAt(slot), map.valueAt(slot));
+    }
+    assertEquals(expected, iterated);
+
+    final Map<Integer, Integer> consumed = new HashMap<>();
+    map.forEach(consumed::put);
+    assertEquals(expected, consumed);
+  }
+
+  @Test
+  void behavesLikeAHashMap() {
+    final Random random = new Random(13);
+    final IntIntMap map = new IntIntMap(4);
+    final Map<Integer, Integer> expected = new HashMap<>();
+    for (int i = 0; i < 100_000; i++) {
+      final int key = random.nextInt(512) - 256;
+      if (random.nextInt(3) == 0) {
+        assertEquals(expected.remove(key) != null, map.remove(key));
+      } else {
+        expected.put(key, i);
+        map.put(key, i);
+      }
+    }
+    assertEquals(expected.size(), map.size());
+    for (int key = -256; key < 256; key++) {
+      assertEquals(expected.getOrDefault(key, -1), map.get(key, -1));
+    }
+  }
+
+}
@@ -0,0 +1,54 @@
+package com.rips7.util.collections;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntListTest {
+
+  @Test
+  void growsFromAnEmptyArray() {
+    final IntList list = new IntList(0);
+    for (int i = 0; i < 100; i++) {
+      list.add(i * i);
+    }
+
+    assertEquals(100, list.size());
+    assertEquals(81, list.get(9));
+    assertEquals(9, list.indexOf(81));
+    assertFalse(list.contains(2));
+    assertEquals(99 * 99, list.removeLast());
+    assertEquals(99, list.toArray().length);
+  }
+
+  @Test
+  void comparesOnlyTheElementsInUse() {
+    final IntList grown = new IntList(32);
+    grown.add(1);
+    grown.add(2);
+    grown.add(3);
+    grown.removeLast();
+
+    assertEquals(IntList.of(1, 2), grown);
+    assertEquals(IntList.of(1, 2).hashCode(), grown.hashCode());
+    assertEquals("[1, 2]", grown.toString());
+  }
+
+  @Test
+  void failsOutOfBounds() {
+    final IntList list = IntList.of(4);
+    list.set(0, 5);
+    assertArrayEquals(new int[]{5}, list.toArray());
+
+    assertThrows(RuntimeException.class, () -> list.get(1));
+    assertThrows(RuntimeException.class, () -> list.get(-1));
+    list.clear();
+    assertTrue(list.isEmpty());
+    assertThrows(RuntimeException.class, list::removeLast);
+  }
+
+}
@@ -0,0 +1,127 @@
+package com.rips7.util.collections;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntSetTest {
+
+  // 8 keys fill a table of 16 slots up to half, so that it does not grow while the test runs
+  private static final int CAPACITY = 16;
+
+  @Test
+  void keepsCollidingKeysReachableAfterRemovingTheFirst() {
+    final int[] colliding = keysWithHome(5, 3);
+    final IntSet set = new IntSet(8);
+    for (final int key : colliding) {
+      set.add(key);
+    }
+
+    assertTrue(set.remove(colliding[0]));
+
+    assertFalse(set.contains(colliding[0]));
+    assertTrue(set.contains(colliding[1]));
+    assertTrue(set.contains(colliding[2]));
+    assertEquals(2, set.size());
+  }
+
+  // Keys probing past the end of the table continue from slot 0, so the shift must follow them around
+  @Test
+  void shiftsKeysThatWrapAroundTheTable() {
+    final int[] colliding = keysWithHome(CAPACITY - 1, 3);
+    final int[] atStart = keysWithHome(0, 1);
+    final IntSet set = new IntSet(8);
+    for (final int key : colliding) {
+      set.add(key);
+    }
+    set.add(atStart[0]);
+
+    assertTrue(set.remove(colliding[1]));
+
+    assertTrue(set.contains(colliding[0]));
+    assertFalse(set.contains(colliding[1]));
+    assertTrue(set.contains(colliding[2]));
+    assertTrue(set.contains(atStart[0]));
+  }
+
+  @Test
+  void keepsTheZeroKeyAside() {
+    final IntSet set = new IntSet();
+    assertTrue(set.add(0));
+    assertFalse(set.add(0));
+    assertTrue(set.contains(0));
+    assertEquals(1, set.size());
+
+    assertTrue(set.remove(0));
+    assertFalse(set.remove(0));
+    assertTrue(set.isEmpty());
+  }
+
+  @Test
+  void iteratesOverEveryKeyIncludingZero() {
+    final IntSet set = new IntSet();
+    final Set<Integer> expected = Set.of(0, 1, -7, 42, Integer.MIN_VALUE);
+    expected.forEach(set::add);
+
+    final Set<Integer> iterated = new HashSet<>();
+    for (int slot = set.next(-1); slot >= 0; slot = set.next(slot)) {
+      assertTrue(iterated.add(set.keyAt(slot)));
+    }
+    assertEquals(expected, iterated);
+
+    final Set<Integer> consumed = new HashSet<>();
+    set.forEach(consumed::add);
+    assertEquals(expected, consumed);
+  }
+
+  @Test
+  void iteratesOverNothingWhenEmptyOrCleared() {
+    final IntSet set = new IntSet();
+    assertEquals(-1, set.next(-1));
+
+    set.add(0);
+    set.add(3);
+    set.clear();
+    assertEquals(-1, set.next(-1));
+    assertFalse(set.contains(3));
+    assertEquals(0, set.size());
+  }
+
+  @Test
+  void behavesLikeAHashSet() {
+    final Random random = new Random(7);
+    final IntSet set = new IntSet(4);
+    final Set<Integer> expected = new HashSet<>();
+    for (int i = 0; i < 100_000; i++) {
+      final int key = random.nextInt(512) - 256;
+      if (random.nextInt(3) == 0) {
+        assertEquals(expected.remove(key), set.remove(key));
+      } else {
+        assertEquals(expected.add(key), set.add(key));
+      }
+    }
+    assertEquals(expected.size(), set.size());
+    for (int key = -256; key < 256; key++) {
+      assertEquals(expected.contains(key), set.contains(key));
+    }
+  }
+
+  // The first count non-zero keys whose probe sequence starts at home, in a table of CAPACITY slots
+  static int[] keysWithHome(final int home, final int count) {
+    final int[] keys = new int[count];
+    int found = 0;
+    for (int key = 1; found < count; key++) {
+      if ((Hashing.mix(key) & (CAPACITY - 1)) == home) {
+        keys[found++] = key;
+      }
+    }
+    return keys;
+  }
+
+}
@@ -0,0 +1,68 @@
+package com.rips7.util.collections;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongLongMapTest {
+
+  @Test
+  void keepsTheZeroKeyAside() {
+    final LongLongMap map = new LongLongMap();
+    assertFalse(map.containsKey(0));
+    assertEquals(-1, map.get(0, -1));
+
+    map.put(0, 5);
+    assertEquals(7, map.addTo(0, 2));
+    assertEquals(1, map.size());
+
+    assertTrue(map.remove(0));
+    assertTrue(map.isEmpty());
+    assertEquals(-1, map.next(-1));
+  }
+
+  @Test
+  void iteratesOverEveryEntryIncludingZero() {
+    final LongLongMap map = new LongLongMap();
+    final Map<Long, Long> expected = Map.of(0L, 1L, Long.MIN_VALUE, 2L, 1L << 40, 3L);
+    expected.forEach(map::put);
+
+    final Map<Long, Long> iterated = new HashMap<>();
+    for (int slot = map.next(-1); slot >= 0; slot = map.next(slot)) {
+      iterated.put(map.keyAt(slot), map.valueAt(slot));
+    }
+    assertEquals(expected, iterated);
+
+    final Map<Long, Long> consumed = new HashMap<>();
+    map.forEach(consumed::put);
+    assertEquals(expected, consumed);
+  }
+
+  @Test
+  void behavesLikeAHashMap() {
+    final Random random = new Random(17);
+    final LongLongMap map = new LongLongMap(4);
+    final Map<Long, Long> expected = new HashMap<>();
+    for (long i = 0; i < 100_000; i++) {
+      final long key = (random.nextInt(512) - 256L) << 32;
+      if (random.nextInt(3) == 0) {
+        assertEquals(expected.remove(key) != null, map.remove(key));
+      } else {
+        expected.put(key, i);
+        map.put(key, i);
+      }
+    }
+    assertEquals(expected.size(), map.size());
+    expected.forEach((key, value) -> assertEquals(value, map.get(key, -1)));
+
+    map.clear();
+    assertFalse(map.containsKey(expected.keySet().iterator().next()));
+  }
+
+}
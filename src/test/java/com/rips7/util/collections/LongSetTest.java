@@ -0,0 +1,76 @@
+package com.rips7.util.collections;
+
+import com.rips7.util.maths.Coordinates;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongSetTest {
+
+  @Test
+  void keepsCollidingKeysReachableAfterRemovingTheFirst() {
+    final long[] colliding = new long[3];
+    int found = 0;
+    for (long key = 1; found < colliding.length; key++) {
+      if ((Hashing.mix(key) & 15) == 9) {
+        colliding[found++] = key;
+      }
+    }
+    final LongSet set = new LongSet(8);
+    for (final long key : colliding) {
+      set.add(key);
+    }
+
+    assertTrue(set.remove(colliding[0]));
+
+    assertFalse(set.contains(colliding[0]));
+    assertTrue(set.contains(colliding[1]));
+    assertTrue(set.contains(colliding[2]));
+    assertEquals(2, set.size());
+  }
+
+  @Test
+  void iteratesOverEveryKeyIncludingZero() {
+    final LongSet set = new LongSet();
+    final Set<Long> expected = Set.of(0L, Coordinates.pack(-1, 0), Coordinates.pack(0, -1), Long.MAX_VALUE);
+    expected.forEach(set::add);
+
+    final Set<Long> iterated = new HashSet<>();
+    for (int slot = set.next(-1); slot >= 0; slot = set.next(slot)) {
+      assertTrue(iterated.add(set.keyAt(slot)));
+    }
+    assertEquals(expected, iterated);
+
+    final Set<Long> consumed = new HashSet<>();
+    set.forEach(consumed::add);
+    assertEquals(expected, consumed);
+  }
+
+  @Test
+  void behavesLikeAHashSet() {
+    final Random random = new Random(11);
+    final LongSet set = new LongSet(4);
+    final Set<Long> expected = new HashSet<>();
+    for (int i = 0; i < 100_000; i++) {
+      final long key = Coordinates.pack(random.nextInt(32) - 16, random.nextInt(32) - 16);
+      if (random.nextInt(3) == 0) {
+        assertEquals(expected.remove(key), set.remove(key));
+      } else {
+        assertEquals(expected.add(key), set.add(key));
+      }
+    }
+    assertEquals(expected.size(), set.size());
+    expected.forEach(key -> assertTrue(set.contains(key)));
+
+    set.clear();
+    assertTrue(set.isEmpty());
+    assertEquals(-1, set.next(-1));
+  }
+
+}
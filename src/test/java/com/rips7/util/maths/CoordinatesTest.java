@@ -0,0 +1,51 @@
+package com.rips7.util.maths;
+
+import com.rips7.util.Util.Offset;
+import com.rips7.util.maths.Maths.IntVec2;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class CoordinatesTest {
+
+  @Test
+  void unpacksWhatWasPacked() {
+    for (final int x : new int[]{0, 1, -1, Integer.MIN_VALUE, Integer.MAX_VALUE}) {
+      for (final int y : new int[]{0, 1, -1, Integer.MIN_VALUE, Integer.MAX_VALUE}) {
+        final long packed = Coordinates.pack(x, y);
+        assertEquals(x, Coordinates.x(packed));
+        assertEquals(y, Coordinates.y(packed));
+        assertEquals(IntVec2.of(x, y), Coordinates.unpack(packed));
+        assertEquals(packed, IntVec2.of(x, y).packed());
+      }
+    }
+  }
+
+  // A negative y must not borrow from x, nor a y crossing 0 carry into it
+  @Test
+  void addsEachHalfSeparately() {
+    assertEquals(Coordinates.pack(3, -1), Coordinates.add(Coordinates.pack(3, 0), 0, -1));
+    assertEquals(Coordinates.pack(3, 0), Coordinates.add(Coordinates.pack(3, -1), 0, 1));
+    assertEquals(Coordinates.pack(-2, -2), Coordinates.add(Coordinates.pack(1, 1), Coordinates.pack(-3, -3)));
+    assertNotEquals(Coordinates.pack(0, -1), Coordinates.pack(-1, 0));
+  }
+
+  @Test
+  void movesToTheNeighbors() {
+    final long origin = Coordinates.pack(5, 5);
+    assertEquals(Coordinates.pack(4, 5), Coordinates.neighbor(origin, Offset.UP));
+    assertEquals(Coordinates.pack(5, 6), Coordinates.neighbor(origin, Offset.RIGHT));
+    assertEquals(Coordinates.pack(6, 5), Coordinates.neighbor(origin, Offset.DOWN));
+    assertEquals(Coordinates.pack(5, 4), Coordinates.neighbor(origin, Offset.LEFT));
+  }
+
+  @Test
+  void measuresManhattanDistancesWithoutOverflowing() {
+    assertEquals(7, Coordinates.manhattan(Coordinates.pack(-1, 2), Coordinates.pack(2, -2)));
+    assertEquals(7, IntVec2.of(-1, 2).manhattan(IntVec2.of(2, -2)));
+    assertEquals(2 * 0xFFFFFFFFL, Coordinates.manhattan(Coordinates.pack(Integer.MIN_VALUE, Integer.MIN_VALUE),
+        Coordinates.pack(Integer.MAX_VALUE, Integer.MAX_VALUE)));
+  }
+
+}